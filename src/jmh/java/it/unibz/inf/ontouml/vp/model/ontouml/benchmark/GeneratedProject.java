@@ -0,0 +1,49 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.benchmark;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A project generated by {@link SyntheticProjectGenerator} once per trial and shared by the
+ * benchmarks that take it, together with the configured generator. Its settings are JMH
+ * parameters, so they can be set from the command line, e.g., {@code -p classCount=50000 -p
+ * diagramsPerPackage=0}.
+ */
+@State(Scope.Benchmark)
+public class GeneratedProject {
+
+  @Param({"1000", "10000"})
+  public int classCount;
+
+  @Param({"3"})
+  public int packageDepth;
+
+  @Param({"1.0"})
+  public double relationDensity;
+
+  @Param({"3"})
+  public int generalizationFanOut;
+
+  @Param({"1"})
+  public int diagramsPerPackage;
+
+  public SyntheticProjectGenerator generator;
+
+  public Project project;
+
+  @Setup(Level.Trial)
+  public void generate() {
+    generator = new SyntheticProjectGenerator();
+    generator.setClassCount(classCount);
+    generator.setPackageDepth(packageDepth);
+    generator.setRelationDensity(relationDensity);
+    generator.setGeneralizationFanOut(generalizationFanOut);
+    generator.setDiagramsPerPackage(diagramsPerPackage);
+
+    project = generator.generate();
+  }
+}
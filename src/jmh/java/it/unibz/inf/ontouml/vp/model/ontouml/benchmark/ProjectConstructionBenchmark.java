@@ -0,0 +1,34 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.benchmark;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the generated project top-down, with every element added to a container
+ * already in the project, and bottom-up, with the model filled before being added to the project.
+ * With linear construction, doubling the number of classes should roughly double both times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectConstructionBenchmark {
+
+  @Benchmark
+  public Project buildTopDown(GeneratedProject state) {
+    return state.generator.generate();
+  }
+
+  @Benchmark
+  public Project buildBottomUp(GeneratedProject state) {
+    return state.generator.generateBottomUp();
+  }
+}
@@ -0,0 +1,74 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.benchmark;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectCompression;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing and reading a generated project as files do, in each {@link ProjectFormat} and
+ * with each {@link ProjectCompression}. The size of the written project is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectFormatBenchmark {
+
+  @Param({"JSON", "SMILE", "NDJSON"})
+  public ProjectFormat format;
+
+  @Param({"NONE", "GZIP"})
+  public ProjectCompression compression;
+
+  private byte[] bytes;
+
+  @Setup(Level.Trial)
+  public void prepare(GeneratedProject state) throws IOException {
+    bytes = write(state.project);
+
+    System.out.printf(
+        "%n%s: %d bytes%n", format.getExtension() + compression.getExtension(), bytes.length);
+  }
+
+  @Benchmark
+  public int write(GeneratedProject state) throws IOException {
+    return write(state.project).length;
+  }
+
+  @Benchmark
+  public Project read() throws IOException {
+    try (InputStream in = compression.decompress(new ByteArrayInputStream(bytes))) {
+      return format.read(in);
+    }
+  }
+
+  private byte[] write(Project project) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes != null ? bytes.length : 32);
+
+    try (OutputStream compressed = compression.compress(out)) {
+      format.write(project, compressed);
+    }
+
+    return out.toByteArray();
+  }
+}
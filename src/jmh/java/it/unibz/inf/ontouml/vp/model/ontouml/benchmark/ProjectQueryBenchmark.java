@@ -0,0 +1,45 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.benchmark;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the queries over the whole contents of a generated project. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectQueryBenchmark {
+
+  @Benchmark
+  public Map<String, OntoumlElement> getElementMap(GeneratedProject state) {
+    return state.project.getElementMap();
+  }
+
+  @Benchmark
+  public List<Class> getAllClasses(GeneratedProject state) {
+    return state.project.getAllContentsByType(Class.class);
+  }
+
+  @Benchmark
+  public List<Property> getAllProperties(GeneratedProject state) {
+    return state.project.getAllContentsByType(Property.class);
+  }
+
+  @Benchmark
+  public List<ClassView> getAllClassViews(GeneratedProject state) {
+    return state.project.getAllContentsByType(ClassView.class);
+  }
+}
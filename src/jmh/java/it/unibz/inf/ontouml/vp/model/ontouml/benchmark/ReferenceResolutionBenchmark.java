@@ -0,0 +1,44 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.benchmark;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.ReferenceResolver;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the resolution of every reference of a generated project. Before each invocation, the
+ * references the project holds are added to a new table; as they already point to the elements of
+ * the project, resolving them leaves the project unchanged and it can be reused.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceResolutionBenchmark {
+
+  private ReferenceResolver resolver;
+
+  @Setup(Level.Invocation)
+  public void addReferences(GeneratedProject state) {
+    resolver = new ReferenceResolver();
+    state.project.streamAllContents().forEach(resolver::addReferences);
+  }
+
+  @Benchmark
+  public Project resolveReferences(GeneratedProject state) {
+    resolver.resolveReferences(state.project);
+    return state.project;
+  }
+}
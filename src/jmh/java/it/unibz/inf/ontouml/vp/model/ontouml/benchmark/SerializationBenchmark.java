@@ -0,0 +1,55 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.benchmark;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures writing and reading a generated project through the object mapper of each format. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+  @Param({"JSON", "SMILE", "NDJSON"})
+  public ProjectFormat format;
+
+  private byte[] bytes;
+
+  @Setup(Level.Trial)
+  public void prepare(GeneratedProject state) throws IOException {
+    bytes = write(state.project);
+  }
+
+  @Benchmark
+  public int serialize(GeneratedProject state) throws IOException {
+    return write(state.project).length;
+  }
+
+  @Benchmark
+  public Project deserialize() throws IOException {
+    return format.getReader().readValue(bytes);
+  }
+
+  private byte[] write(Project project) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes != null ? bytes.length : 32);
+    format.getWriter().writeValue(out, project);
+    return out.toByteArray();
+  }
+}
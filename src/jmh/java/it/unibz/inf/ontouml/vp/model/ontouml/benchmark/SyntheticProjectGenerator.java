@@ -0,0 +1,244 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.benchmark;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.RelationStereotype;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ConnectorView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ElementView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.GeneralizationView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.RelationView;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic projects for benchmarks. Generation is deterministic: the same settings and
+ * seed always produce the same project, down to the ids of its elements, so the results of
+ * different runs can be compared.
+ *
+ * <p>Packages form a tree of the given depth, and classes are spread evenly over them. Classes form
+ * a forest of generalizations in which each general has the given number of specifics, grouped
+ * into a generalization set. Relations connect random classes. Each package owns the given number
+ * of diagrams, which show its classes and the relations and generalizations between them.
+ *
+ * <p>Projects are generated either top-down, adding every element to a container already in the
+ * project, or bottom-up, filling the model before adding it to the project, as the deserializers
+ * do. Both produce the same project.
+ */
+public class SyntheticProjectGenerator {
+
+  private long seed = 42;
+  private int packageDepth = 3;
+  private int packagesPerPackage = 3;
+  private int classCount = 1_000;
+  private int attributesPerClass = 2;
+  private double relationDensity = 1.0;
+  private int generalizationFanOut = 3;
+  private int diagramsPerPackage = 1;
+
+  private Random random;
+  private int nextId;
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /** Sets the number of levels of packages under the model. */
+  public void setPackageDepth(int packageDepth) {
+    this.packageDepth = packageDepth;
+  }
+
+  public void setPackagesPerPackage(int packagesPerPackage) {
+    this.packagesPerPackage = packagesPerPackage;
+  }
+
+  public void setClassCount(int classCount) {
+    this.classCount = classCount;
+  }
+
+  public void setAttributesPerClass(int attributesPerClass) {
+    this.attributesPerClass = attributesPerClass;
+  }
+
+  /** Sets the number of relations per class. */
+  public void setRelationDensity(double relationDensity) {
+    this.relationDensity = relationDensity;
+  }
+
+  /** Sets the number of specifics of each general class; zero generates no generalizations. */
+  public void setGeneralizationFanOut(int generalizationFanOut) {
+    this.generalizationFanOut = generalizationFanOut;
+  }
+
+  public void setDiagramsPerPackage(int diagramsPerPackage) {
+    this.diagramsPerPackage = diagramsPerPackage;
+  }
+
+  /** Generates a project top-down, adding every element to the project as it is created. */
+  public Project generate() {
+    return generate(false);
+  }
+
+  /** Generates a project bottom-up, adding the model to the project once it is filled. */
+  public Project generateBottomUp() {
+    return generate(true);
+  }
+
+  private Project generate(boolean bottomUp) {
+    random = new Random(seed);
+    nextId = 0;
+
+    Project project = new Project(id("pj"), "Synthetic Project");
+    Package model =
+        bottomUp ? new Package(id("pk"), "Model") : project.createModel(id("pk"), "Model");
+    List<Package> packages = new ArrayList<>();
+    packages.add(model);
+    createPackages(model, packageDepth, packages);
+
+    List<Class> classes = createClasses(packages);
+    createAttributes(classes);
+    createGeneralizations(classes);
+    createRelations(classes);
+
+    if (bottomUp) project.setModel(model);
+
+    for (Package pkg : packages) {
+      for (int i = 0; i < diagramsPerPackage; i++) project.addDiagram(createDiagram(pkg));
+    }
+
+    return project;
+  }
+
+  private void createPackages(Package parent, int depth, List<Package> packages) {
+    if (depth == 0) return;
+
+    for (int i = 0; i < packagesPerPackage; i++) {
+      Package pkg = parent.createPackage(id("pk"), "Package " + nextId);
+      packages.add(pkg);
+      createPackages(pkg, depth - 1, packages);
+    }
+  }
+
+  private List<Class> createClasses(List<Package> packages) {
+    List<Class> classes = new ArrayList<>(classCount);
+
+    for (int i = 0; i < classCount; i++) {
+      Package pkg = packages.get(i % packages.size());
+      classes.add(pkg.createKind(id("c"), "Class " + i));
+    }
+
+    return classes;
+  }
+
+  private void createAttributes(List<Class> classes) {
+    for (Class clazz : classes) {
+      for (int i = 0; i < attributesPerClass; i++)
+        clazz.createAttribute(id("p"), "attribute" + i, randomClass(classes));
+    }
+  }
+
+  /** Makes the class at each index the general of the classes at the following indexes. */
+  private void createGeneralizations(List<Class> classes) {
+    if (generalizationFanOut == 0) return;
+
+    for (int i = 0; i * generalizationFanOut + 1 < classes.size(); i++) {
+      Class general = classes.get(i);
+      List<Generalization> generalizations = new ArrayList<>();
+
+      for (int j = 1; j <= generalizationFanOut; j++) {
+        int index = i * generalizationFanOut + j;
+        if (index >= classes.size()) break;
+
+        Class specific = classes.get(index);
+        Package pkg = getPackage(specific);
+        generalizations.add(pkg.createGeneralization(id("g"), specific, general));
+      }
+
+      getPackage(general).createGeneralizationSet(id("gs"), null, null, generalizations);
+    }
+  }
+
+  private void createRelations(List<Class> classes) {
+    long count = Math.round(classes.size() * relationDensity);
+
+    for (long i = 0; i < count; i++) {
+      Class source = randomClass(classes);
+      Class target = randomClass(classes);
+      Relation relation =
+          new Relation(id("r"), "relation" + i, RelationStereotype.MATERIAL, source, target);
+
+      for (Property end : relation.getProperties()) end.setId(id("p"));
+
+      getPackage(source).addContent(relation);
+    }
+  }
+
+  private Diagram createDiagram(Package pkg) {
+    Diagram diagram = new Diagram(id("d"), "Diagram " + nextId);
+    Map<OntoumlElement, ElementView<?, ?>> views = new HashMap<>();
+    diagram.setOwner(pkg);
+
+    for (OntoumlElement element : pkg.getContents()) {
+      if (element instanceof Class) {
+        ClassView view = new ClassView(id("v"), (Class) element);
+        views.put(element, view);
+        addView(diagram, view);
+      }
+    }
+
+    for (OntoumlElement element : pkg.getContents()) {
+      if (element instanceof Relation) {
+        Relation relation = (Relation) element;
+        ElementView<?, ?> source = views.get(relation.getSourceEnd().getPropertyType().get());
+        ElementView<?, ?> target = views.get(relation.getTargetEnd().getPropertyType().get());
+
+        if (source != null && target != null)
+          addView(diagram, connect(new RelationView(id("v"), relation), source, target));
+      } else if (element instanceof Generalization) {
+        Generalization generalization = (Generalization) element;
+        ElementView<?, ?> source = views.get(generalization.getSpecific().get());
+        ElementView<?, ?> target = views.get(generalization.getGeneral().get());
+
+        if (source != null && target != null) {
+          GeneralizationView view = new GeneralizationView(id("v"), generalization);
+          addView(diagram, connect(view, source, target));
+        }
+      }
+    }
+
+    return diagram;
+  }
+
+  private static ConnectorView<?> connect(
+      ConnectorView<?> view, ElementView<?, ?> source, ElementView<?, ?> target) {
+    view.setSource(source);
+    view.setTarget(target);
+    return view;
+  }
+
+  private void addView(Diagram diagram, ElementView<?, ?> view) {
+    view.getShape().setId(id("s"));
+    diagram.addElement(view);
+  }
+
+  private Class randomClass(List<Class> classes) {
+    return classes.get(random.nextInt(classes.size()));
+  }
+
+  private static Package getPackage(Class clazz) {
+    return (Package) clazz.getContainer().orElseThrow();
+  }
+
+  private String id(String prefix) {
+    return prefix + nextId++;
+  }
+}
@@ -7,6 +7,7 @@ import it.unibz.inf.ontouml.vp.model.Configurations;
 import it.unibz.inf.ontouml.vp.model.GufoExportOptions;
 import it.unibz.inf.ontouml.vp.model.GufoTransformationServiceResult;
 import it.unibz.inf.ontouml.vp.model.ProjectConfigurations;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
 import it.unibz.inf.ontouml.vp.model.vp2ontouml.Uml2OntoumlTransformer;
 import it.unibz.inf.ontouml.vp.utils.SimpleServiceWorker;
 import it.unibz.inf.ontouml.vp.utils.ViewManagerUtils;
@@ -58,7 +59,7 @@ public class GufoExportController implements VPActionController {
         return List.of();
       }
 
-      final String project = Uml2OntoumlTransformer.transformAndSerialize();
+      final Project project = Uml2OntoumlTransformer.transform();
       final String options = new GufoExportOptions(projectConfigurations).toJson();
       final GufoTransformationServiceResult result =
           OntoUMLServerAccessController.requestModelTransformationToGufo(project, options);
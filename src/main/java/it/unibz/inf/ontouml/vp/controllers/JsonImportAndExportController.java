@@ -5,12 +5,21 @@ import com.vp.plugin.action.VPAction;
 import com.vp.plugin.action.VPActionController;
 import it.unibz.inf.ontouml.vp.model.Configurations;
 import it.unibz.inf.ontouml.vp.model.ProjectConfigurations;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectCompression;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectDelta;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializationOptions;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializationReport;
 import it.unibz.inf.ontouml.vp.model.ontouml2vp.Ontouml2UmlLoader;
 import it.unibz.inf.ontouml.vp.model.vp2ontouml.Uml2OntoumlTransformer;
 import it.unibz.inf.ontouml.vp.utils.SimpleServiceWorker;
 import it.unibz.inf.ontouml.vp.utils.ViewManagerUtils;
 import java.awt.*;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -18,7 +27,14 @@ import java.util.List;
 
 /**
  * Implementation toolbar button action responsible for exporting OntoUML model in JSON (according
- * to OntoUML Schema).
+ * to OntoUML Schema). Files with the extension of a binary {@link ProjectFormat} hold the same
+ * schema in that encoding, and files with the extension of a {@link ProjectCompression} (e.g.,
+ * ".json.gz") are compressed while they are written and read.
+ *
+ * <p>Files with the extension of a {@link ProjectDelta} (e.g., "model.delta.ndjson") only hold the
+ * changes since the last delta export, whose result is cached as the baseline of the project.
+ * Importing such a file applies its changes onto the current model. Other exports leave the
+ * baseline untouched.
  *
  * @author Claudenir Fonseca
  */
@@ -29,16 +45,26 @@ public class JsonImportAndExportController implements VPActionController {
   private static final String EXPORT_ACTION_ID = "it.unibz.inf.ontouml.vp.actions.JsonExportAction";
   private static final String PROJECT_EXPORT_ACTION_ID = "project.export.JsonExportAction";
 
-  private static final String FILE_FORMAT = ".json";
+  private static final String FILE_FORMAT = ProjectFormat.JSON.getExtension();
+  private static final String BASELINE_FOLDER_NAME = ".ontouml.baselines";
+  private static final ProjectFormat BASELINE_FORMAT = ProjectFormat.NDJSON;
+  private static final ProjectCompression BASELINE_COMPRESSION = ProjectCompression.GZIP;
 
   private static final String MESSAGE_IMPORT_WARNING =
       "Warning: this action may override elements in your project. Do you wish to continue?";
   private static final String MESSAGE_MODEL_EXPORTED = "Model exported successfully.";
+  private static final String MESSAGE_MODEL_EXPORTED_WITHOUT_BASELINE =
+      "Model exported, but the baseline of the last export could not be read, so the delta holds"
+          + " the whole model.";
   private static final String MESSAGE_MODEL_IMPORTED = "Model imported successfully.";
   private static final String MESSAGE_MODEL_EXPORT_INVALID_FILE_ERROR =
       "Unable to export: invalid file.";
   private static final String MESSAGE_MODEL_IMPORT_INVALID_FILE_ERROR =
       "Unable to import: invalid file.";
+  private static final String MESSAGE_MODEL_IMPORT_UNRESOLVED_REFERENCES_ERROR =
+      "Unable to import: %d unresolved references. See the message pane for details.";
+  private static final String MESSAGE_DELTA_BASELINE_WARNING =
+      "Warning: the delta was not exported from the last exported version of this model.";
   private static final String MESSAGE_MODEL_EXPORT_UNEXPECTED_ERROR =
       "Unable to export: unexpected error.";
   private static final String MESSAGE_MODEL_IMPORT_UNEXPECTED_ERROR =
@@ -114,7 +140,7 @@ public class JsonImportAndExportController implements VPActionController {
     fileDialog.setFile(suggestedFileName);
     fileDialog.setDirectory(suggestedFolderPath);
     fileDialog.setMultipleMode(false);
-    fileDialog.setFilenameFilter((dir, name) -> name != null && name.endsWith(FILE_FORMAT));
+    fileDialog.setFilenameFilter((dir, name) -> ProjectFormat.isSupported(name));
 
     fileDialog.setVisible(true);
 
@@ -122,7 +148,7 @@ public class JsonImportAndExportController implements VPActionController {
     final String fileName = fileDialog.getFile();
 
     if (fileDirectory != null && fileName != null) {
-      return fileName.endsWith(FILE_FORMAT)
+      return ProjectFormat.isSupported(fileName)
           ? Paths.get(fileDirectory, fileName)
           : Paths.get(fileDirectory, fileName + FILE_FORMAT);
     }
@@ -130,6 +156,51 @@ public class JsonImportAndExportController implements VPActionController {
     return null;
   }
 
+  private ProjectFormat getFileFormat() {
+    return ProjectFormat.fromFileName(filePath.getFileName().toString());
+  }
+
+  private ProjectCompression getFileCompression() {
+    return ProjectCompression.fromFileName(filePath.getFileName().toString());
+  }
+
+  private boolean isDeltaFile() {
+    return ProjectDelta.matches(filePath.getFileName().toString());
+  }
+
+  /** Returns the cached baseline of delta exports, or null if there is none. */
+  private Project readBaseline() throws IOException {
+    final String baselinePath = projectConfigurations.getExportBaselinePath();
+
+    if (baselinePath == null || !Files.exists(Paths.get(baselinePath))) return null;
+
+    try (InputStream file = Files.newInputStream(Paths.get(baselinePath));
+        InputStream in = BASELINE_COMPRESSION.decompress(file)) {
+      return BASELINE_FORMAT.read(in);
+    }
+  }
+
+  /** Caches the project as the baseline of the next delta export. */
+  private void saveBaseline(Project project) throws IOException {
+    final File workspace = ApplicationManager.instance().getWorkspaceLocation();
+    final Path baselineFolder = workspace.toPath().resolve(BASELINE_FOLDER_NAME);
+    final String fileName =
+        projectConfigurations.getId()
+            + BASELINE_FORMAT.getExtension()
+            + BASELINE_COMPRESSION.getExtension();
+    final Path baselinePath = baselineFolder.resolve(fileName);
+
+    Files.createDirectories(baselineFolder);
+
+    try (OutputStream file = Files.newOutputStream(baselinePath);
+        OutputStream out = BASELINE_COMPRESSION.compress(file)) {
+      BASELINE_FORMAT.write(project, out);
+    }
+
+    projectConfigurations.setExportBaselinePath(baselinePath.toString());
+    projectConfigurations.setExportBaselineHash(project.getContentHash());
+  }
+
   private void saveFilePath() {
     final Path directoryPath = filePath.getParent();
     final String directoryPathName = directoryPath.toAbsolutePath().getFileName().toString();
@@ -147,10 +218,26 @@ public class JsonImportAndExportController implements VPActionController {
         return List.of();
       }
 
-      final String importFileContents = Files.readString(filePath);
-
       if (!context.isCancelled()) {
-        Ontouml2UmlLoader.deserializeAndLoad(importFileContents, false, false);
+        final DeserializationReport report = new DeserializationReport();
+        final DeserializationOptions options = new DeserializationOptions();
+        options.setReport(report);
+
+        if (isDeltaFile()) {
+          importDelta(options);
+        } else {
+          try (InputStream file = Files.newInputStream(filePath);
+              InputStream in = getFileCompression().decompress(file)) {
+            Ontouml2UmlLoader.deserializeAndLoad(in, getFileFormat(), options, false, false);
+          }
+        }
+
+        if (report.hasProblems()) {
+          final int count = report.getUnresolvedReferences().size();
+          ViewManagerUtils.log(report.getMessages());
+          return List.of(String.format(MESSAGE_MODEL_IMPORT_UNRESOLVED_REFERENCES_ERROR, count));
+        }
+
         saveFilePath();
         ViewManagerUtils.log(MESSAGE_MODEL_IMPORTED);
         return List.of(MESSAGE_MODEL_IMPORTED);
@@ -168,6 +255,31 @@ public class JsonImportAndExportController implements VPActionController {
     }
   }
 
+  /**
+   * Applies the changes of the delta file onto the current model and loads the result, which
+   * becomes the baseline of the next delta export.
+   */
+  private void importDelta(DeserializationOptions options) throws IOException {
+    final ProjectDelta delta;
+
+    try (InputStream file = Files.newInputStream(filePath);
+        InputStream in = getFileCompression().decompress(file)) {
+      delta = ProjectDelta.read(in);
+    }
+
+    if (delta.getBaselineHash() != null
+        && !delta.getBaselineHash().equals(projectConfigurations.getExportBaselineHash())) {
+      ViewManagerUtils.log(MESSAGE_DELTA_BASELINE_WARNING);
+    }
+
+    final Project project = delta.applyTo(Uml2OntoumlTransformer.transformWithLayout(), options);
+
+    if (options.getReport().hasProblems()) return;
+
+    Ontouml2UmlLoader.load(project, false, false);
+    saveBaseline(project);
+  }
+
   private List<String> exportTask(SimpleServiceWorker context) {
     try {
       if (filePath == null) {
@@ -175,13 +287,36 @@ public class JsonImportAndExportController implements VPActionController {
         return List.of();
       }
 
-      final String exportFileContents = Uml2OntoumlTransformer.transformAndSerialize();
+      final Project project = Uml2OntoumlTransformer.transformWithLayout();
 
       if (!context.isCancelled()) {
-        Files.write(filePath, exportFileContents.getBytes());
+        String message = MESSAGE_MODEL_EXPORTED;
+        ProjectDelta delta = null;
+
+        if (isDeltaFile()) {
+          Project baseline = null;
+
+          try {
+            baseline = readBaseline();
+          } catch (IOException e) {
+            e.printStackTrace();
+            message = MESSAGE_MODEL_EXPORTED_WITHOUT_BASELINE;
+          }
+
+          delta = ProjectDelta.between(baseline, project);
+        }
+
+        try (OutputStream file = Files.newOutputStream(filePath);
+            OutputStream out = getFileCompression().compress(file)) {
+          if (delta != null) delta.write(out);
+          else getFileFormat().write(project, out);
+        }
+
+        if (delta != null) saveBaseline(project);
+
         saveFilePath();
-        ViewManagerUtils.log(MESSAGE_MODEL_EXPORTED);
-        return List.of(MESSAGE_MODEL_EXPORTED);
+        ViewManagerUtils.log(message);
+        return List.of(message);
       }
 
       return List.of();
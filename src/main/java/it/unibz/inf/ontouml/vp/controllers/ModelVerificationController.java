@@ -8,6 +8,7 @@ import com.vp.plugin.diagram.IDiagramElement;
 import com.vp.plugin.diagram.IDiagramUIModel;
 import it.unibz.inf.ontouml.vp.model.ServiceIssue;
 import it.unibz.inf.ontouml.vp.model.VerificationServiceResult;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
 import it.unibz.inf.ontouml.vp.model.vp2ontouml.Uml2OntoumlTransformer;
 import it.unibz.inf.ontouml.vp.utils.SimpleServiceWorker;
 import it.unibz.inf.ontouml.vp.utils.ViewManagerUtils;
@@ -51,12 +52,23 @@ public class ModelVerificationController implements VPActionController {
 
   private List<String> task(SimpleServiceWorker context) {
     try {
-      final String project = Uml2OntoumlTransformer.transformAndSerialize();
+      final boolean isDiagramVerification =
+          DIAGRAM_VERIFICATION_ACTION.equals(action.getActionId());
+      final IDiagramUIModel activeDiagram =
+          isDiagramVerification
+              ? ApplicationManager.instance().getDiagramManager().getActiveDiagram()
+              : null;
+
+      // Verifying a diagram only requires the elements it shows and those they depend on
+      final Project project =
+          isDiagramVerification
+              ? Uml2OntoumlTransformer.transformDiagram(activeDiagram)
+              : Uml2OntoumlTransformer.transform();
       final VerificationServiceResult result =
           OntoUMLServerAccessController.requestModelVerification(project);
 
-      if (DIAGRAM_VERIFICATION_ACTION.equals(action.getActionId())) {
-        retainDiagramIssues(result);
+      if (isDiagramVerification) {
+        retainDiagramIssues(result, activeDiagram);
       }
 
       if (!context.isCancelled()) {
@@ -74,13 +86,12 @@ public class ModelVerificationController implements VPActionController {
     }
   }
 
-  private void retainDiagramIssues(VerificationServiceResult result) {
+  private void retainDiagramIssues(
+      VerificationServiceResult result, IDiagramUIModel activeDiagram) {
     if (result == null) {
       return;
     }
 
-    final IDiagramUIModel activeDiagram =
-        ApplicationManager.instance().getDiagramManager().getActiveDiagram();
     final IDiagramElement[] diagramElements = activeDiagram.toDiagramElementArray();
 
     if (diagramElements == null) {
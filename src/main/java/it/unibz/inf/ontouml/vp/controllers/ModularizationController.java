@@ -25,14 +25,13 @@ public class ModularizationController implements VPActionController {
   private List<String> task(SimpleServiceWorker context) {
     try {
       System.out.println("Starting modularization service...");
-      System.out.println("Serializing project...");
-      final String serializedProject = Uml2OntoumlTransformer.transformAndSerialize();
-      System.out.println(serializedProject);
-      System.out.println("Project serialized!");
+      System.out.println("Transforming project...");
+      final Project project = Uml2OntoumlTransformer.transform();
+      System.out.println("Project transformed!");
 
       System.out.println("Requesting diagrams from the modularization service...");
       final ModularizationServiceResult serviceResult =
-          OntoUMLServerAccessController.requestProjectModularization(serializedProject);
+          OntoUMLServerAccessController.requestProjectModularization(project);
       System.out.println("Request answered by modularization service!");
 
       System.out.println(serviceResult.getIssues());
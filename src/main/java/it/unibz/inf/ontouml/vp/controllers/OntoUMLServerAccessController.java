@@ -1,5 +1,6 @@
 package it.unibz.inf.ontouml.vp.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import it.unibz.inf.ontouml.vp.model.Configurations;
 import it.unibz.inf.ontouml.vp.model.GufoTransformationServiceResult;
@@ -7,6 +8,8 @@ import it.unibz.inf.ontouml.vp.model.ModularizationServiceResult;
 import it.unibz.inf.ontouml.vp.model.ProjectConfigurations;
 import it.unibz.inf.ontouml.vp.model.ServiceResult;
 import it.unibz.inf.ontouml.vp.model.VerificationServiceResult;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.serialization.Serializer;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -38,12 +41,23 @@ public class OntoUMLServerAccessController {
   private static final String USER_MESSAGE_UNKNOWN_ERROR_RESPONSE =
       "Error receiving service response.";
 
-  private static String getServiceRequestBody(String project) {
-    return "{\"options\": null, \"project\": " + project + "}";
-  }
+  /**
+   * Writes the body of a service request directly into the request stream, so the serialized
+   * project is never held in memory as a whole. The options, if any, are already serialized.
+   */
+  private static void writeServiceRequestBody(OutputStream out, Project project, String options)
+      throws IOException {
+    try (JsonGenerator jsonGen = Serializer.createGenerator(out)) {
+      jsonGen.writeStartObject();
+      jsonGen.writeFieldName("options");
 
-  private static String getServiceRequestBody(String project, String options) {
-    return "{\"options\": " + options + ", \"project\": " + project + "}";
+      if (options != null) jsonGen.writeRawValue(options);
+      else jsonGen.writeNull();
+
+      jsonGen.writeFieldName("project");
+      Serializer.writeProject(project, jsonGen);
+      jsonGen.writeEndObject();
+    }
   }
 
   private static String getModularizationRequestUrl() {
@@ -87,36 +101,34 @@ public class OntoUMLServerAccessController {
     return connection.getContentType().contains("application/json");
   }
 
-  public static ModularizationServiceResult requestProjectModularization(String project)
+  public static ModularizationServiceResult requestProjectModularization(Project project)
       throws IOException {
-    final String body = getServiceRequestBody(project);
     final String url = getModularizationRequestUrl();
-    final HttpURLConnection connection = request(url, body);
+    final HttpURLConnection connection = request(url, project, null);
 
     return parseResponse(connection, ModularizationServiceResult.class);
   }
 
-  public static VerificationServiceResult requestModelVerification(String project)
+  public static VerificationServiceResult requestModelVerification(Project project)
       throws IOException {
     final String url = getVerificationRequestUrl();
-    final String body = getServiceRequestBody(project);
-    final HttpURLConnection connection = request(url, body);
+    final HttpURLConnection connection = request(url, project, null);
 
     return parseResponse(connection, VerificationServiceResult.class);
   }
 
   public static GufoTransformationServiceResult requestModelTransformationToGufo(
-      String project, String options) throws IOException {
+      Project project, String options) throws IOException {
     final String url = getTransformationToGufoRequestUrl();
-    final String body = getServiceRequestBody(project, options);
-    final HttpURLConnection connection = request(url, body);
+    final HttpURLConnection connection = request(url, project, options);
 
     return parseResponse(connection, GufoTransformationServiceResult.class);
   }
 
-  private static HttpURLConnection request(String url, String body) throws IOException {
+  private static HttpURLConnection request(String url, Project project, String options)
+      throws IOException {
     try {
-      final HttpURLConnection connection = performRequest(url, body);
+      final HttpURLConnection connection = performRequest(url, project, options);
 
       switch (connection.getResponseCode()) {
         case HttpURLConnection.HTTP_OK:
@@ -171,8 +183,8 @@ public class OntoUMLServerAccessController {
   //    return null;
   //  }
 
-  private static HttpURLConnection performRequest(String urlString, String body)
-      throws IOException {
+  private static HttpURLConnection performRequest(
+      String urlString, Project project, String options) throws IOException {
     final URL url = new URL(urlString);
     final HttpURLConnection request = (HttpURLConnection) url.openConnection();
 
@@ -180,13 +192,12 @@ public class OntoUMLServerAccessController {
     request.setRequestProperty("Content-Type", "application/json");
     request.setReadTimeout(60000);
     request.setDoOutput(true);
+    // Without a fixed length or chunks, the connection buffers the whole body before sending it
+    request.setChunkedStreamingMode(0);
 
-    final OutputStream requestStream = request.getOutputStream();
-    final byte[] requestBody = body.getBytes();
-
-    requestStream.write(requestBody, 0, requestBody.length);
-    requestStream.flush();
-    requestStream.close();
+    try (OutputStream requestStream = request.getOutputStream()) {
+      writeServiceRequestBody(requestStream, project, options);
+    }
 
     return request;
   }
@@ -11,6 +11,7 @@ import it.unibz.inf.ontouml.vp.model.Configurations;
 import it.unibz.inf.ontouml.vp.model.uml.Association;
 import it.unibz.inf.ontouml.vp.model.uml.Class;
 import it.unibz.inf.ontouml.vp.model.uml.Diagram;
+import it.unibz.inf.ontouml.vp.model.vp2ontouml.IncrementalProjectTransformer;
 import it.unibz.inf.ontouml.vp.utils.SmartColoringUtils;
 
 public class DiagramListener implements IDiagramListener {
@@ -20,6 +21,7 @@ public class DiagramListener implements IDiagramListener {
   @Override
   public void diagramElementAdded(IDiagramUIModel diagram, IDiagramElement shape) {
     try {
+      markDirty(diagram);
       runSmartPainting(shape);
       //      runOntoumlDiagramCheck(shape);
     } catch (Exception e) {
@@ -31,6 +33,7 @@ public class DiagramListener implements IDiagramListener {
   @Override
   public void diagramElementRemoved(IDiagramUIModel diagram, IDiagramElement shape) {
     try {
+      markDirty(diagram);
       //      runOntoumlDiagramCheck(diagram);
     } catch (Exception e) {
       System.err.println("An error occurred while removing an element from diagram.");
@@ -53,10 +56,18 @@ public class DiagramListener implements IDiagramListener {
       IDiagramUIModel diagram,
       String propertyName,
       Object originalProperty,
-      Object modifiedProperty) {}
+      Object modifiedProperty) {
+    markDirty(diagram);
+  }
 
   @Override
-  public void diagramUIModelRenamed(IDiagramUIModel diagram) {}
+  public void diagramUIModelRenamed(IDiagramUIModel diagram) {
+    markDirty(diagram);
+  }
+
+  private void markDirty(IDiagramUIModel diagram) {
+    IncrementalProjectTransformer.getInstance().markDirty(diagram);
+  }
 
   private void runSmartPainting(IDiagramElement diagramElement) {
     if (isClassView(diagramElement) && isPaintingEnabled()) {
@@ -42,6 +42,20 @@ public abstract class ModelElementEventManager {
     return null;
   }
 
+  /** Returns whether events from the source of the given event are handled by a manager. */
+  public static boolean hasEventManager(PropertyChangeEvent event) {
+    if (!hasModelElementSource(event)) return false;
+
+    switch (((IModelElement) event.getSource()).getModelType()) {
+      case IModelElementFactory.MODEL_TYPE_CLASS:
+      case IModelElementFactory.MODEL_TYPE_GENERALIZATION:
+      case IModelElementFactory.MODEL_TYPE_ASSOCIATION:
+        return true;
+      default:
+        return false;
+    }
+  }
+
   public static boolean hasModelElementSource(PropertyChangeEvent event) {
     return event.getSource() instanceof IModelElement;
   }
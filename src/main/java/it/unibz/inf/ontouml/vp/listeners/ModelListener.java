@@ -1,5 +1,7 @@
 package it.unibz.inf.ontouml.vp.listeners;
 
+import com.vp.plugin.model.IModelElement;
+import it.unibz.inf.ontouml.vp.model.vp2ontouml.IncrementalProjectTransformer;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 
@@ -8,6 +10,11 @@ public class ModelListener implements PropertyChangeListener {
   @Override
   public void propertyChange(PropertyChangeEvent event) {
     try {
+      if (event.getSource() instanceof IModelElement)
+        IncrementalProjectTransformer.getInstance().markDirty((IModelElement) event.getSource());
+
+      if (!ModelElementEventManager.hasEventManager(event)) return;
+
       ModelElementEventManager eventManager = ModelElementEventManager.create(event);
       if (eventManager != null) eventManager.processEvent();
     } catch (Exception e) {
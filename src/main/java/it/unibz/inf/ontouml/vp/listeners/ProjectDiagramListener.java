@@ -4,6 +4,7 @@ import com.vp.plugin.ApplicationManager;
 import com.vp.plugin.diagram.IDiagramUIModel;
 import com.vp.plugin.model.IProject;
 import com.vp.plugin.model.IProjectDiagramListener;
+import it.unibz.inf.ontouml.vp.model.vp2ontouml.IncrementalProjectTransformer;
 import java.util.Iterator;
 
 public class ProjectDiagramListener implements IProjectDiagramListener {
@@ -17,6 +18,7 @@ public class ProjectDiagramListener implements IProjectDiagramListener {
   @Override
   public void diagramAdded(IProject project, IDiagramUIModel diagram) {
     try {
+      IncrementalProjectTransformer.getInstance().markDirty(diagram);
       addListenerToDiagram(diagram);
     } catch (Exception e) {
       System.err.println("An error ocurred while adding diagram.");
@@ -27,6 +29,7 @@ public class ProjectDiagramListener implements IProjectDiagramListener {
   @Override
   public void diagramRemoved(IProject project, IDiagramUIModel diagram) {
     try {
+      IncrementalProjectTransformer.getInstance().markDirty(diagram);
       removeListenerFromDiagram(diagram);
     } catch (Exception e) {
       System.err.println("An error ocurred while removing diagram.");
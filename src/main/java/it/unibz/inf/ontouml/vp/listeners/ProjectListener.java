@@ -7,6 +7,7 @@ import it.unibz.inf.ontouml.vp.OntoUMLPlugin;
 import it.unibz.inf.ontouml.vp.controllers.GitHubAccessController;
 import it.unibz.inf.ontouml.vp.model.Configurations;
 import it.unibz.inf.ontouml.vp.model.GitHubRelease;
+import it.unibz.inf.ontouml.vp.model.vp2ontouml.IncrementalProjectTransformer;
 import it.unibz.inf.ontouml.vp.utils.StereotypesManager;
 import it.unibz.inf.ontouml.vp.utils.ViewManagerUtils;
 import java.time.ZonedDateTime;
@@ -95,6 +96,7 @@ public class ProjectListener implements IProjectListener {
         return;
       }
 
+      IncrementalProjectTransformer.getInstance().reset();
       addListeners();
       generateStereotypes();
     } catch (Exception e) {
@@ -110,6 +112,7 @@ public class ProjectListener implements IProjectListener {
         return;
       }
 
+      IncrementalProjectTransformer.getInstance().reset();
       addListeners();
       generateStereotypes();
     } catch (Exception e) {
@@ -4,6 +4,7 @@ import com.vp.plugin.model.IModelElement;
 import com.vp.plugin.model.IProject;
 import com.vp.plugin.model.IProjectModelListener;
 import com.vp.plugin.model.factory.IModelElementFactory;
+import it.unibz.inf.ontouml.vp.model.vp2ontouml.IncrementalProjectTransformer;
 import it.unibz.inf.ontouml.vp.utils.ApplicationManagerUtils;
 import java.util.Collections;
 import java.util.Set;
@@ -11,12 +12,20 @@ import java.util.stream.Collectors;
 
 public class ProjectModelListener implements IProjectModelListener {
 
+  // Changes to any transformed element make it dirty in the incremental transformation
   private static final Set<String> typesOfModelElementsToListenForChanges =
       Set.of(
           IModelElementFactory.MODEL_TYPE_ASSOCIATION,
+          IModelElementFactory.MODEL_TYPE_ASSOCIATION_CLASS,
           IModelElementFactory.MODEL_TYPE_ASSOCIATION_END,
+          IModelElementFactory.MODEL_TYPE_ATTRIBUTE,
           IModelElementFactory.MODEL_TYPE_CLASS,
-          IModelElementFactory.MODEL_TYPE_GENERALIZATION);
+          IModelElementFactory.MODEL_TYPE_DATA_TYPE,
+          IModelElementFactory.MODEL_TYPE_ENUMERATION_LITERAL,
+          IModelElementFactory.MODEL_TYPE_GENERALIZATION,
+          IModelElementFactory.MODEL_TYPE_GENERALIZATION_SET,
+          IModelElementFactory.MODEL_TYPE_MODEL,
+          IModelElementFactory.MODEL_TYPE_PACKAGE);
 
   private final ModelListener modelListener;
 
@@ -27,6 +36,7 @@ public class ProjectModelListener implements IProjectModelListener {
   @Override
   public void modelAdded(IProject project, IModelElement modelElement) {
     try {
+      IncrementalProjectTransformer.getInstance().markDirty(modelElement);
       addListenerToModelElement(modelElement);
     } catch (Exception e) {
       System.err.println("An error occurred while adding model element.");
@@ -37,6 +47,7 @@ public class ProjectModelListener implements IProjectModelListener {
   @Override
   public void modelRemoved(IProject project, IModelElement modelElement) {
     try {
+      IncrementalProjectTransformer.getInstance().markDirty(modelElement);
       removeListenerFromModelElement(modelElement);
     } catch (Exception e) {
       System.err.println("An error occurred while removing model element.");
@@ -102,6 +102,14 @@ public class ProjectConfigurations {
   @Expose()
   private String exportGUFOPackageMapping;
 
+  @SerializedName("exportBaselinePath")
+  @Expose()
+  private String exportBaselinePath;
+
+  @SerializedName("exportBaselineHash")
+  @Expose()
+  private String exportBaselineHash;
+
   @SerializedName("isExportEnabled")
   @Expose()
   private boolean isModelExportEnabled;
@@ -361,6 +369,44 @@ public class ProjectConfigurations {
     this.exportGUFOPackageMapping = exportGUFOPackageMapping;
   }
 
+  /**
+   * Returns the path of the file that caches the last version of the project exported or imported
+   * as a delta, which is the baseline of delta exports, or null if there is none.
+   *
+   * @return exportBaselinePath
+   */
+  public String getExportBaselinePath() {
+    return exportBaselinePath;
+  }
+
+  /**
+   * Sets the path of the file that caches the last version of the project exported or imported as
+   * a delta.
+   *
+   * @param exportBaselinePath
+   */
+  public void setExportBaselinePath(String exportBaselinePath) {
+    this.exportBaselinePath = exportBaselinePath;
+  }
+
+  /**
+   * Returns the content hash of the last version of the project exported or imported as a delta.
+   *
+   * @return exportBaselineHash
+   */
+  public String getExportBaselineHash() {
+    return exportBaselineHash;
+  }
+
+  /**
+   * Sets the content hash of the last version of the project exported or imported as a delta.
+   *
+   * @param exportBaselineHash
+   */
+  public void setExportBaselineHash(String exportBaselineHash) {
+    this.exportBaselineHash = exportBaselineHash;
+  }
+
   /**
    * Checks if an export folder is set for automatic model export.
    *
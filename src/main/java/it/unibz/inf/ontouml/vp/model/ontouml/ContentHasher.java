@@ -0,0 +1,99 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import it.unibz.inf.ontouml.vp.model.ontouml.serialization.ElementStreamSerializer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the content hashes of elements, i.e., SHA-256 digests of their fields, as written in
+ * element streams, followed by the content hashes of their direct contents. The digest of an
+ * element never depends on its container, so equal subtrees have equal hashes wherever they are.
+ *
+ * <p>A hasher computes the missing hashes of a whole subtree, contents first, reusing a single
+ * generator, buffer and digest for all of its elements.
+ */
+class ContentHasher {
+
+  private static final ObjectMapper mapper =
+      new ObjectMapper(new JsonFactory().setRootValueSeparator(null));
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final SerializerProvider provider = mapper.getSerializerProviderInstance();
+  private final Buffer buffer = new Buffer();
+  private final JsonGenerator jsonGen;
+  private final MessageDigest digest;
+
+  private ContentHasher() throws IOException {
+    jsonGen = mapper.getFactory().createGenerator(buffer);
+    digest = createDigest();
+  }
+
+  /** Computes and caches the content hashes of the element and of its contents that miss one. */
+  static String hash(OntoumlElement element) {
+    try {
+      return new ContentHasher().hashTree(element);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private String hashTree(OntoumlElement element) throws IOException {
+    int contentCount = element.getContentCount();
+    String[] contentHashes = new String[contentCount];
+
+    for (int i = 0; i < contentCount; i++) {
+      OntoumlElement content = element.getContent(i);
+
+      if (content == null) continue;
+
+      String contentHash = content.getCachedContentHash();
+      contentHashes[i] = contentHash != null ? contentHash : hashTree(content);
+    }
+
+    buffer.reset();
+    ElementStreamSerializer.writeFlatElement(element, jsonGen, provider);
+    jsonGen.flush();
+    buffer.updateDigest(digest);
+
+    for (String contentHash : contentHashes) {
+      if (contentHash != null) digest.update(contentHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    String hash = toHex(digest.digest());
+    element.cacheContentHash(hash);
+    return hash;
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    char[] chars = new char[bytes.length * 2];
+
+    for (int i = 0; i < bytes.length; i++) {
+      chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+      chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+    }
+
+    return new String(chars);
+  }
+
+  private static class Buffer extends ByteArrayOutputStream {
+    private void updateDigest(MessageDigest digest) {
+      digest.update(buf, 0, count);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Depth-first, pre-order traversal of the contents of an element. Children are read by index
+ * through {@link OntoumlElement#getContentCount()} and {@link OntoumlElement#getContent(int)}, so
+ * the only allocation is the stack of the traversal, which grows with the depth of the tree.
+ */
+final class ContentSpliterator implements Spliterator<OntoumlElement> {
+
+  private OntoumlElement[] parents = new OntoumlElement[16];
+  private int[] positions = new int[16];
+  private int depth;
+
+  ContentSpliterator(OntoumlElement root) {
+    push(root);
+  }
+
+  /** Returns the next element of the traversal, or null once all contents were visited. */
+  OntoumlElement next() {
+    while (depth > 0) {
+      OntoumlElement parent = parents[depth - 1];
+      int position = positions[depth - 1];
+
+      if (position >= parent.getContentCount()) {
+        parents[--depth] = null;
+        continue;
+      }
+
+      positions[depth - 1] = position + 1;
+      OntoumlElement child = parent.getContent(position);
+
+      if (child == null) continue;
+
+      push(child);
+      return child;
+    }
+
+    return null;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super OntoumlElement> action) {
+    OntoumlElement element = next();
+
+    if (element == null) return false;
+
+    action.accept(element);
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super OntoumlElement> action) {
+    for (OntoumlElement element = next(); element != null; element = next()) action.accept(element);
+  }
+
+  @Override
+  public Spliterator<OntoumlElement> trySplit() {
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+
+  private void push(OntoumlElement element) {
+    if (depth == parents.length) {
+      parents = Arrays.copyOf(parents, depth * 2);
+      positions = Arrays.copyOf(positions, depth * 2);
+    }
+
+    parents[depth] = element;
+    positions[depth] = 0;
+    depth++;
+  }
+}
@@ -38,22 +38,27 @@ public abstract class Element implements Comparable<Element> {
 
   public void setName(MultilingualText name) {
     this.name = name;
+    invalidateContentHash();
   }
 
   public void addName(String languageTag, String value) {
     this.name.putText(languageTag, value);
+    invalidateContentHash();
   }
 
   public void addName(String value) {
     this.name.putText(value);
+    invalidateContentHash();
   }
 
   public void removeNameIn(String languageTag) {
     this.name.removeTextIn(languageTag);
+    invalidateContentHash();
   }
 
   public void removeAllNames() {
     this.name.removeAll();
+    invalidateContentHash();
   }
 
   public MultilingualText getDescription() {
@@ -70,24 +75,32 @@ public abstract class Element implements Comparable<Element> {
 
   public void setDescription(MultilingualText description) {
     this.description = description;
+    invalidateContentHash();
   }
 
   public void addDescription(String languageTag, String value) {
     this.description.putText(languageTag, value);
+    invalidateContentHash();
   }
 
   public void addDescription(String value) {
     this.description.putText(value);
+    invalidateContentHash();
   }
 
   public void removeDescription(String languageTag) {
     this.description.removeTextIn(languageTag);
+    invalidateContentHash();
   }
 
   public void removeAllDescriptions() {
     this.description.removeAll();
+    invalidateContentHash();
   }
 
+  /** Called after the fields of the element change. */
+  protected void invalidateContentHash() {}
+
   @Override
   public int compareTo(Element element) {
     return this.getFirstName().orElse("").compareTo(element.getFirstName().orElse(""));
@@ -0,0 +1,66 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Differences between the two versions of an element with the same id: whether it was moved to a
+ * different container, and which of its own fields changed. Changes to its contents are reported
+ * for the contents themselves.
+ */
+public class ElementDiff {
+
+  private final OntoumlElement previous;
+  private final OntoumlElement current;
+  private final boolean moved;
+  private final List<FieldChange> fieldChanges;
+
+  ElementDiff(
+      OntoumlElement previous,
+      OntoumlElement current,
+      boolean moved,
+      List<FieldChange> fieldChanges) {
+    this.previous = previous;
+    this.current = current;
+    this.moved = moved;
+    this.fieldChanges = Collections.unmodifiableList(fieldChanges);
+  }
+
+  public String getId() {
+    return current.getId();
+  }
+
+  public OntoumlElement getPrevious() {
+    return previous;
+  }
+
+  public OntoumlElement getCurrent() {
+    return current;
+  }
+
+  public boolean isMoved() {
+    return moved;
+  }
+
+  public Optional<OntoumlElement> getPreviousContainer() {
+    return previous.getContainer();
+  }
+
+  public Optional<OntoumlElement> getCurrentContainer() {
+    return current.getContainer();
+  }
+
+  public boolean isModified() {
+    return !fieldChanges.isEmpty();
+  }
+
+  public List<FieldChange> getFieldChanges() {
+    return fieldChanges;
+  }
+
+  @Override
+  public String toString() {
+    return current.getType() + " " + getId() + (moved ? " moved" : "") + " " + fieldChanges;
+  }
+}
@@ -0,0 +1,160 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.ClassStereotype;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Decoratable;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.PropertyStereotype;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.RelationStereotype;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Stereotype;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of a set of elements partitioned by their concrete class. Queries by type only visit the
+ * buckets of the concrete classes assignable to that type, and their results are kept as read-only
+ * lists until one of those buckets changes.
+ *
+ * <p>Classes, relations and properties are further partitioned by their OntoUML stereotype, which
+ * must be reported through {@link #updateStereotype(Decoratable, Stereotype)} when it changes.
+ *
+ * <p>Results list the elements of each concrete class in insertion order, and concrete classes in
+ * the order their first element was inserted, so they do not depend on hash codes of classes.
+ */
+public class ElementTypeIndex {
+
+  /** Buckets are never removed, so their order stays the one of their first insertion. */
+  private final Map<java.lang.Class<?>, Set<OntoumlElement>> buckets = new LinkedHashMap<>();
+  private final Map<java.lang.Class<?>, List<?>> views = new HashMap<>();
+
+  private final Map<ClassStereotype, Set<OntoumlElement>> classesByStereotype =
+      new EnumMap<>(ClassStereotype.class);
+  private final Map<RelationStereotype, Set<OntoumlElement>> relationsByStereotype =
+      new EnumMap<>(RelationStereotype.class);
+  private final Map<PropertyStereotype, Set<OntoumlElement>> propertiesByStereotype =
+      new EnumMap<>(PropertyStereotype.class);
+
+  public void add(OntoumlElement element) {
+    if (element == null) return;
+
+    java.lang.Class<?> concreteType = element.getClass();
+
+    if (!buckets.computeIfAbsent(concreteType, k -> new LinkedHashSet<>()).add(element)) return;
+
+    invalidate(concreteType);
+
+    if (element instanceof Decoratable)
+      addToStereotypeIndex(element, ((Decoratable<?>) element).getOntoumlStereotype().orElse(null));
+  }
+
+  public void remove(OntoumlElement element) {
+    if (element == null) return;
+
+    java.lang.Class<?> concreteType = element.getClass();
+    Set<OntoumlElement> bucket = buckets.get(concreteType);
+
+    if (bucket == null || !bucket.remove(element)) return;
+
+    invalidate(concreteType);
+
+    if (element instanceof Decoratable)
+      removeFromStereotypeIndex(
+          element, ((Decoratable<?>) element).getOntoumlStereotype().orElse(null));
+  }
+
+  public boolean contains(OntoumlElement element) {
+    if (element == null) return false;
+
+    Set<OntoumlElement> bucket = buckets.get(element.getClass());
+    return bucket != null && bucket.contains(element);
+  }
+
+  /** Moves an indexed element from the partition of its previous stereotype to the current one. */
+  public void updateStereotype(Decoratable<?> element, Stereotype previousStereotype) {
+    if (!contains(element)) return;
+
+    removeFromStereotypeIndex(element, previousStereotype);
+    addToStereotypeIndex(element, element.getOntoumlStereotype().orElse(null));
+  }
+
+  /** Returns a read-only list of the indexed elements that are instances of {@code type}. */
+  @SuppressWarnings("unchecked")
+  public <T> List<T> get(java.lang.Class<T> type) {
+    List<?> view = views.get(type);
+
+    if (view == null) {
+      List<Object> elements = new ArrayList<>();
+
+      buckets.forEach(
+          (concreteType, bucket) -> {
+            if (type.isAssignableFrom(concreteType)) elements.addAll(bucket);
+          });
+
+      view = List.copyOf(elements);
+      views.put(type, view);
+    }
+
+    return (List<T>) view;
+  }
+
+  public List<Class> getClassesByStereotype(ClassStereotype stereotype) {
+    return getByStereotype(classesByStereotype, stereotype);
+  }
+
+  public List<Relation> getRelationsByStereotype(RelationStereotype stereotype) {
+    return getByStereotype(relationsByStereotype, stereotype);
+  }
+
+  public List<Property> getPropertiesByStereotype(PropertyStereotype stereotype) {
+    return getByStereotype(propertiesByStereotype, stereotype);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T, S extends Stereotype> List<T> getByStereotype(
+      Map<S, Set<OntoumlElement>> index, S stereotype) {
+    Set<OntoumlElement> bucket = index.get(stereotype);
+    return bucket != null ? (List<T>) List.copyOf(bucket) : List.of();
+  }
+
+  private void addToStereotypeIndex(OntoumlElement element, Stereotype stereotype) {
+    Map<Stereotype, Set<OntoumlElement>> index = getStereotypeIndex(element);
+
+    if (index == null || stereotype == null) return;
+
+    index.computeIfAbsent(stereotype, k -> new LinkedHashSet<>()).add(element);
+  }
+
+  private void removeFromStereotypeIndex(OntoumlElement element, Stereotype stereotype) {
+    Map<Stereotype, Set<OntoumlElement>> index = getStereotypeIndex(element);
+
+    if (index == null || stereotype == null) return;
+
+    Set<OntoumlElement> bucket = index.get(stereotype);
+
+    if (bucket != null && bucket.remove(element) && bucket.isEmpty()) index.remove(stereotype);
+  }
+
+  /** The stereotypes of each element type are of the matching enum, so the casts are safe. */
+  @SuppressWarnings("unchecked")
+  private Map<Stereotype, Set<OntoumlElement>> getStereotypeIndex(OntoumlElement element) {
+    Map<?, Set<OntoumlElement>> index;
+
+    if (element instanceof Class) index = classesByStereotype;
+    else if (element instanceof Relation) index = relationsByStereotype;
+    else if (element instanceof Property) index = propertiesByStereotype;
+    else return null;
+
+    return (Map<Stereotype, Set<OntoumlElement>>) index;
+  }
+
+  private void invalidate(java.lang.Class<?> concreteType) {
+    if (!views.isEmpty()) views.keySet().removeIf(type -> type.isAssignableFrom(concreteType));
+  }
+}
@@ -0,0 +1,38 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A field of an element whose serialized value differs between two versions of a project. Values
+ * are JSON trees as written by the serializers, so references hold the ids they point to, and
+ * missing fields are null.
+ */
+public class FieldChange {
+
+  private final String fieldName;
+  private final JsonNode previousValue;
+  private final JsonNode currentValue;
+
+  FieldChange(String fieldName, JsonNode previousValue, JsonNode currentValue) {
+    this.fieldName = fieldName;
+    this.previousValue = previousValue;
+    this.currentValue = currentValue;
+  }
+
+  public String getFieldName() {
+    return fieldName;
+  }
+
+  public JsonNode getPreviousValue() {
+    return previousValue;
+  }
+
+  public JsonNode getCurrentValue() {
+    return currentValue;
+  }
+
+  @Override
+  public String toString() {
+    return fieldName + ": " + previousValue + " -> " + currentValue;
+  }
+}
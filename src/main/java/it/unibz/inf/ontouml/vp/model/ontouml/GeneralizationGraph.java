@@ -0,0 +1,220 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Classifier;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adjacency index of the generalizations of a project. Edges are added and removed as
+ * generalizations enter or leave the project, or change their general or specific classifiers.
+ *
+ * <p>Ancestors and descendants are computed on demand as bitsets over dense classifier ordinals and
+ * cached until the graph changes. Each closure reuses the closures already computed for the nodes
+ * it reaches, so cycles in invalid models are handled without recursion. Ordinals follow the order
+ * in which generalizations were added, so ancestors and descendants are listed in the same order
+ * on every run.
+ */
+public class GeneralizationGraph {
+
+  /** Edges in the order their generalizations were added, which orders the ordinals. */
+  private final Map<Generalization, Edge> edges = new LinkedHashMap<>();
+  private final Map<Classifier<?, ?>, Set<Generalization>> whereSpecific = new HashMap<>();
+  private final Map<Classifier<?, ?>, Set<Generalization>> whereGeneral = new HashMap<>();
+
+  private Map<Classifier<?, ?>, Integer> ordinals;
+  private List<Classifier<?, ?>> classifiers;
+  private BitSet[] ancestors;
+  private BitSet[] descendants;
+
+  public void add(Generalization generalization) {
+    Classifier<?, ?> specific = generalization.getSpecific().orElse(null);
+    Classifier<?, ?> general = generalization.getGeneral().orElse(null);
+    Edge edge = edges.get(generalization);
+
+    if (edge != null && edge.specific == specific && edge.general == general) return;
+
+    if (edge != null) remove(generalization);
+
+    edges.put(generalization, new Edge(specific, general));
+
+    if (specific != null)
+      whereSpecific.computeIfAbsent(specific, k -> new LinkedHashSet<>()).add(generalization);
+
+    if (general != null)
+      whereGeneral.computeIfAbsent(general, k -> new LinkedHashSet<>()).add(generalization);
+
+    invalidate();
+  }
+
+  public void remove(Generalization generalization) {
+    Edge edge = edges.remove(generalization);
+
+    if (edge == null) return;
+
+    removeFrom(whereSpecific, edge.specific, generalization);
+    removeFrom(whereGeneral, edge.general, generalization);
+    invalidate();
+  }
+
+  /** Updates the edge of a generalization of the graph after a change of its classifiers. */
+  public void update(Generalization generalization) {
+    if (edges.containsKey(generalization)) add(generalization);
+  }
+
+  public List<Generalization> getGeneralizationsWhereSpecific(Classifier<?, ?> classifier) {
+    return List.copyOf(whereSpecific.getOrDefault(classifier, Collections.emptySet()));
+  }
+
+  public List<Generalization> getGeneralizationsWhereGeneral(Classifier<?, ?> classifier) {
+    return List.copyOf(whereGeneral.getOrDefault(classifier, Collections.emptySet()));
+  }
+
+  public List<Classifier<?, ?>> getParents(Classifier<?, ?> classifier) {
+    Set<Classifier<?, ?>> parents = new LinkedHashSet<>();
+
+    for (Generalization generalization : whereSpecific.getOrDefault(classifier, Set.of())) {
+      Classifier<?, ?> general = edges.get(generalization).general;
+      if (general != null) parents.add(general);
+    }
+
+    return new ArrayList<>(parents);
+  }
+
+  public List<Classifier<?, ?>> getChildren(Classifier<?, ?> classifier) {
+    Set<Classifier<?, ?>> children = new LinkedHashSet<>();
+
+    for (Generalization generalization : whereGeneral.getOrDefault(classifier, Set.of())) {
+      Classifier<?, ?> specific = edges.get(generalization).specific;
+      if (specific != null) children.add(specific);
+    }
+
+    return new ArrayList<>(children);
+  }
+
+  public List<Classifier<?, ?>> getAncestors(Classifier<?, ?> classifier) {
+    return toClassifiers(getClosure(classifier, true), classifier);
+  }
+
+  public List<Classifier<?, ?>> getDescendants(Classifier<?, ?> classifier) {
+    return toClassifiers(getClosure(classifier, false), classifier);
+  }
+
+  /** Returns whether {@code general} is a direct or indirect generalization of {@code specific}. */
+  public boolean isAncestor(Classifier<?, ?> general, Classifier<?, ?> specific) {
+    if (general == specific) return false;
+
+    BitSet closure = getClosure(specific, true);
+    Integer ordinal = ordinals.get(general);
+
+    return ordinal != null && closure.get(ordinal);
+  }
+
+  private List<Classifier<?, ?>> toClassifiers(BitSet closure, Classifier<?, ?> classifier) {
+    List<Classifier<?, ?>> result = new ArrayList<>(closure.cardinality());
+
+    for (int i = closure.nextSetBit(0); i >= 0; i = closure.nextSetBit(i + 1)) {
+      Classifier<?, ?> element = classifiers.get(i);
+      if (element != classifier) result.add(element);
+    }
+
+    return result;
+  }
+
+  private BitSet getClosure(Classifier<?, ?> classifier, boolean upwards) {
+    if (ordinals == null) buildOrdinals();
+
+    Integer ordinal = ordinals.get(classifier);
+
+    if (ordinal == null) return new BitSet();
+
+    BitSet[] cache = upwards ? ancestors : descendants;
+
+    if (cache[ordinal] == null) cache[ordinal] = computeClosure(ordinal, upwards, cache);
+
+    return cache[ordinal];
+  }
+
+  private BitSet computeClosure(int ordinal, boolean upwards, BitSet[] cache) {
+    BitSet closure = new BitSet(classifiers.size());
+    Deque<Integer> pending = new ArrayDeque<>();
+    pending.push(ordinal);
+
+    while (!pending.isEmpty()) {
+      Classifier<?, ?> current = classifiers.get(pending.pop());
+      List<Classifier<?, ?>> next = upwards ? getParents(current) : getChildren(current);
+
+      for (Classifier<?, ?> neighbour : next) {
+        int neighbourOrdinal = ordinals.get(neighbour);
+
+        if (closure.get(neighbourOrdinal)) continue;
+
+        closure.set(neighbourOrdinal);
+
+        if (cache[neighbourOrdinal] != null) closure.or(cache[neighbourOrdinal]);
+        else pending.push(neighbourOrdinal);
+      }
+    }
+
+    return closure;
+  }
+
+  private void buildOrdinals() {
+    ordinals = new HashMap<>();
+    classifiers = new ArrayList<>();
+
+    for (Edge edge : edges.values()) {
+      addOrdinal(edge.specific);
+      addOrdinal(edge.general);
+    }
+
+    ancestors = new BitSet[classifiers.size()];
+    descendants = new BitSet[classifiers.size()];
+  }
+
+  private void addOrdinal(Classifier<?, ?> classifier) {
+    if (classifier == null || ordinals.containsKey(classifier)) return;
+
+    ordinals.put(classifier, classifiers.size());
+    classifiers.add(classifier);
+  }
+
+  private void invalidate() {
+    ordinals = null;
+    classifiers = null;
+    ancestors = null;
+    descendants = null;
+  }
+
+  private static void removeFrom(
+      Map<Classifier<?, ?>, Set<Generalization>> index,
+      Classifier<?, ?> classifier,
+      Generalization generalization) {
+    if (classifier == null) return;
+
+    Set<Generalization> generalizations = index.get(classifier);
+
+    if (generalizations == null || !generalizations.remove(generalization)) return;
+
+    if (generalizations.isEmpty()) index.remove(classifier);
+  }
+
+  private static class Edge {
+    private final Classifier<?, ?> specific;
+    private final Classifier<?, ?> general;
+
+    private Edge(Classifier<?, ?> specific, Classifier<?, ?> general) {
+      this.specific = specific;
+      this.general = general;
+    }
+  }
+}
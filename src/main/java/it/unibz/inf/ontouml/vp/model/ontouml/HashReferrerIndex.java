@@ -0,0 +1,66 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse index of the references held by the elements of a project whose content hashes are
+ * cached. As references are hashed as the ids they point to, the hashes of the referrers of an
+ * element must be discarded when its id changes.
+ *
+ * <p>Referrers are removed as soon as their hashes are discarded, which every change to their
+ * references does, or they leave the project, so the index never holds more than the elements with
+ * a cached hash.
+ */
+class HashReferrerIndex {
+
+  private final Map<OntoumlElement, List<OntoumlElement>> referencesByReferrer =
+      new IdentityHashMap<>();
+  private final Map<OntoumlElement, Set<OntoumlElement>> referrersByReference =
+      new IdentityHashMap<>();
+
+  void add(OntoumlElement referrer, List<OntoumlElement> references) {
+    remove(referrer);
+
+    if (references.isEmpty()) return;
+
+    referencesByReferrer.put(referrer, references);
+
+    for (OntoumlElement reference : references)
+      referrersByReference
+          .computeIfAbsent(reference, k -> Collections.newSetFromMap(new IdentityHashMap<>()))
+          .add(referrer);
+  }
+
+  void remove(OntoumlElement referrer) {
+    List<OntoumlElement> references = referencesByReferrer.remove(referrer);
+
+    if (references == null) return;
+
+    for (OntoumlElement reference : references) {
+      Set<OntoumlElement> referrers = referrersByReference.get(reference);
+
+      if (referrers != null && referrers.remove(referrer) && referrers.isEmpty())
+        referrersByReference.remove(reference);
+    }
+  }
+
+  /** Removes the elements referring to the given one and returns them. */
+  List<OntoumlElement> removeReferrers(OntoumlElement reference) {
+    Set<OntoumlElement> referrers = referrersByReference.get(reference);
+
+    if (referrers == null) return List.of();
+
+    List<OntoumlElement> removed = new ArrayList<>(referrers);
+    removed.forEach(this::remove);
+    return removed;
+  }
+
+  int size() {
+    return referencesByReferrer.size();
+  }
+}
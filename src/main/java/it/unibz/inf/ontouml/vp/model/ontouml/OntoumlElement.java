@@ -1,20 +1,41 @@
 package it.unibz.inf.ontouml.vp.model.ontouml;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class OntoumlElement extends Element {
 
+  private static final AtomicLongFieldUpdater<OntoumlElement> containmentEpochUpdater =
+      AtomicLongFieldUpdater.newUpdater(OntoumlElement.class, "containmentEpoch");
+
   private OntoumlElement container;
-  private Project project;
+
+  /**
+   * Counter of the elements moved into or out of the tree of this element while it is a root.
+   * Roots cached by the elements of its tree are only valid while it keeps the value it had when
+   * they were cached, so moves elsewhere never invalidate them.
+   */
+  private volatile long containmentEpoch;
+
+  /** Root of the element and the epoch it was cached at, published together. */
+  private volatile CachedRoot cachedRoot;
+
+  private String contentHash;
 
   public OntoumlElement(OntoumlElement container, String id, MultilingualText name) {
     super(id, name);
     this.container = container;
 
-    if (container != null) project = container.project;
+    if (container != null) container.invalidateContentHash();
   }
 
   public OntoumlElement(String id, MultilingualText name) {
@@ -25,10 +46,122 @@ public abstract class OntoumlElement extends Element {
     return Optional.ofNullable(container);
   }
 
+  @Override
+  public void setId(String id) {
+    String previousId = getId();
+    super.setId(id);
+
+    getProject()
+        .filter(project -> project != this)
+        .ifPresent(project -> project.reindexElement(previousId, this));
+
+    if (!getId().equals(previousId)) invalidateHashReferrers();
+  }
+
+  /**
+   * Moves the element and its contents into the given container. The project of the element is
+   * not stored but derived from its container, so only the indexes of the previous and the new
+   * project need to visit the contents of the element, once each.
+   */
   public void setContainer(OntoumlElement container) {
+    OntoumlElement previousContainer = this.container;
+
+    if (previousContainer != null) previousContainer.invalidateContentHash();
+    if (container != null) container.invalidateContentHash();
+
+    if (previousContainer == container) return;
+
+    OntoumlElement previousRoot = getRoot();
+    Project previousProject = previousRoot instanceof Project ? (Project) previousRoot : null;
+
     this.container = container;
-    Project project = container != null ? container.project : null;
-    setProject(project);
+    containmentEpochUpdater.incrementAndGet(previousRoot);
+
+    Project project = getProject().orElse(null);
+
+    updateContentIndexes(previousContainer, container);
+
+    if (previousProject != project) moveBetweenProjects(previousProject, project);
+  }
+
+  private void moveBetweenProjects(Project previousProject, Project project) {
+    if (previousProject != null) {
+      previousProject.unindexElement(this);
+      visitAllContents(
+          element -> {
+            previousProject.unindexElement(element);
+            return true;
+          });
+    }
+
+    if (project != null) {
+      project.indexElement(this);
+      visitAllContents(
+          element -> {
+            project.indexElement(element);
+            return true;
+          });
+    }
+  }
+
+  /**
+   * Returns the index by type of the contents of this element, for the elements that maintain one.
+   * Contents of a nested element with its own index are only held by that index, so moving an
+   * element only updates the index of its nearest container with one, and the index of all
+   * elements of its project if it changes projects.
+   */
+  protected Optional<ElementTypeIndex> getContentIndex() {
+    return Optional.empty();
+  }
+
+  /** Returns the content indexes that hold this element: its container's and its project's. */
+  protected List<ElementTypeIndex> getContainerIndexes() {
+    List<ElementTypeIndex> indexes = new ArrayList<>();
+    getNearestContentIndex(container).ifPresent(indexes::add);
+    getProject().map(Project::getElementTypeIndex).ifPresent(indexes::add);
+    return indexes;
+  }
+
+  private void updateContentIndexes(OntoumlElement previousContainer, OntoumlElement container) {
+    ElementTypeIndex previousIndex = getNearestContentIndex(previousContainer).orElse(null);
+    ElementTypeIndex index = getNearestContentIndex(container).orElse(null);
+
+    if (previousIndex == index) return;
+
+    if (previousIndex != null) visitIndexedTogether(previousIndex::remove);
+    if (index != null) visitIndexedTogether(index::add);
+  }
+
+  /**
+   * Visits the element and the contents held by the same index, depth-first, without descending
+   * into the contents of nested elements with their own index.
+   */
+  private void visitIndexedTogether(Consumer<OntoumlElement> visitor) {
+    Deque<OntoumlElement> stack = new ArrayDeque<>();
+    stack.push(this);
+
+    while (!stack.isEmpty()) {
+      OntoumlElement element = stack.pop();
+      visitor.accept(element);
+
+      if (element.getContentIndex().isPresent()) continue;
+
+      for (int i = element.getContentCount() - 1; i >= 0; i--) {
+        OntoumlElement content = element.getContent(i);
+
+        if (content != null) stack.push(content);
+      }
+    }
+  }
+
+  private static Optional<ElementTypeIndex> getNearestContentIndex(OntoumlElement element) {
+    for (OntoumlElement ancestor = element; ancestor != null; ancestor = ancestor.container) {
+      Optional<ElementTypeIndex> index = ancestor.getContentIndex();
+
+      if (index.isPresent()) return index;
+    }
+
+    return Optional.empty();
   }
 
   public boolean hasContainer() {
@@ -36,17 +169,106 @@ public abstract class OntoumlElement extends Element {
   }
 
   public Optional<Project> getProject() {
-    return Optional.ofNullable(project);
+    OntoumlElement root = getRoot();
+    return root instanceof Project ? Optional.of((Project) root) : Optional.empty();
   }
 
   public boolean hasProject() {
     return getProject().isEmpty();
   }
 
-  /** Setting the project of an element propagates to all of its contents */
-  public void setProject(Project project) {
-    this.project = project;
-    getAllContents().forEach(elem -> elem.setProject(project));
+  /**
+   * Returns the topmost container of the element, or the element itself if it has no container.
+   * The root is cached on every element of the path to it, so repeated lookups between changes of
+   * containment of its tree take constant time. Lookups may run concurrently as long as the tree
+   * does not change.
+   */
+  public OntoumlElement getRoot() {
+    OntoumlElement element = this;
+    CachedRoot cached = element.getValidCachedRoot();
+
+    while (cached == null && element.container != null) {
+      element = element.container;
+      cached = element.getValidCachedRoot();
+    }
+
+    if (cached == null) cached = new CachedRoot(element, element.containmentEpoch);
+
+    for (OntoumlElement e = this; e != element; e = e.container) e.cachedRoot = cached;
+
+    element.cachedRoot = cached;
+    return cached.root;
+  }
+
+  private CachedRoot getValidCachedRoot() {
+    CachedRoot cached = cachedRoot;
+    return cached != null && cached.isValid() ? cached : null;
+  }
+
+  /**
+   * Returns a hash of the fields of the element and of the hashes of its contents, so two subtrees
+   * have the same hash if they hold the same elements in the same order, wherever they are.
+   * References contribute the ids of the elements they point to. Hashes are cached until the
+   * element or one of its contents changes through their setters; changes made to values returned
+   * by getters, such as the texts of a name, are not noticed.
+   */
+  public String getContentHash() {
+    String hash = getCachedContentHash();
+    return hash != null ? hash : ContentHasher.hash(this);
+  }
+
+  String getCachedContentHash() {
+    return contentHash;
+  }
+
+  /**
+   * Caches the hash of an element of a project and registers the element with the project as a
+   * referrer of the elements it refers to. Hashes of elements outside of projects are not cached,
+   * as there is no index to discard them when a referenced id changes.
+   */
+  void cacheContentHash(String hash) {
+    Project project = getProject().orElse(null);
+
+    if (project == null) return;
+
+    contentHash = hash;
+    project.getHashReferrerIndex().add(this, getReferences());
+  }
+
+  /** Discards the cached hashes of the element and of its containers, after the element changed. */
+  @Override
+  protected void invalidateContentHash() {
+    if (contentHash == null) return;
+
+    HashReferrerIndex index = getProject().map(Project::getHashReferrerIndex).orElse(null);
+
+    // The containers of an element without a cached hash have none either
+    for (OntoumlElement e = this; e != null && e.contentHash != null; e = e.container) {
+      e.contentHash = null;
+
+      if (index != null) index.remove(e);
+    }
+  }
+
+  /** Discards the cached hashes of the element and of the elements referring to it by id. */
+  private void invalidateHashReferrers() {
+    invalidateContentHash();
+    getProject()
+        .map(project -> project.getHashReferrerIndex().removeReferrers(this))
+        .ifPresent(referrers -> referrers.forEach(OntoumlElement::invalidateContentHash));
+  }
+
+  /** Discards the cached hash of an element leaving its project, whose index no longer has it. */
+  void discardContentHash() {
+    contentHash = null;
+  }
+
+  /**
+   * Returns the elements this element refers to, other than its contents, such as the type of a
+   * property or the model element of a view. These may be stubs of references not yet resolved.
+   */
+  public List<OntoumlElement> getReferences() {
+    return List.of();
   }
 
   public List<OntoumlElement> getContents(Predicate<OntoumlElement> filter) {
@@ -57,19 +279,72 @@ public abstract class OntoumlElement extends Element {
 
   public abstract List<OntoumlElement> getContents();
 
+  /**
+   * Returns the number of direct contents of the element. Together with {@link #getContent(int)},
+   * it lets traversals read the children of an element without copying them as {@link
+   * #getContents()} does, so containers should override both.
+   */
+  protected int getContentCount() {
+    return getContents().size();
+  }
+
+  /** Returns the direct content at the given position, which may be null. */
+  protected OntoumlElement getContent(int index) {
+    return getContents().get(index);
+  }
+
   public List<OntoumlElement> getAllContents() {
-    List<OntoumlElement> children = getContents();
+    List<OntoumlElement> contents = new ArrayList<>();
+    visitAllContents(contents::add);
+    return contents;
+  }
+
+  public <T> List<T> getAllContentsByType(java.lang.Class<T> type) {
+    List<T> contents = new ArrayList<>();
+    visitAllContents(type, contents::add);
+    return contents;
+  }
 
-    if (children.isEmpty()) return children;
+  /**
+   * Visits all contents of the element depth-first, each element before its own contents. The
+   * traversal stops as soon as the visitor returns false.
+   *
+   * @return false if the traversal was stopped by the visitor.
+   */
+  public boolean visitAllContents(Predicate<? super OntoumlElement> visitor) {
+    ContentSpliterator traversal = new ContentSpliterator(this);
+
+    for (OntoumlElement element = traversal.next(); element != null; element = traversal.next())
+      if (!visitor.test(element)) return false;
+
+    return true;
+  }
+
+  /** Visits the contents of the element that are instances of the type. */
+  public <T> boolean visitAllContents(java.lang.Class<T> type, Predicate<? super T> visitor) {
+    return visitAllContents(e -> !type.isInstance(e) || visitor.test(type.cast(e)));
+  }
+
+  public Stream<OntoumlElement> streamAllContents() {
+    return StreamSupport.stream(new ContentSpliterator(this), false);
+  }
+
+  public <T> Stream<T> streamAllContents(java.lang.Class<T> type) {
+    return streamAllContents().filter(type::isInstance).map(type::cast);
+  }
 
-    List<OntoumlElement> childrenContents =
-        children.stream()
-            .flatMap(child -> child.getAllContents().stream())
-            .collect(Collectors.toList());
+  private static final class CachedRoot {
+    private final OntoumlElement root;
+    private final long epoch;
 
-    childrenContents.addAll(children);
+    private CachedRoot(OntoumlElement root, long epoch) {
+      this.root = root;
+      this.epoch = epoch;
+    }
 
-    return childrenContents;
+    private boolean isValid() {
+      return root.container == null && root.containmentEpoch == epoch;
+    }
   }
 
   @Override
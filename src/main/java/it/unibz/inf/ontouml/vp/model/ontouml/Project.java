@@ -3,12 +3,24 @@ package it.unibz.inf.ontouml.vp.model.ontouml;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.ProjectDeserializer;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.ClassStereotype;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.PropertyStereotype;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.RelationStereotype;
 import it.unibz.inf.ontouml.vp.model.ontouml.serialization.ProjectSerializer;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @JsonSerialize(using = ProjectSerializer.class)
 @JsonDeserialize(using = ProjectDeserializer.class)
@@ -17,14 +29,33 @@ public class Project extends OntoumlElement
   private Package model;
   private List<Diagram> diagrams = new ArrayList<>();
 
+  /**
+   * Index of all elements contained in the project by id. It is kept up to date as elements are
+   * attached to or detached from the project, so it never requires a traversal of the contents.
+   */
+  private final Map<String, OntoumlElement> elementIndex = new HashMap<>();
+
+  /** Elements sharing an id with some other element of the project, grouped by that id. */
+  private final Map<String, Set<OntoumlElement>> duplicateIndex = new HashMap<>();
+
+  /**
+   * Index of all elements contained in the project by concrete type. Unlike the indexes of
+   * packages, it holds their contents too, and it is kept up to date along with the id index.
+   */
+  private final ElementTypeIndex contentIndex = new ElementTypeIndex();
+
+  /** Index of the generalizations of the project by their general and specific classifiers. */
+  private final GeneralizationGraph generalizationGraph = new GeneralizationGraph();
+
+  /** Index of the elements with cached content hashes by the elements they refer to. */
+  private final HashReferrerIndex hashReferrerIndex = new HashReferrerIndex();
+
   public Project(String id, MultilingualText name) {
-    super(null, id, name);
-    setProject(this);
+    super(id, name);
   }
 
   public Project(String id, String name) {
-    super(null, id, new MultilingualText(name));
-    setProject(this);
+    super(id, new MultilingualText(name));
   }
 
   public Project(MultilingualText name) {
@@ -59,6 +90,8 @@ public class Project extends OntoumlElement
   }
 
   public void setModel(Package model) {
+    if (this.model != null && this.model != model) this.model.setContainer(null);
+
     this.model = model;
 
     if (model != null) model.setContainer(this);
@@ -85,7 +118,12 @@ public class Project extends OntoumlElement
     diagrams.forEach(d -> addDiagram(d));
   }
 
+  public void removeDiagram(Diagram diagram) {
+    if (diagrams.remove(diagram)) diagram.setContainer(null);
+  }
+
   public void setDiagrams(List<Diagram> diagrams) {
+    this.diagrams.forEach(d -> d.setContainer(null));
     this.diagrams.clear();
 
     if (diagrams == null) return;
@@ -107,4 +145,148 @@ public class Project extends OntoumlElement
 
     return contents;
   }
+
+  @Override
+  protected int getContentCount() {
+    return diagrams.size() + (model != null ? 1 : 0);
+  }
+
+  @Override
+  protected OntoumlElement getContent(int index) {
+    return index < diagrams.size() ? diagrams.get(index) : model;
+  }
+
+  /** Returns a read-only list of the contents of the project that are instances of the type. */
+  @Override
+  public <T> List<T> getAllContentsByType(Class<T> type) {
+    return contentIndex.get(type);
+  }
+
+  @Override
+  public List<it.unibz.inf.ontouml.vp.model.ontouml.model.Class> getClassesByStereotype(
+      ClassStereotype stereotype) {
+    if (stereotype == null) throw new NullPointerException("Input stereotype cannot be null!");
+
+    return contentIndex.getClassesByStereotype(stereotype);
+  }
+
+  @Override
+  public List<Relation> getRelationsByStereotype(RelationStereotype stereotype) {
+    if (stereotype == null) throw new NullPointerException("Input stereotype cannot be null!");
+
+    return contentIndex.getRelationsByStereotype(stereotype);
+  }
+
+  @Override
+  public List<Property> getAttributesByStereotype(PropertyStereotype stereotype) {
+    if (stereotype == null) throw new NullPointerException("Input stereotype cannot be null!");
+
+    return contentIndex.getPropertiesByStereotype(stereotype).stream()
+        .filter(Property::isAttribute)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public <T extends OntoumlElement> Optional<T> getElementById(String id, Class<T> type) {
+    Set<OntoumlElement> duplicates = duplicateIndex.get(id);
+
+    if (duplicates != null) {
+      List<OntoumlElement> elements =
+          duplicates.stream().filter(type::isInstance).collect(Collectors.toList());
+
+      if (elements.size() > 1)
+        throw new IllegalStateException(
+            "There is more than one instance of " + type.getName() + " with the same id!");
+
+      return elements.stream().findFirst().map(type::cast);
+    }
+
+    OntoumlElement element = elementIndex.get(id);
+    return type.isInstance(element) ? Optional.of(type.cast(element)) : Optional.empty();
+  }
+
+  /** Returns a read-only view of the id index of the project. */
+  @Override
+  public Map<String, OntoumlElement> getElementMap() throws IllegalStateException {
+    if (hasDuplicateIds()) throw new IllegalStateException("Duplicate ids!");
+
+    return Collections.unmodifiableMap(elementIndex);
+  }
+
+  /**
+   * Returns a read-only view of the id index of the project that tolerates duplicate ids, mapping
+   * each of them to the first element indexed with it.
+   */
+  Map<String, OntoumlElement> getFirstElementMap() {
+    return Collections.unmodifiableMap(elementIndex);
+  }
+
+  public GeneralizationGraph getGeneralizationGraph() {
+    return generalizationGraph;
+  }
+
+  public boolean hasDuplicateIds() {
+    return !duplicateIndex.isEmpty();
+  }
+
+  public Set<String> getDuplicateIds() {
+    return Set.copyOf(duplicateIndex.keySet());
+  }
+
+  void indexElement(OntoumlElement element) {
+    if (element == this) return;
+
+    if (element instanceof Generalization) generalizationGraph.add((Generalization) element);
+
+    contentIndex.add(element);
+
+    String id = element.getId();
+    OntoumlElement indexed = elementIndex.putIfAbsent(id, element);
+
+    if (indexed == null || indexed == element) return;
+
+    Set<OntoumlElement> duplicates = duplicateIndex.computeIfAbsent(id, k -> new LinkedHashSet<>());
+    duplicates.add(indexed);
+    duplicates.add(element);
+  }
+
+  void unindexElement(OntoumlElement element) {
+    if (element instanceof Generalization) generalizationGraph.remove((Generalization) element);
+
+    contentIndex.remove(element);
+
+    // Hashes that include the id of the element could no longer be discarded when it changes
+    hashReferrerIndex.remove(element);
+    hashReferrerIndex.removeReferrers(element).forEach(OntoumlElement::invalidateContentHash);
+    element.discardContentHash();
+
+    unindexElement(element.getId(), element);
+  }
+
+  ElementTypeIndex getElementTypeIndex() {
+    return contentIndex;
+  }
+
+  HashReferrerIndex getHashReferrerIndex() {
+    return hashReferrerIndex;
+  }
+
+  void reindexElement(String previousId, OntoumlElement element) {
+    unindexElement(previousId, element);
+    indexElement(element);
+  }
+
+  private void unindexElement(String id, OntoumlElement element) {
+    Set<OntoumlElement> duplicates = duplicateIndex.get(id);
+
+    if (duplicates == null) {
+      elementIndex.remove(id, element);
+      return;
+    }
+
+    duplicates.remove(element);
+    elementIndex.put(id, duplicates.iterator().next());
+
+    if (duplicates.size() == 1) duplicateIndex.remove(id);
+  }
 }
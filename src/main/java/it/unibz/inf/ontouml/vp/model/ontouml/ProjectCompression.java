@@ -0,0 +1,75 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressions of project files, selected by the extension that follows the extension of their
+ * {@link ProjectFormat} (e.g., "model.json.gz"). Streams are compressed and decompressed while
+ * projects are written and read, so files are never fully held in memory.
+ */
+public enum ProjectCompression {
+  NONE("") {
+    @Override
+    public InputStream decompress(InputStream in) {
+      return in;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) {
+      return out;
+    }
+  },
+  GZIP(".gz") {
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+      return new GZIPInputStream(in, BUFFER_SIZE);
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) throws IOException {
+      return new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+  };
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final String extension;
+
+  ProjectCompression(String extension) {
+    this.extension = extension;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  /** Wraps a stream of compressed data into a stream of decompressed data. */
+  public abstract InputStream decompress(InputStream in) throws IOException;
+
+  /**
+   * Wraps a stream into one that compresses the data written to it. The compressed data is only
+   * complete once the returned stream is closed, which also closes the wrapped stream.
+   */
+  public abstract OutputStream compress(OutputStream out) throws IOException;
+
+  /** Returns the compression matching the extension of a file, which defaults to none. */
+  public static ProjectCompression fromFileName(String fileName) {
+    return GZIP.matches(fileName) ? GZIP : NONE;
+  }
+
+  /** Returns the name of a file without the extension of its compression. */
+  public static String removeExtension(String fileName) {
+    if (fileName == null) return null;
+
+    String extension = fromFileName(fileName).getExtension();
+    return fileName.substring(0, fileName.length() - extension.length());
+  }
+
+  private boolean matches(String fileName) {
+    return fileName != null && fileName.toLowerCase().endsWith(extension);
+  }
+}
@@ -0,0 +1,370 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializationOptions;
+import it.unibz.inf.ontouml.vp.model.ontouml.serialization.ElementStreamSerializer;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Shape;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes that turn a baseline version of a project into its current version, as found by {@link
+ * ProjectDiff}. Deltas are written as NDJSON: a header line holding the content hashes of both
+ * versions, the ids of the removed elements and the new order of the contents of containers whose
+ * contents changed, followed by the added, moved and modified elements as lines of an element
+ * stream, i.e., flat elements that start with a reference to their container.
+ *
+ * <p>Deltas are applied by id, so they can be applied to any version of a project. Elements that
+ * do not exist in it are ignored when removed, and left out when their container does not exist.
+ */
+public class ProjectDelta {
+
+  public static final String EXTENSION = ".delta.ndjson";
+
+  private static final String TYPE = "ProjectDelta";
+  private static final ObjectMapper mapper =
+      new ObjectMapper(new JsonFactory().setRootValueSeparator("\n"))
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  private final String baselineHash;
+  private final String currentHash;
+  private final List<String> removedIds;
+  private final Map<String, List<String>> contentIds;
+  private final List<ObjectNode> elements;
+
+  private ProjectDelta(
+      String baselineHash,
+      String currentHash,
+      List<String> removedIds,
+      Map<String, List<String>> contentIds,
+      List<ObjectNode> elements) {
+    this.baselineHash = baselineHash;
+    this.currentHash = currentHash;
+    this.removedIds = removedIds;
+    this.contentIds = contentIds;
+    this.elements = elements;
+  }
+
+  /**
+   * Computes the changes from a baseline to the current version of a project. If there is no
+   * baseline, every element of the current version is added.
+   */
+  public static ProjectDelta between(Project baseline, Project current) {
+    Project previous = baseline != null ? baseline : new Project();
+    ProjectDiff diff = ProjectDiff.compare(previous, current);
+
+    List<String> removedIds = new ArrayList<>();
+    diff.getRemovedElements().forEach(element -> removedIds.add(element.getId()));
+
+    List<ObjectNode> elements = new ArrayList<>();
+    elements.add(toLine(current));
+
+    for (OntoumlElement element : diff.getUpdatedElements()) {
+      if (element != current) elements.add(toLine(element));
+    }
+
+    return new ProjectDelta(
+        baseline != null ? baseline.getContentHash() : null,
+        current.getContentHash(),
+        removedIds,
+        getReorderedContents(previous, current),
+        elements);
+  }
+
+  /** Returns whether the name of a file ends with the extension of deltas, possibly compressed. */
+  public static boolean matches(String fileName) {
+    String name = ProjectCompression.removeExtension(fileName);
+    return name != null && name.toLowerCase().endsWith(EXTENSION);
+  }
+
+  /** Returns the content hash of the baseline, or null if the delta adds a whole project. */
+  public String getBaselineHash() {
+    return baselineHash;
+  }
+
+  /** Returns the content hash of the project the delta was computed from. */
+  public String getCurrentHash() {
+    return currentHash;
+  }
+
+  public List<String> getRemovedIds() {
+    return Collections.unmodifiableList(removedIds);
+  }
+
+  /** Returns the number of element lines, which always include the line of the project. */
+  public int getElementCount() {
+    return elements.size();
+  }
+
+  /** Returns whether the delta only holds the unchanged fields of the project. */
+  public boolean isEmpty() {
+    return currentHash.equals(baselineHash);
+  }
+
+  /** Writes the delta into an output stream, which is flushed but not closed. */
+  public void write(OutputStream out) throws IOException {
+    try (JsonGenerator jsonGen = mapper.getFactory().createGenerator(out)) {
+      jsonGen.writeStartObject();
+      jsonGen.writeStringField("type", TYPE);
+      jsonGen.writeStringField("baseline", baselineHash);
+      jsonGen.writeStringField("current", currentHash);
+      jsonGen.writeObjectField("removed", removedIds);
+      jsonGen.writeObjectField("contents", contentIds);
+      jsonGen.writeEndObject();
+
+      for (ObjectNode element : elements) mapper.writeTree(jsonGen, element);
+
+      jsonGen.writeRaw('\n');
+    }
+  }
+
+  /** Reads a delta written by {@link #write}. */
+  public static ProjectDelta read(InputStream in) throws IOException {
+    try (MappingIterator<ObjectNode> lines = mapper.readerFor(ObjectNode.class).readValues(in)) {
+      ObjectNode header = lines.hasNextValue() ? lines.nextValue() : null;
+
+      if (header == null || !TYPE.equals(header.path("type").asText()))
+        throw new JsonParseException(lines.getParser(), "Cannot deserialize delta! No header.");
+
+      List<String> removedIds = new ArrayList<>();
+      header.path("removed").forEach(id -> removedIds.add(id.asText()));
+
+      Map<String, List<String>> contentIds = new LinkedHashMap<>();
+      header
+          .path("contents")
+          .fields()
+          .forEachRemaining(field -> contentIds.put(field.getKey(), toStrings(field.getValue())));
+
+      List<ObjectNode> elements = new ArrayList<>();
+      while (lines.hasNextValue()) elements.add(lines.nextValue());
+
+      if (elements.isEmpty() || !elements.get(0).path("container").isNull())
+        throw new JsonParseException(
+            lines.getParser(), "Cannot deserialize delta! Missing project line.");
+
+      return new ProjectDelta(
+          header.path("baseline").textValue(),
+          header.path("current").textValue(),
+          removedIds,
+          contentIds,
+          elements);
+    }
+  }
+
+  /**
+   * Applies the delta to a version of a project, which is left untouched, and returns the result
+   * as a new project. The result has the id and the fields of the project the delta was computed
+   * from; if the delta is applied to its baseline, the result has the same content hash as that
+   * project.
+   */
+  public Project applyTo(Project project) throws IOException {
+    return applyTo(project, new DeserializationOptions());
+  }
+
+  /**
+   * Applies the delta to a version of a project and reads the result with the given options, e.g.,
+   * to report unresolved references instead of failing.
+   */
+  public Project applyTo(Project project, DeserializationOptions options) throws IOException {
+    ObjectNode projectLine = elements.get(0);
+    String rootId = projectLine.path("id").asText();
+    Map<String, ObjectNode> lines = new HashMap<>();
+    Map<String, List<String>> contents = new HashMap<>();
+
+    Iterator<OntoumlElement> baseElements = project.streamAllContents().iterator();
+
+    while (baseElements.hasNext()) {
+      OntoumlElement element = baseElements.next();
+
+      if (!(element instanceof Shape)) putLine(toLine(element), rootId, lines, contents);
+    }
+
+    for (String id : removedIds) lines.remove(id);
+
+    for (ObjectNode line : elements.subList(1, elements.size()))
+      putLine(line.deepCopy(), rootId, lines, contents);
+
+    contentIds.forEach((id, orderedIds) -> reorder(contents, id, orderedIds));
+
+    try (TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+      mapper.writeTree(buffer, projectLine);
+      writeContents(rootId, projectLine, lines, contents, buffer);
+
+      return options.applyTo(ProjectFormat.NDJSON.getReader()).readValue(buffer.asParser());
+    }
+  }
+
+  /** Returns the element as a line of an element stream, with the reference to its container. */
+  private static ObjectNode toLine(OntoumlElement element) {
+    try (TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+      ElementStreamSerializer.writeFlatElement(
+          element, buffer, mapper.getSerializerProviderInstance());
+
+      ObjectNode line = mapper.createObjectNode();
+      OntoumlElement container = element.getContainer().orElse(null);
+      line.set("container", container != null ? toReference(container) : line.nullNode());
+      line.setAll((ObjectNode) mapper.readTree(buffer.asParser()));
+      return line;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static ObjectNode toReference(OntoumlElement element) {
+    return mapper.createObjectNode().put("id", element.getId()).put("type", element.getType());
+  }
+
+  /**
+   * Adds or replaces the line of an element, appending it to the contents of its container unless
+   * it is already there. Elements contained by a project are contained by the root of the result.
+   */
+  private static void putLine(
+      ObjectNode line,
+      String rootId,
+      Map<String, ObjectNode> lines,
+      Map<String, List<String>> contents) {
+    String id = line.path("id").asText();
+    ObjectNode previousLine = lines.put(id, line);
+    String containerId = getContainerId(line, rootId);
+
+    if (previousLine != null) {
+      String previousContainerId = getContainerId(previousLine, rootId);
+
+      if (previousContainerId.equals(containerId)) return;
+
+      List<String> siblings = contents.get(previousContainerId);
+      if (siblings != null) siblings.remove(id);
+    }
+
+    contents.computeIfAbsent(containerId, k -> new ArrayList<>()).add(id);
+  }
+
+  private static String getContainerId(ObjectNode line, String rootId) {
+    JsonNode container = line.path("container");
+    return "Project".equals(container.path("type").asText())
+        ? rootId
+        : container.path("id").asText();
+  }
+
+  /**
+   * Puts the contents of a container in the order of the delta, followed by any other contents
+   * that the delta did not know about.
+   */
+  private static void reorder(
+      Map<String, List<String>> contents, String containerId, List<String> orderedIds) {
+    List<String> unordered = contents.get(containerId);
+
+    if (unordered == null) return;
+
+    Set<String> present = new HashSet<>(unordered);
+    Set<String> reordered = new LinkedHashSet<>();
+    orderedIds.stream().filter(present::contains).forEach(reordered::add);
+    reordered.addAll(unordered);
+
+    contents.put(containerId, new ArrayList<>(reordered));
+  }
+
+  /** Writes the lines of the contents of the project depth-first, so containers come first. */
+  private static void writeContents(
+      String rootId,
+      ObjectNode projectLine,
+      Map<String, ObjectNode> lines,
+      Map<String, List<String>> contents,
+      TokenBuffer buffer)
+      throws IOException {
+    ObjectNode rootReference =
+        mapper.createObjectNode().put("id", rootId).put("type", projectLine.path("type").asText());
+    Deque<String> stack = new ArrayDeque<>();
+    pushContents(rootId, contents, stack);
+
+    while (!stack.isEmpty()) {
+      String id = stack.pop();
+      ObjectNode line = lines.get(id);
+
+      if (line == null) continue;
+
+      if (getContainerId(line, rootId).equals(rootId)) line.set("container", rootReference);
+
+      mapper.writeTree(buffer, line);
+      pushContents(id, contents, stack);
+    }
+  }
+
+  private static void pushContents(
+      String containerId, Map<String, List<String>> contents, Deque<String> stack) {
+    List<String> ids = contents.getOrDefault(containerId, List.of());
+
+    for (int i = ids.size() - 1; i >= 0; i--) stack.push(ids.get(i));
+  }
+
+  /**
+   * Returns the ids of the contents of the containers whose contents were added, removed or
+   * reordered, as found in the current version, so applying the delta keeps their order. Like in
+   * {@link ProjectDiff}, subtrees with the same content hash in both versions are skipped.
+   */
+  private static Map<String, List<String>> getReorderedContents(Project previous, Project current) {
+    Map<String, OntoumlElement> previousElements = previous.getFirstElementMap();
+    Map<String, List<String>> contentIds = new LinkedHashMap<>();
+    Deque<OntoumlElement> stack = new ArrayDeque<>();
+    stack.push(current);
+
+    while (!stack.isEmpty()) {
+      OntoumlElement element = stack.pop();
+      OntoumlElement match = element == current ? previous : previousElements.get(element.getId());
+
+      if (match != null && match.getContentHash().equals(element.getContentHash())) continue;
+
+      List<String> ids = getContentIds(element);
+
+      if (match != null && !ids.equals(getContentIds(match))) contentIds.put(element.getId(), ids);
+
+      for (int i = 0; i < element.getContentCount(); i++) {
+        OntoumlElement content = element.getContent(i);
+
+        if (content != null && !(content instanceof Shape)) stack.push(content);
+      }
+    }
+
+    return contentIds;
+  }
+
+  private static List<String> getContentIds(OntoumlElement container) {
+    List<String> ids = new ArrayList<>();
+
+    for (int i = 0; i < container.getContentCount(); i++) {
+      OntoumlElement content = container.getContent(i);
+
+      if (content != null && !(content instanceof Shape)) ids.add(content.getId());
+    }
+
+    return ids;
+  }
+
+  private static List<String> toStrings(JsonNode array) {
+    List<String> strings = new ArrayList<>();
+    if (array instanceof ArrayNode) array.forEach(value -> strings.add(value.asText()));
+    return strings;
+  }
+}
@@ -0,0 +1,197 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import it.unibz.inf.ontouml.vp.model.ontouml.serialization.ElementStreamSerializer;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Shape;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Structural differences between two versions of a project, matching elements by id. Elements of
+ * the current version without a match are added, elements of the previous version without a match
+ * are removed, and matched elements may have been moved to a different container or had their own
+ * fields modified.
+ *
+ * <p>Both versions are walked from their roots, and the subtrees of matched elements with equal
+ * {@link OntoumlElement#getContentHash() content hashes} are skipped, as they hold the same
+ * elements with the same fields. As hashes are cached, comparing a project with a slightly
+ * different version of it only visits the paths from the root to the changes. Shapes are compared
+ * as fields of their views.
+ */
+public class ProjectDiff {
+
+  private static final ObjectMapper mapper = new ObjectMapper();
+
+  private final List<OntoumlElement> added = new ArrayList<>();
+  private final List<OntoumlElement> removed = new ArrayList<>();
+  private final List<ElementDiff> changed = new ArrayList<>();
+  private final List<OntoumlElement> updated = new ArrayList<>();
+
+  private ProjectDiff() {}
+
+  /**
+   * Compares two versions of a project. Their roots are matched whatever their ids, and elements
+   * sharing an id with another one are matched as the first of them.
+   */
+  public static ProjectDiff compare(Project previous, Project current) {
+    ProjectDiff diff = new ProjectDiff();
+    diff.findAddedAndChanged(previous, current);
+    diff.findRemoved(previous, current);
+    return diff;
+  }
+
+  /** Returns the elements of the current version whose ids are not in the previous one. */
+  public List<OntoumlElement> getAddedElements() {
+    return Collections.unmodifiableList(added);
+  }
+
+  /** Returns the elements of the previous version whose ids are not in the current one. */
+  public List<OntoumlElement> getRemovedElements() {
+    return Collections.unmodifiableList(removed);
+  }
+
+  /** Returns the differences of the matched elements that were moved or modified. */
+  public List<ElementDiff> getChangedElements() {
+    return Collections.unmodifiableList(changed);
+  }
+
+  /**
+   * Returns the added elements and the current versions of the changed ones, in the order of the
+   * current project, so containers precede their contents.
+   */
+  public List<OntoumlElement> getUpdatedElements() {
+    return Collections.unmodifiableList(updated);
+  }
+
+  public List<ElementDiff> getMovedElements() {
+    List<ElementDiff> moved = new ArrayList<>();
+    changed.stream().filter(ElementDiff::isMoved).forEach(moved::add);
+    return moved;
+  }
+
+  public List<ElementDiff> getModifiedElements() {
+    List<ElementDiff> modified = new ArrayList<>();
+    changed.stream().filter(ElementDiff::isModified).forEach(modified::add);
+    return modified;
+  }
+
+  public boolean isEmpty() {
+    return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+  }
+
+  private void findAddedAndChanged(Project previous, Project current) {
+    Map<String, OntoumlElement> previousElements = previous.getFirstElementMap();
+    Deque<OntoumlElement> stack = new ArrayDeque<>();
+    stack.push(current);
+
+    while (!stack.isEmpty()) {
+      OntoumlElement element = stack.pop();
+      OntoumlElement match = element == current ? previous : previousElements.get(element.getId());
+
+      if (match == null) {
+        added.add(element);
+        updated.add(element);
+        pushContents(element, stack);
+        continue;
+      }
+
+      boolean moved = element != current && !haveSameContainer(match, element);
+
+      if (match.getContentHash().equals(element.getContentHash())) {
+        if (moved) addChanged(new ElementDiff(match, element, true, List.of()));
+        continue;
+      }
+
+      List<FieldChange> fieldChanges = compareFields(match, element);
+
+      if (moved || !fieldChanges.isEmpty())
+        addChanged(new ElementDiff(match, element, moved, fieldChanges));
+
+      pushContents(element, stack);
+    }
+  }
+
+  private void addChanged(ElementDiff elementDiff) {
+    changed.add(elementDiff);
+    updated.add(elementDiff.getCurrent());
+  }
+
+  private void findRemoved(Project previous, Project current) {
+    Map<String, OntoumlElement> currentElements = current.getFirstElementMap();
+    Deque<OntoumlElement> stack = new ArrayDeque<>();
+    stack.push(previous);
+
+    while (!stack.isEmpty()) {
+      OntoumlElement element = stack.pop();
+      OntoumlElement match = element == previous ? current : currentElements.get(element.getId());
+
+      if (match == null) removed.add(element);
+      else if (match.getContentHash().equals(element.getContentHash())) continue;
+
+      pushContents(element, stack);
+    }
+  }
+
+  /** Pushes the contents of an element in reverse, so they are popped in order. */
+  private static void pushContents(OntoumlElement element, Deque<OntoumlElement> stack) {
+    for (int i = element.getContentCount() - 1; i >= 0; i--) {
+      OntoumlElement content = element.getContent(i);
+
+      if (content != null && !(content instanceof Shape)) stack.push(content);
+    }
+  }
+
+  private static boolean haveSameContainer(OntoumlElement previous, OntoumlElement current) {
+    OntoumlElement previousContainer = previous.getContainer().orElse(null);
+    OntoumlElement currentContainer = current.getContainer().orElse(null);
+
+    // Elements directly under the roots keep their container, whatever the ids of the roots
+    if (previousContainer instanceof Project) return currentContainer instanceof Project;
+
+    return previousContainer != null && currentContainer != null
+        ? previousContainer.getId().equals(currentContainer.getId())
+        : previousContainer == currentContainer;
+  }
+
+  private static List<FieldChange> compareFields(OntoumlElement previous, OntoumlElement current) {
+    JsonNode previousFields = toTree(previous);
+    JsonNode currentFields = toTree(current);
+    Set<String> fieldNames = new LinkedHashSet<>();
+    previousFields.fieldNames().forEachRemaining(fieldNames::add);
+    currentFields.fieldNames().forEachRemaining(fieldNames::add);
+
+    List<FieldChange> changes = new ArrayList<>();
+
+    for (String fieldName : fieldNames) {
+      JsonNode previousValue = previousFields.get(fieldName);
+      JsonNode currentValue = currentFields.get(fieldName);
+
+      if (!Objects.equals(previousValue, currentValue))
+        changes.add(new FieldChange(fieldName, previousValue, currentValue));
+    }
+
+    return changes;
+  }
+
+  /** Returns the fields of an element as written in element streams, without its contents. */
+  private static JsonNode toTree(OntoumlElement element) {
+    try (TokenBuffer buffer = new TokenBuffer(mapper, false)) {
+      ElementStreamSerializer.writeFlatElement(
+          element, buffer, mapper.getSerializerProviderInstance());
+      return mapper.readTree(buffer.asParser());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
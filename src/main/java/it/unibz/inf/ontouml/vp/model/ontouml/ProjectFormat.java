@@ -0,0 +1,161 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializationOptions;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.ElementStreamDeserializer;
+import it.unibz.inf.ontouml.vp.model.ontouml.serialization.ElementStreamSerializer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Encodings of OntoUML projects, selected by file extension. All formats share the serializers and
+ * deserializers of the model, so they encode the same schema; Smile is a binary encoding of JSON
+ * that is much smaller and faster to write, as repeated field names and type names are written
+ * once. NDJSON writes the same elements flat, one per line, with their containers as references,
+ * so large exports can be split, searched and processed line by line.
+ */
+public enum ProjectFormat {
+  JSON(".json", JsonFactory::new),
+  // A method reference would resolve SmileFactories, and load Smile, when the enum is initialized
+  SMILE(".smile", () -> SmileFactories.create()),
+  NDJSON(".ndjson", () -> new JsonFactory().setRootValueSeparator("\n"), ElementStream.class);
+
+  private final String extension;
+  private final Supplier<JsonFactory> factory;
+  private final java.lang.Class<?> projectMixIn;
+
+  /** Writer and reader of the format, created on first use. */
+  private volatile Codec codec;
+
+  ProjectFormat(String extension, Supplier<JsonFactory> factory) {
+    this(extension, factory, null);
+  }
+
+  /**
+   * @param factory creates the factory of the format once it is first used, so formats whose
+   *     libraries are missing only fail when they are used.
+   * @param projectMixIn class whose annotations replace those of {@link Project}, so the format can
+   *     encode projects differently while elements keep their serializers and deserializers.
+   */
+  ProjectFormat(String extension, Supplier<JsonFactory> factory, java.lang.Class<?> projectMixIn) {
+    this.extension = extension;
+    this.factory = factory;
+    this.projectMixIn = projectMixIn;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+
+  /** Returns the shared writer of projects in this format; output is compact. */
+  public ObjectWriter getWriter() {
+    return getCodec().writer;
+  }
+
+  /** Writes a project into an output stream, which is flushed but not closed. */
+  public void write(Project project, OutputStream out) throws IOException {
+    getWriter().writeValue(out, project);
+  }
+
+  public ObjectReader getReader() {
+    return getCodec().reader;
+  }
+
+  public Project read(InputStream in) throws IOException {
+    return getReader().readValue(in);
+  }
+
+  /** Reads the part of a project selected by the options. */
+  public Project read(InputStream in, DeserializationOptions options) throws IOException {
+    return options.applyTo(getReader()).readValue(in);
+  }
+
+  /**
+   * Returns whether the name of a file ends with the extension of this format, possibly followed by
+   * the extension of a {@link ProjectCompression}.
+   */
+  public boolean matches(String fileName) {
+    String name = ProjectCompression.removeExtension(fileName);
+    return name != null && name.toLowerCase().endsWith(extension);
+  }
+
+  private Codec getCodec() {
+    Codec result = codec;
+
+    if (result != null) return result;
+
+    synchronized (this) {
+      if (codec == null) codec = new Codec(factory.get(), projectMixIn);
+
+      return codec;
+    }
+  }
+
+  private String withCompression(ProjectCompression compression) {
+    return extension + compression.getExtension();
+  }
+
+  /** Returns the format matching the extension of a file, which defaults to JSON. */
+  public static ProjectFormat fromFileName(String fileName) {
+    return Arrays.stream(values()).filter(f -> f.matches(fileName)).findFirst().orElse(JSON);
+  }
+
+  /** Returns whether the name of a file ends with the extension of any format. */
+  public static boolean isSupported(String fileName) {
+    return Arrays.stream(values()).anyMatch(f -> f.matches(fileName));
+  }
+
+  /** Returns the extensions of every format, alone and followed by those of compressions. */
+  public static List<String> getExtensions() {
+    return Arrays.stream(values())
+        .flatMap(f -> Arrays.stream(ProjectCompression.values()).map(f::withCompression))
+        .collect(Collectors.toList());
+  }
+
+  private static class Codec {
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    private Codec(JsonFactory factory, java.lang.Class<?> projectMixIn) {
+      // Nested values are written through the mapper, so it must not flush after each one
+      ObjectMapper mapper =
+          new ObjectMapper(factory).disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+      if (projectMixIn != null) mapper.addMixIn(Project.class, projectMixIn);
+
+      writer = mapper.writerFor(Project.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      reader = mapper.readerFor(Project.class);
+    }
+  }
+
+  /**
+   * Creates Smile factories. Smile classes are only referred to here, so they are not loaded until
+   * the Smile format is used, and other formats work without the Smile library.
+   */
+  private static class SmileFactories {
+    private static JsonFactory create() {
+      return SmileFactory.builder()
+          .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+          .build();
+    }
+  }
+
+  /** Encodes projects as streams of flat elements, one per line, instead of nested documents. */
+  @JsonSerialize(using = ElementStreamSerializer.class)
+  @JsonDeserialize(using = ElementStreamDeserializer.class)
+  private abstract static class ElementStream {}
+}
@@ -3,48 +3,61 @@ package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.*;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Literal;
 import java.io.IOException;
-import java.util.List;
 
 public class ClassDeserializer extends JsonDeserializer<Class> {
 
   @Override
   public Class deserialize(JsonParser parser, DeserializationContext context) throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     Class clazz = new Class();
 
-    ElementDeserializer.deserialize(clazz, root, codec);
-    ModelElementDeserializer.deserialize(clazz, root, codec);
-    DecoratableDeserializer.deserialize(clazz, root, codec);
-    ClassifierDeserializer.deserialize(clazz, root, codec);
+    deserializeFields(
+        parser,
+        fieldName -> {
+          switch (fieldName) {
+            case "isExtensional":
+              clazz.setExtensional(deserializeNullableBoolean(parser));
+              return true;
+            case "isPowertype":
+              clazz.setPowertype(deserializeNullableBoolean(parser));
+              return true;
+            case "order":
+              clazz.setOrder(deserializeOrder(parser));
+              return true;
+            case "restrictedTo":
+              clazz.setRestrictedTo(deserializeNullableStringArray(parser));
+              return true;
+            case "literals":
+              clazz.setLiterals(deserializeArray(parser, context, Literal.class));
+              return true;
+            default:
+              return ElementDeserializer.deserializeField(clazz, fieldName, parser, context)
+                  || ModelElementDeserializer.deserializeField(clazz, fieldName, parser, context)
+                  || DecoratableDeserializer.deserializeField(clazz, fieldName, parser, context)
+                  || ClassifierDeserializer.deserializeField(clazz, fieldName, parser, context);
+          }
+        });
 
-    Boolean isExtensional = deserializeNullableBooleanField(root, "isExtensional");
-    clazz.setExtensional(isExtensional);
+    return clazz;
+  }
 
-    Boolean isPowertype = deserializeNullableBooleanField(root, "isPowertype");
-    clazz.setPowertype(isPowertype);
+  /** Reads an order written as a number or as a string, as serialized, where "*" is orderless. */
+  private static Integer deserializeOrder(JsonParser parser) throws IOException {
+    if (parser.currentToken() != JsonToken.VALUE_STRING) return deserializeNullableInteger(parser);
 
-    Integer order = deserializeNullableIntegerField(root, "order");
-    clazz.setOrder(order);
+    String order = parser.getText();
 
-    String[] restrictedTo = deserializeNullableStringArrayField(root, "restrictedTo", codec);
-    if (restrictedTo != null) {
-      clazz.setRestrictedTo(restrictedTo);
-    }
+    if (Class.ORDERLESS_STRING.equals(order)) return Class.ORDERLESS;
 
-    List<Literal> literals = deserializeArrayField(root, "literals", Literal.class, codec);
-    if (literals != null) {
-      clazz.setLiterals(literals);
+    try {
+      return Integer.valueOf(order);
+    } catch (NumberFormatException e) {
+      return null;
     }
-
-    return clazz;
   }
 }
@@ -1,31 +1,37 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeBooleanField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeArray;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeBoolean;
 
-import com.fasterxml.jackson.core.ObjectCodec;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Classifier;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
 import java.io.IOException;
-import java.util.List;
 
 public class ClassifierDeserializer {
 
-  public static void deserialize(Classifier<?, ?> classifier, JsonNode root, ObjectCodec codec)
+  public static boolean deserializeField(
+      Classifier<?, ?> classifier,
+      String fieldName,
+      JsonParser parser,
+      DeserializationContext context)
       throws IOException {
 
-    boolean isAbstract = deserializeBooleanField(root, "isAbstract");
-    classifier.setAbstract(isAbstract);
-
-    boolean isDerived = deserializeBooleanField(root, "isDerived");
-    classifier.setDerived(isDerived);
-
-    JsonNode propertiesNode = root.get("properties");
-    if (propertiesNode != null && propertiesNode.isArray()) {
-      List<Property> properties =
-          propertiesNode.traverse(codec).readValueAs(new TypeReference<List<Property>>() {});
-      classifier.setProperties(properties);
+    switch (fieldName) {
+      case "isAbstract":
+        classifier.setAbstract(deserializeBoolean(parser));
+        return true;
+      case "isDerived":
+        classifier.setDerived(deserializeBoolean(parser));
+        return true;
+      case "properties":
+        if (parser.currentToken() == JsonToken.START_ARRAY)
+          classifier.setProperties(deserializeArray(parser, context, Property.class));
+        return true;
+      default:
+        return false;
     }
   }
 }
@@ -1,9 +1,9 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObjectField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObject;
 
-import com.fasterxml.jackson.core.ObjectCodec;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.*;
 import java.io.IOException;
@@ -11,31 +11,36 @@ import java.util.List;
 
 public class ConnectorViewDeserializer {
 
-  public static void deserialize(ConnectorView<?> view, JsonNode root, ObjectCodec codec)
-      throws IOException {
-
-    String id = root.get("id").asText();
-    view.setId(id);
-
-    Path path = deserializeObjectField(root, "shape", Path.class, codec);
-    view.setPath(path);
+  private static final List<Class<? extends OntoumlElement>> connectorEndTypes =
+      List.of(ClassView.class, RelationView.class);
 
-    ElementView<?, ?> source = deserializeConnectorEnd(root, "source", codec);
-    view.setSource(source);
+  public static boolean deserializeField(
+      ConnectorView<?> view, String fieldName, JsonParser parser, DeserializationContext context)
+      throws IOException {
 
-    ElementView<?, ?> target = deserializeConnectorEnd(root, "target", codec);
-    view.setTarget(target);
+    switch (fieldName) {
+      case "id":
+        view.setId(parser.getValueAsString());
+        return true;
+      case "shape":
+        view.setPath(deserializeObject(parser, context, Path.class));
+        return true;
+      case "source":
+        view.setSource(deserializeConnectorEnd(parser, context));
+        return true;
+      case "target":
+        view.setTarget(deserializeConnectorEnd(parser, context));
+        return true;
+      default:
+        return false;
+    }
   }
 
   private static ElementView<?, ?> deserializeConnectorEnd(
-      JsonNode root, String fieldName, ObjectCodec codec) throws IOException {
-
-    List<Class<? extends OntoumlElement>> allowedTypes =
-        List.of(ClassView.class, RelationView.class);
+      JsonParser parser, DeserializationContext context) throws IOException {
 
-    OntoumlElement source =
-        DeserializerUtils.deserializeObjectField(root, fieldName, allowedTypes, codec);
+    OntoumlElement end = deserializeObject(parser, context, connectorEndTypes, true);
 
-    return (source instanceof ElementView<?, ?>) ? (ElementView<?, ?>) source : null;
+    return (end instanceof ElementView<?, ?>) ? (ElementView<?, ?>) end : null;
   }
 }
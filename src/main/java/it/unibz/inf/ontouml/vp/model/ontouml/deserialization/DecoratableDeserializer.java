@@ -1,17 +1,24 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeNullableStringField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeNullableString;
 
-import com.fasterxml.jackson.core.ObjectCodec;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Decoratable;
 import java.io.IOException;
 
 public class DecoratableDeserializer {
 
-  public static void deserialize(Decoratable<?> decoratable, JsonNode root, ObjectCodec codec)
+  public static boolean deserializeField(
+      Decoratable<?> decoratable,
+      String fieldName,
+      JsonParser parser,
+      DeserializationContext context)
       throws IOException {
-    String stereotype = deserializeNullableStringField(root, "stereotype");
-    decoratable.setStereotype(stereotype);
+
+    if (!"stereotype".equals(fieldName)) return false;
+
+    decoratable.setStereotype(deserializeNullableString(parser));
+    return true;
   }
 }
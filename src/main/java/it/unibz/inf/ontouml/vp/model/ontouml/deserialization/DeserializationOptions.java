@@ -0,0 +1,107 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.util.Set;
+
+/**
+ * Options to deserialize only part of a project. Diagrams that are not needed are passed over at
+ * the token level without being materialized. Packages are selected once the whole model is read,
+ * as the elements they reference transitively may appear anywhere in it.
+ */
+public class DeserializationOptions {
+
+  private static final String CONTEXT_ATTRIBUTE = DeserializationOptions.class.getName();
+  private static final DeserializationOptions DEFAULT = new DeserializationOptions();
+
+  private boolean skipDiagrams;
+  private Set<String> packageIds;
+  private Set<String> diagramIds;
+  private DeserializationReport report;
+  private boolean parallel;
+
+  public DeserializationOptions() {}
+
+  public boolean isSkipDiagrams() {
+    return skipDiagrams;
+  }
+
+  /** Sets whether the diagrams of the project should be skipped altogether. */
+  public void setSkipDiagrams(boolean skipDiagrams) {
+    this.skipDiagrams = skipDiagrams;
+  }
+
+  public Set<String> getPackageIds() {
+    return packageIds;
+  }
+
+  /**
+   * Sets the ids of the packages to keep, along with their contents and the elements they reference
+   * transitively. Null keeps the whole model.
+   */
+  public void setPackageIds(Set<String> packageIds) {
+    this.packageIds = packageIds;
+  }
+
+  public Set<String> getDiagramIds() {
+    return diagramIds;
+  }
+
+  /** Sets the ids of the diagrams to deserialize. Null deserializes all of them. */
+  public void setDiagramIds(Set<String> diagramIds) {
+    this.diagramIds = diagramIds;
+  }
+
+  public DeserializationReport getReport() {
+    return report;
+  }
+
+  /**
+   * Sets the report where unresolved references are recorded, which makes deserialization
+   * tolerant: instead of failing on the first reference to a missing or mistyped element, every
+   * such reference is recorded and its stub is kept. Null makes deserialization strict.
+   */
+  public void setReport(DeserializationReport report) {
+    this.report = report;
+  }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * Sets whether diagrams and the top-level contents of the model should be deserialized in
+   * parallel on the common fork-join pool. Only strict deserialization runs in parallel.
+   */
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /** Returns a reader like the given one that applies these options. */
+  public ObjectReader applyTo(ObjectReader reader) {
+    return reader.withAttribute(CONTEXT_ATTRIBUTE, this);
+  }
+
+  /** Returns the options applied by the reader of the context, or options that keep everything. */
+  static DeserializationOptions get(DeserializationContext context) {
+    Object options = context.getAttribute(CONTEXT_ATTRIBUTE);
+    return options instanceof DeserializationOptions ? (DeserializationOptions) options : DEFAULT;
+  }
+
+  boolean shouldDeserializeDiagrams() {
+    return !skipDiagrams && (diagramIds == null || !diagramIds.isEmpty());
+  }
+
+  /** Returns whether diagrams may be skipped depending on their ids. */
+  boolean filtersDiagrams() {
+    return skipDiagrams || diagramIds != null;
+  }
+
+  boolean shouldDeserializeDiagram(String id) {
+    return !skipDiagrams && (diagramIds == null || diagramIds.contains(id));
+  }
+
+  boolean hasPackageSelection() {
+    return packageIds != null;
+  }
+}
@@ -0,0 +1,34 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Problems found while deserializing a project in tolerant mode. Instead of failing on the first
+ * dangling or mistyped reference, the deserializer records all of them here and leaves their
+ * reference stubs in place, so a broken file can be repaired from a single import attempt.
+ */
+public class DeserializationReport {
+
+  private final List<UnresolvedReference> unresolvedReferences = new ArrayList<>();
+
+  void addUnresolvedReference(UnresolvedReference reference) {
+    unresolvedReferences.add(reference);
+  }
+
+  public List<UnresolvedReference> getUnresolvedReferences() {
+    return Collections.unmodifiableList(unresolvedReferences);
+  }
+
+  public boolean hasProblems() {
+    return !unresolvedReferences.isEmpty();
+  }
+
+  /** Returns a description of each problem, in the order they were found. */
+  public List<String> getMessages() {
+    List<String> messages = new ArrayList<>();
+    unresolvedReferences.forEach(r -> messages.add(r.toString()));
+    return messages;
+  }
+}
@@ -1,8 +1,11 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
 import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.core.ObjectCodec;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.Project;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.*;
@@ -11,99 +14,73 @@ import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.*;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
+/**
+ * Helpers for deserializers that read their input as a stream of tokens. Values are read at the
+ * current token of the parser and leave it at the last token of the value, following the
+ * conventions of {@link com.fasterxml.jackson.databind.JsonDeserializer}.
+ */
 public class DeserializerUtils {
 
-  public static boolean deserializeBooleanField(JsonNode containerNode, String fieldname) {
-    JsonNode booleanNode = containerNode.get(fieldname);
-
-    if (booleanNode != null && booleanNode.isBoolean()) {
-      return booleanNode.asBoolean();
-    }
-
-    return false;
+  /** Deserializes the value of a field, returning false if the field is not supported. */
+  @FunctionalInterface
+  public interface FieldDeserializer {
+    boolean deserializeField(String fieldName) throws IOException;
   }
 
-  public static String deserializeNullableStringField(JsonNode containerNode, String fieldname) {
-    JsonNode stringNode = containerNode.get(fieldname);
+  /**
+   * Reads the fields of the object at the current token, which may be its START_OBJECT token or
+   * any token after it, up to its END_OBJECT token. The values of unsupported fields are skipped.
+   */
+  public static void deserializeFields(JsonParser parser, FieldDeserializer fieldDeserializer)
+      throws IOException {
+    JsonToken token = parser.currentToken();
 
-    if (stringNode != null && stringNode.isTextual()) {
-      return stringNode.asText();
-    }
+    if (token == JsonToken.START_OBJECT) token = parser.nextToken();
 
-    return null;
-  }
+    while (token == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      parser.nextToken();
 
-  public static String[] deserializeNullableStringArrayField(
-      JsonNode containerNode, String fieldname, ObjectCodec codec) throws IOException {
-    JsonNode arrayNode = containerNode.get(fieldname);
+      if (!fieldDeserializer.deserializeField(fieldName)) parser.skipChildren();
 
-    if (arrayNode != null && arrayNode.isArray()) {
-      return arrayNode.traverse(codec).readValueAs(String[].class);
+      token = parser.nextToken();
     }
 
-    return new String[0];
+    if (token != JsonToken.END_OBJECT)
+      throw new JsonParseException(parser, "Cannot deserialize object! Unexpected token.");
   }
 
-  public static Boolean deserializeNullableBooleanField(JsonNode containerNode, String fieldname) {
-    JsonNode booleanNode = containerNode.get(fieldname);
-
-    if (booleanNode != null && booleanNode.isBoolean()) {
-      return booleanNode.asBoolean();
-    }
+  public static boolean deserializeBoolean(JsonParser parser) throws IOException {
+    return parser.currentToken().isBoolean() && parser.getBooleanValue();
+  }
 
-    return null;
+  public static Boolean deserializeNullableBoolean(JsonParser parser) throws IOException {
+    return parser.currentToken().isBoolean() ? parser.getBooleanValue() : null;
   }
 
-  public static Integer deserializeNullableIntegerField(JsonNode containerNode, String fieldname) {
-    JsonNode integerNode = containerNode.get(fieldname);
+  public static String deserializeNullableString(JsonParser parser) throws IOException {
+    return parser.currentToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
+  }
 
-    if (integerNode != null && integerNode.canConvertToInt()) {
-      return integerNode.asInt();
-    }
+  public static String[] deserializeNullableStringArray(JsonParser parser) throws IOException {
+    if (parser.currentToken() == JsonToken.START_ARRAY) return parser.readValueAs(String[].class);
 
-    return null;
+    parser.skipChildren();
+    return new String[0];
   }
 
-  public static Double deserializeNullableDoubleField(JsonNode containerNode, String fieldname) {
-    JsonNode doubleNode = containerNode.get(fieldname);
+  public static Integer deserializeNullableInteger(JsonParser parser) throws IOException {
+    if (!parser.currentToken().isNumeric()) return null;
 
-    if (doubleNode != null && doubleNode.isNumber()) {
-      return doubleNode.asDouble();
-    }
+    double value = parser.getValueAsDouble();
 
-    return null;
+    return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (int) value : null;
   }
 
-  public static boolean isReferenceOf(JsonNode node, java.lang.Class<?> referenceType) {
-    if (!node.isObject()) return false;
-
-    String typeFieldValue = node.get("type").asText();
-
-    if (referenceType.equals(Class.class)) return "Class".equals(typeFieldValue);
-    else if (referenceType.equals(Relation.class)) return "Relation".equals(typeFieldValue);
-    else if (referenceType.equals(Property.class)) return "Property".equals(typeFieldValue);
-    else if (referenceType.equals(Generalization.class))
-      return "Generalization".equals(typeFieldValue);
-    else if (referenceType.equals(GeneralizationSet.class))
-      return "GeneralizationSet".equals(typeFieldValue);
-    else if (referenceType.equals(Package.class)) return "Package".equals(typeFieldValue);
-    else if (referenceType.equals(Literal.class)) return "Literal".equals(typeFieldValue);
-    else if (referenceType.equals(Project.class)) return "Project".equals(typeFieldValue);
-    else if (referenceType.equals(ClassView.class)) return "ClassView".equals(typeFieldValue);
-    else if (referenceType.equals(RelationView.class)) return "RelationView".equals(typeFieldValue);
-    else if (referenceType.equals(GeneralizationView.class))
-      return "GeneralizationView".equals(typeFieldValue);
-    else if (referenceType.equals(GeneralizationSetView.class))
-      return "GeneralizationSetView".equals(typeFieldValue);
-    else if (referenceType.equals(PackageView.class)) return "PackageView".equals(typeFieldValue);
-    else if (referenceType.equals(Path.class)) return "Path".equals(typeFieldValue);
-    else if (referenceType.equals(Rectangle.class)) return "Rectangle".equals(typeFieldValue);
-    else if (referenceType.equals(Text.class)) return "Text".equals(typeFieldValue);
-
-    return false;
+  public static Double deserializeNullableDouble(JsonParser parser) throws IOException {
+    return parser.currentToken().isNumeric() ? parser.getValueAsDouble() : null;
   }
 
   public static java.lang.Class<? extends OntoumlElement> getClass(String typeName) {
@@ -148,118 +125,137 @@ public class DeserializerUtils {
   }
 
   /**
-   * Deserializes a node into the subclass of {@link OntoumlElement} that matches the "type" field
-   * of the JSON object
+   * Deserializes the object at the current token into the subclass of {@link OntoumlElement} that
+   * matches its "type" field. Fields that precede the "type" field are buffered and replayed to the
+   * deserializer of that subclass; the rest of the object is read straight from the parser.
+   *
+   * <p>If references are resolved tolerantly, the start of the object is recorded as the location
+   * of the references it holds.
+   *
+   * @return null if the current value is not an object or has no "type" field, and also if its
+   *     type is not allowed and {@code failOnWrongType} is false.
    */
-  private static OntoumlElement deserializeObject(
-      JsonNode node,
+  public static OntoumlElement deserializeObject(
+      JsonParser parser,
+      DeserializationContext context,
       List<java.lang.Class<? extends OntoumlElement>> allowedTypes,
-      ObjectCodec codec)
+      boolean failOnWrongType)
       throws IOException {
 
-    if (node == null || !node.isObject()) return null;
+    ReferenceResolver resolver = ReferenceResolver.getTolerantResolver(context);
 
-    JsonNode typeNode = node.get("type");
-    if (typeNode == null || !typeNode.isTextual()) return null;
+    if (resolver == null) return readObject(parser, context, allowedTypes, failOnWrongType);
 
-    String typeNodeValue = typeNode.asText();
-    java.lang.Class<? extends OntoumlElement> type = getClass(typeNodeValue);
+    resolver.enterReferrer(parser.getTokenLocation());
 
-    if (allowedTypes.contains(type)) {
-      return node.traverse(codec).readValueAs(type);
+    try {
+      return readObject(parser, context, allowedTypes, failOnWrongType);
+    } finally {
+      resolver.exitReferrer();
     }
-
-    throw new JsonParseException(
-        codec.treeAsTokens(node), "Cannot deserialize object! Wrong type.");
   }
 
-  private static <T extends OntoumlElement> T deserializeObject(
-      JsonNode node, java.lang.Class<T> allowedType, ObjectCodec codec) throws IOException {
-
-    OntoumlElement element = deserializeObject(node, List.of(allowedType), codec);
-    return castOrNull(element, allowedType);
-  }
-
-  public static OntoumlElement deserializeObjectField(
-      JsonNode containerNode,
-      String fieldName,
+  private static OntoumlElement readObject(
+      JsonParser parser,
+      DeserializationContext context,
       List<java.lang.Class<? extends OntoumlElement>> allowedTypes,
-      ObjectCodec codec)
+      boolean failOnWrongType)
       throws IOException {
 
-    JsonNode node = containerNode.get(fieldName);
-    return deserializeObject(node, allowedTypes, codec);
-  }
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return null;
+    }
 
-  public static <T extends OntoumlElement> T deserializeObjectField(
-      JsonNode containerNode, String fieldName, java.lang.Class<T> allowedType, ObjectCodec codec)
-      throws IOException {
+    TokenBuffer buffer = null;
+    JsonToken token = parser.nextToken();
 
-    JsonNode node = containerNode.get(fieldName);
-    return deserializeObject(node, allowedType, codec);
-  }
+    while (token == JsonToken.FIELD_NAME && !"type".equals(parser.getCurrentName())) {
+      if (buffer == null) {
+        buffer = new TokenBuffer(parser, context);
+        buffer.writeStartObject();
+      }
 
-  public static List<OntoumlElement> deserializeArrayField(
-      JsonNode containerNode,
-      String fieldName,
-      List<java.lang.Class<? extends OntoumlElement>> allowedTypes,
-      ObjectCodec codec)
-      throws IOException {
+      buffer.copyCurrentStructure(parser);
+      token = parser.nextToken();
+    }
 
-    JsonNode arrayNode = containerNode.get(fieldName);
+    if (token != JsonToken.FIELD_NAME) return null;
 
-    if (arrayNode == null || arrayNode.isNull()) {
-      return List.of();
-    }
+    parser.nextToken();
+    String typeName = deserializeNullableString(parser);
+    java.lang.Class<? extends OntoumlElement> type = typeName != null ? getClass(typeName) : null;
+    boolean isAllowed = type != null && allowedTypes.contains(type);
 
-    if (arrayNode.isArray()) {
-      List<OntoumlElement> list = new ArrayList<>();
-      Iterator<JsonNode> iterator = arrayNode.elements();
+    if (typeName != null && !isAllowed && failOnWrongType)
+      throw new JsonParseException(parser, "Cannot deserialize object! Wrong type.");
 
-      while (iterator.hasNext()) {
-        JsonNode memberNode = iterator.next();
-        OntoumlElement member = deserializeObject(memberNode, allowedTypes, codec);
-        if (member != null) list.add(member);
-      }
+    if (!isAllowed) {
+      parser.skipChildren();
+      skipRemainingFields(parser);
+      return null;
+    }
 
-      return list;
+    if (buffer == null) {
+      parser.nextToken();
+      return context.readValue(parser, type);
     }
 
-    throw new JsonParseException(codec.treeAsTokens(arrayNode), "Cannot deserialize object array!");
+    // The sequence moves on to the token after the "type" field once the buffer is exhausted
+    JsonParser bufferedParser = buffer.asParser(parser);
+    bufferedParser.nextToken();
+
+    JsonParser sequence = JsonParserSequence.createFlattened(false, bufferedParser, parser);
+    return context.readValue(sequence, type);
   }
 
-  public static <T extends OntoumlElement> List<T> deserializeArrayField(
-      JsonNode containerNode, String fieldName, java.lang.Class<T> allowedType, ObjectCodec codec)
+  public static <T extends OntoumlElement> T deserializeObject(
+      JsonParser parser, DeserializationContext context, java.lang.Class<T> allowedType)
       throws IOException {
 
-    JsonNode arrayNode = containerNode.get(fieldName);
+    OntoumlElement element = deserializeObject(parser, context, List.of(allowedType), true);
+    return castOrNull(element, allowedType);
+  }
 
-    if (arrayNode == null || arrayNode.isNull()) {
-      return List.of();
-    }
+  public static List<OntoumlElement> deserializeArray(
+      JsonParser parser,
+      DeserializationContext context,
+      List<java.lang.Class<? extends OntoumlElement>> allowedTypes,
+      boolean failOnWrongType)
+      throws IOException {
 
-    if (arrayNode.isArray()) {
-      List<T> list = new ArrayList<>();
-      Iterator<JsonNode> iterator = arrayNode.elements();
+    if (parser.currentToken() == JsonToken.VALUE_NULL) return List.of();
 
-      while (iterator.hasNext()) {
-        JsonNode memberNode = iterator.next();
-        T member = deserializeObject(memberNode, allowedType, codec);
-        if (member != null) list.add(member);
-      }
+    if (parser.currentToken() != JsonToken.START_ARRAY)
+      throw new JsonParseException(parser, "Cannot deserialize object array!");
+
+    List<OntoumlElement> list = new ArrayList<>();
 
-      return list;
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      OntoumlElement member = deserializeObject(parser, context, allowedTypes, failOnWrongType);
+      if (member != null) list.add(member);
     }
 
-    throw new JsonParseException(codec.treeAsTokens(arrayNode), "Cannot deserialize object array!");
+    return list;
   }
 
-  public static Classifier<?, ?> deserializeClassifierField(
-      JsonNode containerNode, String fieldName, ObjectCodec codec) throws IOException {
+  public static <T extends OntoumlElement> List<T> deserializeArray(
+      JsonParser parser, DeserializationContext context, java.lang.Class<T> allowedType)
+      throws IOException {
+
+    List<T> list = new ArrayList<>();
+
+    for (OntoumlElement member : deserializeArray(parser, context, List.of(allowedType), true))
+      list.add(allowedType.cast(member));
+
+    return list;
+  }
+
+  public static Classifier<?, ?> deserializeClassifier(
+      JsonParser parser, DeserializationContext context) throws IOException {
 
     OntoumlElement classifier =
-        deserializeObjectField(
-            containerNode, fieldName, List.of(Class.class, Relation.class), codec);
+        deserializeObject(parser, context, List.of(Class.class, Relation.class), true);
 
     return castOrNull(classifier, Classifier.class);
   }
@@ -267,4 +263,11 @@ public class DeserializerUtils {
   public static <T> T castOrNull(Object object, java.lang.Class<T> type) {
     return (type.isInstance(object)) ? type.cast(object) : null;
   }
+
+  private static void skipRemainingFields(JsonParser parser) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      parser.skipChildren();
+    }
+  }
 }
@@ -3,58 +3,89 @@ package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.*;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.*;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class DiagramDeserializer extends JsonDeserializer<Diagram> {
 
+  private static final List<java.lang.Class<? extends OntoumlElement>> ownerTypes =
+      List.of(Class.class, Package.class);
+
+  private static final List<java.lang.Class<? extends OntoumlElement>> contentTypes =
+      List.of(
+          ClassView.class,
+          PackageView.class,
+          RelationView.class,
+          GeneralizationView.class,
+          GeneralizationSetView.class);
+
   @Override
   public Diagram deserialize(JsonParser parser, DeserializationContext context) throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     Diagram diagram = new Diagram();
+    DeserializationOptions options = DeserializationOptions.get(context);
+    List<TokenBuffer> bufferedContents = new ArrayList<>(1);
+    // New diagrams have a random id until their "id" field is read
+    String randomId = diagram.getId();
+
+    deserializeFields(
+        parser,
+        fieldName -> {
+          switch (fieldName) {
+            case "owner":
+              diagram.setOwner(deserializeOwner(parser, context));
+              return true;
+            case "contents":
+              // Views are only skipped without being read if the id precedes them. Otherwise, they
+              // are buffered until the id is known, so a skipped diagram adds no references
+              if (diagram.getId().equals(randomId) && options.filtersDiagrams()) {
+                TokenBuffer buffer = new TokenBuffer(parser, context);
+                buffer.copyCurrentStructure(parser);
+                bufferedContents.add(buffer);
+                return true;
+              }
 
-    ElementDeserializer.deserialize(diagram, root, codec);
+              if (!options.shouldDeserializeDiagram(diagram.getId())) return false;
 
-    ModelElement owner = deserializeOwner(root, codec);
-    diagram.setOwner(owner);
+              diagram.setContents(deserializeContents(parser, context));
+              return true;
+            default:
+              return ElementDeserializer.deserializeField(diagram, fieldName, parser, context);
+          }
+        });
 
-    List<ElementView<?, ?>> contents = deserializeContents(root, codec);
-    diagram.setContents(contents);
+    if (!options.shouldDeserializeDiagram(diagram.getId())) return null;
+
+    for (TokenBuffer buffer : bufferedContents) {
+      try (JsonParser bufferedParser = buffer.asParser(parser)) {
+        bufferedParser.nextToken();
+        diagram.setContents(deserializeContents(bufferedParser, context));
+      }
+    }
+
+    ReferenceResolver.addReferences(context, diagram);
 
     return diagram;
   }
 
-  private ModelElement deserializeOwner(JsonNode root, ObjectCodec codec) throws IOException {
-    OntoumlElement owner =
-        deserializeObjectField(root, "owner", List.of(Class.class, Package.class), codec);
+  private ModelElement deserializeOwner(JsonParser parser, DeserializationContext context)
+      throws IOException {
+    OntoumlElement owner = deserializeObject(parser, context, ownerTypes, true);
     return castOrNull(owner, ModelElement.class);
   }
 
-  private List<ElementView<?, ?>> deserializeContents(JsonNode root, ObjectCodec codec)
-      throws IOException {
-    List<OntoumlElement> contents =
-        deserializeArrayField(
-            root,
-            "contents",
-            List.of(
-                ClassView.class,
-                PackageView.class,
-                RelationView.class,
-                GeneralizationView.class,
-                GeneralizationSetView.class),
-            codec);
+  private List<ElementView<?, ?>> deserializeContents(
+      JsonParser parser, DeserializationContext context) throws IOException {
+    List<OntoumlElement> contents = deserializeArray(parser, context, contentTypes, true);
 
     return contents.stream()
         .filter(x -> x instanceof ElementView<?, ?>)
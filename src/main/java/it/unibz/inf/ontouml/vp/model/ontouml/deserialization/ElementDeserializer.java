@@ -1,32 +1,29 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import com.fasterxml.jackson.core.ObjectCodec;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import it.unibz.inf.ontouml.vp.model.ontouml.Element;
 import it.unibz.inf.ontouml.vp.model.ontouml.MultilingualText;
 import java.io.IOException;
 
 public class ElementDeserializer {
 
-  public static void deserialize(Element element, JsonNode root, ObjectCodec codec)
+  public static boolean deserializeField(
+      Element element, String fieldName, JsonParser parser, DeserializationContext context)
       throws IOException {
-    System.out.println("Deserializing type: " + root.get("type") + "");
-    String id = root.get("id").asText();
-    element.setId(id);
-    System.out.println("Deserialized id: " + id);
 
-    JsonNode nameNode = root.get("name");
-    if (nameNode != null) {
-      MultilingualText name = nameNode.traverse(codec).readValueAs(MultilingualText.class);
-      element.setName(name);
-      System.out.println("Deserialized name: " + name);
-    }
-
-    JsonNode descNode = root.get("description");
-    if (descNode != null) {
-      MultilingualText desc = descNode.traverse(codec).readValueAs(MultilingualText.class);
-      element.setDescription(desc);
-      System.out.println("Deserialized description: " + desc);
+    switch (fieldName) {
+      case "id":
+        element.setId(parser.getValueAsString());
+        return true;
+      case "name":
+        element.setName(context.readValue(parser, MultilingualText.class));
+        return true;
+      case "description":
+        element.setDescription(context.readValue(parser, MultilingualText.class));
+        return true;
+      default:
+        return false;
     }
   }
 }
@@ -0,0 +1,187 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.*;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deserializes a project from a stream of elements written by {@link
+ * it.unibz.inf.ontouml.vp.model.ontouml.serialization.ElementStreamSerializer}. Elements are read
+ * one line at a time and their containment is only rebuilt once the stream ends, top-down, so the
+ * stream is never held in memory. Containers must precede their contents; elements whose
+ * container was not read, e.g., because it has an unsupported type, are left out.
+ */
+public class ElementStreamDeserializer extends JsonDeserializer<Project> {
+
+  private static final List<java.lang.Class<? extends OntoumlElement>> modelTypes =
+      List.of(
+          Package.class,
+          Class.class,
+          Relation.class,
+          Generalization.class,
+          GeneralizationSet.class,
+          Property.class,
+          Literal.class);
+
+  private static final List<java.lang.Class<? extends OntoumlElement>> allTypes =
+      List.of(
+          Package.class,
+          Class.class,
+          Relation.class,
+          Generalization.class,
+          GeneralizationSet.class,
+          Property.class,
+          Literal.class,
+          Diagram.class,
+          ClassView.class,
+          PackageView.class,
+          RelationView.class,
+          GeneralizationView.class,
+          GeneralizationSetView.class);
+
+  @Override
+  public Project deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+    System.out.println("Deserializing project...");
+
+    DeserializationOptions options = DeserializationOptions.get(context);
+    ReferenceResolver resolver = ReferenceResolver.install(context, options.getReport());
+    List<java.lang.Class<? extends OntoumlElement>> types =
+        options.shouldDeserializeDiagrams() ? allTypes : modelTypes;
+
+    Project project = new Project();
+    Map<String, OntoumlElement> containers = new HashMap<>();
+    List<OntoumlElement> elements = new ArrayList<>();
+    List<OntoumlElement> elementContainers = new ArrayList<>();
+
+    for (JsonToken token = parser.currentToken(); token != null; token = parser.nextToken()) {
+      if (token != JsonToken.START_OBJECT)
+        throw new JsonParseException(parser, "Cannot deserialize element stream! Expected object.");
+
+      if (parser.nextToken() != JsonToken.FIELD_NAME
+          || !"container".equals(parser.getCurrentName()))
+        throw new JsonParseException(
+            parser, "Cannot deserialize element stream! Elements must start with their container.");
+
+      parser.nextToken();
+
+      if (parser.currentToken() == JsonToken.VALUE_NULL) {
+        parser.nextToken();
+        deserializeProjectFields(project, parser, context);
+        containers.put(project.getId(), project);
+        continue;
+      }
+
+      OntoumlElement container = containers.get(deserializeReferenceId(parser));
+      OntoumlElement element = deserializeElement(parser, context, types);
+
+      if (element == null || container == null) continue;
+
+      elements.add(element);
+      elementContainers.add(container);
+
+      if (isContainer(element)) containers.put(element.getId(), element);
+    }
+
+    for (int i = 0; i < elements.size(); i++)
+      addContent(elementContainers.get(i), elements.get(i), parser);
+
+    try {
+      resolver.resolveReferences(project);
+
+      if (options.hasPackageSelection()) PackageSelection.apply(project, options.getPackageIds());
+    } catch (Exception e) {
+      throw new JsonParseException(parser, "Cannot deserialize project", e);
+    }
+
+    return project;
+  }
+
+  private static void deserializeProjectFields(
+      Project project, JsonParser parser, DeserializationContext context) throws IOException {
+    deserializeFields(
+        parser,
+        fieldName -> ElementDeserializer.deserializeField(project, fieldName, parser, context));
+  }
+
+  private static String deserializeReferenceId(JsonParser parser) throws IOException {
+    String[] id = new String[1];
+
+    deserializeFields(
+        parser,
+        fieldName -> {
+          if (!"id".equals(fieldName)) return false;
+
+          id[0] = deserializeNullableString(parser);
+          return true;
+        });
+
+    return id[0];
+  }
+
+  /**
+   * Deserializes the rest of the object whose container was just read, replaying its start so the
+   * deserializer of its type reads it as a whole object.
+   */
+  private static OntoumlElement deserializeElement(
+      JsonParser parser,
+      DeserializationContext context,
+      List<java.lang.Class<? extends OntoumlElement>> types)
+      throws IOException {
+    TokenBuffer start = new TokenBuffer(parser, context);
+    start.writeStartObject();
+
+    JsonParser startParser = start.asParser(parser);
+    startParser.nextToken();
+
+    JsonParser sequence = JsonParserSequence.createFlattened(false, startParser, parser);
+    return deserializeObject(sequence, context, types, false);
+  }
+
+  private static boolean isContainer(OntoumlElement element) {
+    return element instanceof Package
+        || element instanceof Classifier
+        || element instanceof Diagram;
+  }
+
+  private static void addContent(
+      OntoumlElement container, OntoumlElement element, JsonParser parser)
+      throws JsonParseException {
+    if (container instanceof Project && element instanceof Package) {
+      ((Project) container).setModel((Package) element);
+    } else if (container instanceof Project && element instanceof Diagram) {
+      ((Project) container).addDiagram((Diagram) element);
+    } else if (container instanceof Package && element instanceof ModelElement) {
+      ((Package) container).addContent((ModelElement) element);
+    } else if (container instanceof Class && element instanceof Literal) {
+      ((Class) container).addLiteral((Literal) element);
+    } else if (container instanceof Classifier && element instanceof Property) {
+      ((Classifier<?, ?>) container).addProperty((Property) element);
+    } else if (container instanceof Diagram && element instanceof ElementView) {
+      ((Diagram) container).addElement((ElementView<?, ?>) element);
+    } else {
+      throw new JsonParseException(
+          parser,
+          "Cannot deserialize element stream! "
+              + container.getType()
+              + " cannot contain "
+              + element.getType());
+    }
+  }
+}
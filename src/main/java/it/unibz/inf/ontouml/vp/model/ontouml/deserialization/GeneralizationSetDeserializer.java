@@ -3,40 +3,43 @@ package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.*;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.GeneralizationSet;
 import java.io.IOException;
-import java.util.List;
 
 public class GeneralizationSetDeserializer extends JsonDeserializer<GeneralizationSet> {
 
   @Override
   public GeneralizationSet deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     GeneralizationSet gs = new GeneralizationSet();
-    ElementDeserializer.deserialize(gs, root, codec);
-    ModelElementDeserializer.deserialize(gs, root, codec);
-
-    boolean isComplete = deserializeBooleanField(root, "isComplete");
-    gs.setComplete(isComplete);
-
-    boolean isDisjoint = deserializeBooleanField(root, "isDisjoint");
-    gs.setDisjoint(isDisjoint);
-
-    Class categorizer = deserializeObjectField(root, "categorizer", Class.class, codec);
-    gs.setCategorizer(categorizer);
 
-    List<Generalization> generalizations =
-        deserializeArrayField(root, "generalizations", Generalization.class, codec);
-    gs.setGeneralizations(generalizations);
+    deserializeFields(
+        parser,
+        fieldName -> {
+          switch (fieldName) {
+            case "isComplete":
+              gs.setComplete(deserializeBoolean(parser));
+              return true;
+            case "isDisjoint":
+              gs.setDisjoint(deserializeBoolean(parser));
+              return true;
+            case "categorizer":
+              gs.setCategorizer(deserializeObject(parser, context, Class.class));
+              return true;
+            case "generalizations":
+              gs.setGeneralizations(deserializeArray(parser, context, Generalization.class));
+              return true;
+            default:
+              return ElementDeserializer.deserializeField(gs, fieldName, parser, context)
+                  || ModelElementDeserializer.deserializeField(gs, fieldName, parser, context);
+          }
+        });
+
+    ReferenceResolver.addReferences(context, gs);
 
     return gs;
   }
@@ -1,12 +1,11 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObjectField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObject;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.GeneralizationSet;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.GeneralizationSetView;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Text;
@@ -17,20 +16,27 @@ public class GeneralizationSetViewDeserializer extends JsonDeserializer<Generali
   @Override
   public GeneralizationSetView deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     GeneralizationSetView view = new GeneralizationSetView();
 
-    String id = root.get("id").asText();
-    view.setId(id);
-
-    GeneralizationSet gs =
-        deserializeObjectField(root, "modelElement", GeneralizationSet.class, codec);
-    view.setModelElement(gs);
-
-    Text shape = deserializeObjectField(root, "shape", Text.class, codec);
-    view.setShape(shape);
+    deserializeFields(
+        parser,
+        fieldName -> {
+          switch (fieldName) {
+            case "id":
+              view.setId(parser.getValueAsString());
+              return true;
+            case "modelElement":
+              view.setModelElement(deserializeObject(parser, context, GeneralizationSet.class));
+              return true;
+            case "shape":
+              view.setShape(deserializeObject(parser, context, Text.class));
+              return true;
+            default:
+              return false;
+          }
+        });
+
+    ReferenceResolver.addReferences(context, view);
 
     return view;
   }
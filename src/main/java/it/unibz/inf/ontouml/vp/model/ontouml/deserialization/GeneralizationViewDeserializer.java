@@ -1,12 +1,11 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObjectField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObject;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.GeneralizationView;
 import java.io.IOException;
@@ -16,15 +15,20 @@ public class GeneralizationViewDeserializer extends JsonDeserializer<Generalizat
   @Override
   public GeneralizationView deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     GeneralizationView view = new GeneralizationView();
 
-    ConnectorViewDeserializer.deserialize(view, root, codec);
+    deserializeFields(
+        parser,
+        fieldName -> {
+          if ("modelElement".equals(fieldName)) {
+            view.setModelElement(deserializeObject(parser, context, Generalization.class));
+            return true;
+          }
+
+          return ConnectorViewDeserializer.deserializeField(view, fieldName, parser, context);
+        });
 
-    Generalization stub = deserializeObjectField(root, "modelElement", Generalization.class, codec);
-    view.setModelElement(stub);
+    ReferenceResolver.addReferences(context, view);
 
     return view;
   }
@@ -1,10 +1,10 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Literal;
 import java.io.IOException;
 
@@ -12,12 +12,13 @@ public class LiteralDeserializer extends JsonDeserializer<Literal> {
 
   @Override
   public Literal deserialize(JsonParser parser, DeserializationContext context) throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     Literal literal = new Literal();
-    ElementDeserializer.deserialize(literal, root, codec);
-    ModelElementDeserializer.deserialize(literal, root, codec);
+
+    deserializeFields(
+        parser,
+        fieldName ->
+            ElementDeserializer.deserializeField(literal, fieldName, parser, context)
+                || ModelElementDeserializer.deserializeField(literal, fieldName, parser, context));
 
     return literal;
   }
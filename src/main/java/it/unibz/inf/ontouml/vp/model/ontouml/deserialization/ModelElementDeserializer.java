@@ -1,24 +1,28 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import java.io.IOException;
 import java.util.Map;
 
 public class ModelElementDeserializer {
 
-  public static void deserialize(ModelElement element, JsonNode root, ObjectCodec codec)
+  public static boolean deserializeField(
+      ModelElement element, String fieldName, JsonParser parser, DeserializationContext context)
       throws IOException {
 
-    JsonNode node = root.get("propertyAssignments");
+    if (!"propertyAssignments".equals(fieldName)) return false;
 
-    if (node != null && node.isObject()) {
+    if (parser.currentToken() == JsonToken.START_OBJECT) {
       Map<String, Object> propertyMap =
-          node.traverse(codec).readValueAs(new TypeReference<Map<String, Object>>() {});
+          parser.readValueAs(new TypeReference<Map<String, Object>>() {});
 
       element.setPropertyAssignments(propertyMap);
     }
+
+    return true;
   }
 }
@@ -1,14 +1,13 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.MultilingualText;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class MultilingualTextDeserializer extends JsonDeserializer<MultilingualText> {
@@ -21,19 +20,24 @@ public class MultilingualTextDeserializer extends JsonDeserializer<MultilingualT
   @Override
   public MultilingualText deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode node = codec.readTree(parser);
+    JsonToken token = parser.currentToken();
 
-    if (node.isTextual()) return new MultilingualText(node.asText());
+    if (token == JsonToken.VALUE_STRING) return new MultilingualText(parser.getText());
 
-    if (node.isObject()) {
-      Map<String, String> textMap =
-          node.traverse(codec).readValueAs(new TypeReference<Map<String, String>>() {});
+    if (token == JsonToken.START_OBJECT || token == JsonToken.FIELD_NAME) {
+      Map<String, String> textMap = new LinkedHashMap<>();
+
+      DeserializerUtils.deserializeFields(
+          parser,
+          language -> {
+            textMap.put(language, parser.getValueAsString());
+            return true;
+          });
 
       return new MultilingualText(textMap);
     }
 
-    if (node.isNull()) return new MultilingualText();
+    if (token == JsonToken.VALUE_NULL) return new MultilingualText();
 
     throw new JsonMappingException(
         parser, "Multilingual text mus be either a string, null, or an object.");
@@ -1,76 +1,66 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeArray;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.*;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class PackageDeserializer extends JsonDeserializer<Package> {
 
+  private static final List<java.lang.Class<? extends OntoumlElement>> contentTypes =
+      List.of(
+          Package.class,
+          Class.class,
+          Relation.class,
+          Generalization.class,
+          GeneralizationSet.class);
+
   @Override
   public Package deserialize(JsonParser parser, DeserializationContext context) throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     Package pkg = new Package();
-    ElementDeserializer.deserialize(pkg, root, codec);
-    ModelElementDeserializer.deserialize(pkg, root, codec);
-    deserializeContents(pkg, root, codec);
-
-    return pkg;
-  }
 
-  private void deserializeContents(Package pkg, JsonNode root, ObjectCodec codec) {
-    JsonNode contentsNode = root.get("contents");
+    deserializeFields(
+        parser,
+        fieldName -> {
+          if ("contents".equals(fieldName)) {
+            deserializeContents(pkg, parser, context);
+            return true;
+          }
 
-    if (contentsNode != null && contentsNode.isArray()) {
+          return ElementDeserializer.deserializeField(pkg, fieldName, parser, context)
+              || ModelElementDeserializer.deserializeField(pkg, fieldName, parser, context);
+        });
 
-      List<ModelElement> contents = new ArrayList<>();
-      contentsNode
-          .elements()
-          .forEachRemaining(
-              contentNode -> {
-                if (!contentNode.isObject()) return;
+    return pkg;
+  }
 
-                String type = contentNode.get("type").asText();
-                java.lang.Class<? extends ModelElement> referenceType;
+  private void deserializeContents(Package pkg, JsonParser parser, DeserializationContext context)
+      throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return;
+    }
 
-                switch (type) {
-                  case "Package":
-                    referenceType = Package.class;
-                    break;
-                  case "Class":
-                    referenceType = Class.class;
-                    break;
-                  case "Relation":
-                    referenceType = Relation.class;
-                    break;
-                  case "Generalization":
-                    referenceType = Generalization.class;
-                    break;
-                  case "GeneralizationSet":
-                    referenceType = GeneralizationSet.class;
-                    break;
-                  default:
-                    return;
-                }
+    List<OntoumlElement> elements =
+        ParallelDeserializer.isModelContents(context)
+            ? ParallelDeserializer.deserializeArray(parser, context, contentTypes, false)
+            : deserializeArray(parser, context, contentTypes, false);
 
-                try {
-                  ModelElement content = contentNode.traverse(codec).readValueAs(referenceType);
-                  contents.add(content);
-                } catch (IOException e) {
-                  e.printStackTrace();
-                }
-              });
+    List<ModelElement> contents =
+        elements.stream()
+            .map(ModelElement.class::cast)
+            .collect(Collectors.toList());
 
-      pkg.setContents(contents);
-    }
+    pkg.setContents(contents);
   }
 }
@@ -0,0 +1,130 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.GeneralizationSet;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ConnectorView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ElementView;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reduces a project to a selection of packages. The selection keeps the packages with their
+ * contents and every element they reference transitively, such as the types of their properties
+ * and the ends of their generalizations, together with the packages that contain those elements.
+ * Diagrams keep only the views of kept elements, and are removed if they lose all of them.
+ */
+class PackageSelection {
+
+  private final Set<OntoumlElement> retained = new HashSet<>();
+  private final Set<OntoumlElement> kept = new HashSet<>();
+  private final Deque<OntoumlElement> pending = new ArrayDeque<>();
+
+  static void apply(Project project, Set<String> packageIds) {
+    new PackageSelection().select(project, packageIds);
+  }
+
+  private void select(Project project, Set<String> packageIds) {
+    for (String id : packageIds) project.getElementById(id, Package.class).ifPresent(this::retain);
+
+    while (!pending.isEmpty()) {
+      OntoumlElement element = pending.pop();
+
+      element.getContents().forEach(this::retain);
+      element.getContainer().filter(c -> !(c instanceof Package)).ifPresent(this::retain);
+      retainReferences(element);
+    }
+
+    for (OntoumlElement element : retained) {
+      OntoumlElement e = element;
+
+      while (e != null && kept.add(e)) e = e.getContainer().orElse(null);
+    }
+
+    project.getModel().ifPresent(this::prunePackage);
+    project.getDiagrams().forEach(diagram -> pruneDiagram(project, diagram));
+  }
+
+  private void retain(OntoumlElement element) {
+    if (element != null && retained.add(element)) pending.push(element);
+  }
+
+  private void retainAll(Collection<? extends OntoumlElement> elements) {
+    elements.forEach(this::retain);
+  }
+
+  private void retainReferences(OntoumlElement element) {
+    if (element instanceof Property) {
+      Property property = (Property) element;
+      retain(property.getPropertyType().orElse(null));
+      retainAll(property.getSubsettedProperties());
+      retainAll(property.getRedefinedProperties());
+    } else if (element instanceof Generalization) {
+      Generalization generalization = (Generalization) element;
+      retain(generalization.getGeneral().orElse(null));
+      retain(generalization.getSpecific().orElse(null));
+    } else if (element instanceof GeneralizationSet) {
+      GeneralizationSet gs = (GeneralizationSet) element;
+      retain(gs.getCategorizer().orElse(null));
+      retainAll(gs.getGeneralizations());
+    }
+  }
+
+  private void prunePackage(Package pkg) {
+    List<ModelElement> contents =
+        pkg.getContents().stream()
+            .filter(kept::contains)
+            .map(ModelElement.class::cast)
+            .collect(Collectors.toList());
+
+    if (contents.size() < pkg.getContents().size()) pkg.setContents(contents);
+
+    contents.stream().filter(e -> e instanceof Package).forEach(e -> prunePackage((Package) e));
+  }
+
+  private void pruneDiagram(Project project, Diagram diagram) {
+    if (diagram.getOwner() != null && !kept.contains(diagram.getOwner())) {
+      project.removeDiagram(diagram);
+      return;
+    }
+
+    List<ElementView<?, ?>> views = viewsOf(diagram);
+    boolean removed;
+
+    do {
+      Set<ElementView<?, ?>> current = new HashSet<>(views);
+      removed = views.removeIf(view -> !shouldKeep(view, current));
+    } while (removed);
+
+    if (views.isEmpty() && !diagram.getDiagramElements().isEmpty()) {
+      project.removeDiagram(diagram);
+    } else if (views.size() < diagram.getDiagramElements().size()) {
+      diagram.setContents(views);
+    }
+  }
+
+  private boolean shouldKeep(ElementView<?, ?> view, Set<ElementView<?, ?>> views) {
+    if (!kept.contains(view.getModelElement())) return false;
+
+    if (!(view instanceof ConnectorView)) return true;
+
+    ConnectorView<?> connector = (ConnectorView<?>) view;
+    return views.contains(connector.getSource()) && views.contains(connector.getTarget());
+  }
+
+  private static List<ElementView<?, ?>> viewsOf(Diagram diagram) {
+    return diagram.getContents().stream()
+        .map(view -> (ElementView<?, ?>) view)
+        .collect(Collectors.toList());
+  }
+}
@@ -1,12 +1,11 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObjectField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObject;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.PackageView;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Rectangle;
@@ -17,19 +16,27 @@ public class PackageViewDeserializer extends JsonDeserializer<PackageView> {
   @Override
   public PackageView deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     PackageView view = new PackageView();
 
-    String id = root.get("id").asText();
-    view.setId(id);
-
-    Package element = deserializeObjectField(root, "modelElement", Package.class, codec);
-    view.setModelElement(element);
-
-    Rectangle shape = deserializeObjectField(root, "shape", Rectangle.class, codec);
-    view.setShape(shape);
+    deserializeFields(
+        parser,
+        fieldName -> {
+          switch (fieldName) {
+            case "id":
+              view.setId(parser.getValueAsString());
+              return true;
+            case "modelElement":
+              view.setModelElement(deserializeObject(parser, context, Package.class));
+              return true;
+            case "shape":
+              view.setShape(deserializeObject(parser, context, Rectangle.class));
+              return true;
+            default:
+              return false;
+          }
+        });
+
+    ReferenceResolver.addReferences(context, view);
 
     return view;
   }
@@ -0,0 +1,160 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Deserializes the members of an array on the common fork-join pool. Each member is copied into a
+ * token buffer as the array is read and handed to a task as soon as it is complete, so the parser
+ * keeps reading while earlier members are built. Tasks read their members with contexts of their
+ * own, and so with tables of pending references of their own, which are merged into the table of
+ * the calling context in the order of the array once every task is done.
+ */
+class ParallelDeserializer {
+
+  private static final String MODEL_ATTRIBUTE = ParallelDeserializer.class.getName() + ".model";
+
+  /**
+   * Returns whether the options of the context ask for parallel deserialization. Tolerant
+   * deserialization stays sequential, as buffered members lose their locations in the source.
+   */
+  static boolean isEnabled(DeserializationContext context) {
+    DeserializationOptions options = DeserializationOptions.get(context);
+
+    return options.isParallel()
+        && options.getReport() == null
+        && context instanceof DefaultDeserializationContext;
+  }
+
+  /** Marks the start of the model of the project, whose contents are its top-level elements. */
+  static void enterModel(DeserializationContext context) {
+    context.setAttribute(MODEL_ATTRIBUTE, Boolean.TRUE);
+  }
+
+  static void exitModel(DeserializationContext context) {
+    context.setAttribute(MODEL_ATTRIBUTE, null);
+  }
+
+  /**
+   * Returns whether contents read in the context are those of the model, i.e., whether they are
+   * the first contents read since the start of the model. Later calls return false.
+   */
+  static boolean isModelContents(DeserializationContext context) {
+    if (context.getAttribute(MODEL_ATTRIBUTE) == null) return false;
+
+    exitModel(context);
+    return true;
+  }
+
+  /**
+   * Works as {@link DeserializerUtils#deserializeArray(JsonParser, DeserializationContext, List,
+   * boolean)}, deserializing the members of the array in parallel.
+   */
+  static List<OntoumlElement> deserializeArray(
+      JsonParser parser,
+      DeserializationContext context,
+      List<java.lang.Class<? extends OntoumlElement>> allowedTypes,
+      boolean failOnWrongType)
+      throws IOException {
+
+    if (parser.currentToken() != JsonToken.START_ARRAY)
+      return DeserializerUtils.deserializeArray(parser, context, allowedTypes, failOnWrongType);
+
+    List<ForkJoinTask<Result>> tasks = new ArrayList<>();
+
+    try {
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+        TokenBuffer buffer = new TokenBuffer(parser, context);
+        buffer.copyCurrentStructure(parser);
+
+        tasks.add(
+            ForkJoinPool.commonPool()
+                .submit(() -> deserialize(buffer, parser, context, allowedTypes, failOnWrongType)));
+      }
+
+      List<OntoumlElement> list = new ArrayList<>();
+
+      for (ForkJoinTask<Result> task : tasks) {
+        Result result = join(task);
+        ReferenceResolver.addAll(context, result.resolver);
+
+        if (result.element != null) list.add(result.element);
+      }
+
+      return list;
+    } finally {
+      tasks.forEach(task -> task.cancel(false));
+    }
+  }
+
+  static <T extends OntoumlElement> List<T> deserializeArray(
+      JsonParser parser, DeserializationContext context, java.lang.Class<T> allowedType)
+      throws IOException {
+
+    List<T> list = new ArrayList<>();
+
+    for (OntoumlElement member : deserializeArray(parser, context, List.of(allowedType), true))
+      list.add(allowedType.cast(member));
+
+    return list;
+  }
+
+  private static Result deserialize(
+      TokenBuffer buffer,
+      JsonParser parser,
+      DeserializationContext context,
+      List<java.lang.Class<? extends OntoumlElement>> allowedTypes,
+      boolean failOnWrongType)
+      throws IOException {
+
+    try (JsonParser bufferedParser = buffer.asParser(parser)) {
+      bufferedParser.nextToken();
+
+      DefaultDeserializationContext taskContext =
+          ((DefaultDeserializationContext) context)
+              .createInstance(context.getConfig(), bufferedParser, null);
+      ReferenceResolver resolver = ReferenceResolver.install(taskContext, null);
+      OntoumlElement element =
+          DeserializerUtils.deserializeObject(
+              bufferedParser, taskContext, allowedTypes, failOnWrongType);
+
+      return new Result(element, resolver);
+    }
+  }
+
+  private static Result join(ForkJoinTask<Result> task) throws IOException {
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while deserializing in parallel", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+
+      if (cause instanceof IOException) throw (IOException) cause;
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+
+      throw new IOException(cause);
+    }
+  }
+
+  private static class Result {
+    private final OntoumlElement element;
+    private final ReferenceResolver resolver;
+
+    private Result(OntoumlElement element, ReferenceResolver resolver) {
+      this.element = element;
+      this.resolver = resolver;
+    }
+  }
+}
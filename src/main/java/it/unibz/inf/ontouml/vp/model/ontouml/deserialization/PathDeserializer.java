@@ -1,51 +1,73 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Path;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Point;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 public class PathDeserializer extends JsonDeserializer<Path> {
   @Override
   public Path deserialize(JsonParser parser, DeserializationContext context) throws IOException {
 
-    JsonNode root = parser.readValueAsTree();
     Path path = new Path();
 
-    String id = root.get("id").asText();
-    path.setId(id);
-
-    List<Point> points = deserializePoints(root);
-    path.setPoints(points);
+    deserializeFields(
+        parser,
+        fieldName -> {
+          switch (fieldName) {
+            case "id":
+              path.setId(parser.getValueAsString());
+              return true;
+            case "points":
+              path.setPoints(deserializePoints(parser));
+              return true;
+            default:
+              return false;
+          }
+        });
 
     return path;
   }
 
-  private List<Point> deserializePoints(JsonNode root) {
-    JsonNode arrayNode = root.get("points");
-    if (arrayNode == null || !arrayNode.isArray()) return null;
+  private List<Point> deserializePoints(JsonParser parser) throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return null;
+    }
 
     List<Point> points = new ArrayList<>();
-    Iterator<JsonNode> iterator = arrayNode.elements();
-    while (iterator.hasNext()) {
-      JsonNode pointNode = iterator.next();
 
-      if (!pointNode.isObject()) continue;
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      if (parser.currentToken() != JsonToken.START_OBJECT) {
+        parser.skipChildren();
+        continue;
+      }
 
-      JsonNode xNode = pointNode.get("x");
-      int x = (xNode != null) ? xNode.asInt(0) : 0;
+      int[] coordinates = new int[2];
 
-      JsonNode yNode = pointNode.get("y");
-      int y = (yNode != null) ? yNode.asInt(0) : 0;
+      deserializeFields(
+          parser,
+          fieldName -> {
+            switch (fieldName) {
+              case "x":
+                coordinates[0] = parser.getValueAsInt(0);
+                return true;
+              case "y":
+                coordinates[1] = parser.getValueAsInt(0);
+                return true;
+              default:
+                return false;
+            }
+          });
 
-      Point point = new Point(x, y);
-      points.add(point);
+      points.add(new Point(coordinates[0], coordinates[1]));
     }
 
     return points;
@@ -1,19 +1,17 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeArrayField;
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObjectField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeArray;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObject;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.Project;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
 import java.io.IOException;
-import java.util.List;
 
 public class ProjectDeserializer extends JsonDeserializer<Project> {
 
@@ -21,21 +19,38 @@ public class ProjectDeserializer extends JsonDeserializer<Project> {
   public Project deserialize(JsonParser parser, DeserializationContext context) throws IOException {
     System.out.println("Deserializing project...");
 
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     Project project = new Project();
-
-    ElementDeserializer.deserialize(project, root, codec);
-
-    Package model = deserializeObjectField(root, "model", Package.class, codec);
-    project.setModel(model);
-
-    List<Diagram> diagrams = deserializeArrayField(root, "diagrams", Diagram.class, codec);
-    project.setDiagrams(diagrams);
+    DeserializationOptions options = DeserializationOptions.get(context);
+    ReferenceResolver resolver = ReferenceResolver.install(context, options.getReport());
+    boolean isParallel = ParallelDeserializer.isEnabled(context);
+
+    deserializeFields(
+        parser,
+        fieldName -> {
+          switch (fieldName) {
+            case "model":
+              if (isParallel) ParallelDeserializer.enterModel(context);
+
+              project.setModel(deserializeObject(parser, context, Package.class));
+              ParallelDeserializer.exitModel(context);
+              return true;
+            case "diagrams":
+              if (!options.shouldDeserializeDiagrams()) return false;
+
+              project.setDiagrams(
+                  isParallel
+                      ? ParallelDeserializer.deserializeArray(parser, context, Diagram.class)
+                      : deserializeArray(parser, context, Diagram.class));
+              return true;
+            default:
+              return ElementDeserializer.deserializeField(project, fieldName, parser, context);
+          }
+        });
 
     try {
-      ReferenceResolver.resolveReferences(project);
+      resolver.resolveReferences(project);
+
+      if (options.hasPackageSelection()) PackageSelection.apply(project, options.getPackageIds());
     } catch (Exception e) {
       throw new JsonParseException(parser, "Cannot deserialize project", e);
     }
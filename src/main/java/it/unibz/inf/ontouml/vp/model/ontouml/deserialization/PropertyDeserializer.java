@@ -3,54 +3,59 @@ package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.*;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.AggregationKind;
-import it.unibz.inf.ontouml.vp.model.ontouml.model.Classifier;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
 import java.io.IOException;
-import java.util.List;
 
 public class PropertyDeserializer extends JsonDeserializer<Property> {
 
   @Override
   public Property deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     Property property = new Property();
-    ElementDeserializer.deserialize(property, root, codec);
-    ModelElementDeserializer.deserialize(property, root, codec);
-    DecoratableDeserializer.deserialize(property, root, codec);
-
-    boolean isDerived = deserializeBooleanField(root, "isDerived");
-    property.setDerived(isDerived);
-
-    boolean isReadOnly = deserializeBooleanField(root, "isReadOnly");
-    property.setReadOnly(isReadOnly);
-
-    boolean isOrdered = deserializeBooleanField(root, "isOrdered");
-    property.setOrdered(isOrdered);
-
-    String cardinality = deserializeNullableStringField(root, "cardinality");
-    property.setCardinality(cardinality);
-
-    Classifier<?, ?> propertyType = deserializeClassifierField(root, "propertyType", codec);
-    property.setPropertyType(propertyType);
-
-    List<Property> subsettedProperties =
-        deserializeArrayField(root, "subsettedProperties", Property.class, codec);
-    property.setSubsettedProperties(subsettedProperties);
-
-    List<Property> redefinedProperties =
-        deserializeArrayField(root, "redefinedProperties", Property.class, codec);
-    property.setRedefinedProperties(redefinedProperties);
 
-    String aggregationKind = deserializeNullableStringField(root, "aggregationKind");
-    property.setAggregationKind(AggregationKind.findByName(aggregationKind).orElse(null));
+    // A missing cardinality is read as an unspecified one rather than the default "1"
+    property.setCardinality((String) null);
+
+    deserializeFields(
+        parser,
+        fieldName -> {
+          switch (fieldName) {
+            case "isDerived":
+              property.setDerived(deserializeBoolean(parser));
+              return true;
+            case "isReadOnly":
+              property.setReadOnly(deserializeBoolean(parser));
+              return true;
+            case "isOrdered":
+              property.setOrdered(deserializeBoolean(parser));
+              return true;
+            case "cardinality":
+              property.setCardinality(deserializeNullableString(parser));
+              return true;
+            case "propertyType":
+              property.setPropertyType(deserializeClassifier(parser, context));
+              return true;
+            case "subsettedProperties":
+              property.setSubsettedProperties(deserializeArray(parser, context, Property.class));
+              return true;
+            case "redefinedProperties":
+              property.setRedefinedProperties(deserializeArray(parser, context, Property.class));
+              return true;
+            case "aggregationKind":
+              String aggregationKind = deserializeNullableString(parser);
+              property.setAggregationKind(AggregationKind.findByName(aggregationKind).orElse(null));
+              return true;
+            default:
+              return ElementDeserializer.deserializeField(property, fieldName, parser, context)
+                  || ModelElementDeserializer.deserializeField(property, fieldName, parser, context)
+                  || DecoratableDeserializer.deserializeField(property, fieldName, parser, context);
+          }
+        });
+
+    ReferenceResolver.addReferences(context, property);
 
     return property;
   }
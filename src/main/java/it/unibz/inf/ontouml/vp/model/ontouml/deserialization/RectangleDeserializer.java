@@ -1,9 +1,10 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Rectangle;
 import java.io.IOException;
 
@@ -12,10 +13,11 @@ public class RectangleDeserializer extends JsonDeserializer<Rectangle> {
   public Rectangle deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
 
-    JsonNode root = parser.readValueAsTree();
-
     Rectangle rectangle = new Rectangle();
-    RectangularShapeDeserializer.deserialize(rectangle, root);
+
+    deserializeFields(
+        parser,
+        fieldName -> RectangularShapeDeserializer.deserializeField(rectangle, fieldName, parser));
 
     return rectangle;
   }
@@ -1,27 +1,34 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeNullableIntegerField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeNullableInteger;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.RectangularShape;
+import java.io.IOException;
 
 public class RectangularShapeDeserializer {
 
-  public static void deserialize(RectangularShape shape, JsonNode node) {
-
-    String id = node.get("id").asText();
-    shape.setId(id);
-
-    Integer x = deserializeNullableIntegerField(node, "x");
-    shape.setX(x);
-
-    Integer y = deserializeNullableIntegerField(node, "y");
-    shape.setY(y);
-
-    Integer width = deserializeNullableIntegerField(node, "width");
-    shape.setWidth(width);
-
-    Integer height = deserializeNullableIntegerField(node, "height");
-    shape.setHeight(height);
+  public static boolean deserializeField(
+      RectangularShape shape, String fieldName, JsonParser parser) throws IOException {
+
+    switch (fieldName) {
+      case "id":
+        shape.setId(parser.getValueAsString());
+        return true;
+      case "x":
+        shape.setX(deserializeNullableInteger(parser));
+        return true;
+      case "y":
+        shape.setY(deserializeNullableInteger(parser));
+        return true;
+      case "width":
+        shape.setWidth(deserializeNullableInteger(parser));
+        return true;
+      case "height":
+        shape.setHeight(deserializeNullableInteger(parser));
+        return true;
+      default:
+        return false;
+    }
   }
 }
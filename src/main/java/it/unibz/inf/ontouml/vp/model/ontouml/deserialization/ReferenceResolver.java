@@ -1,5 +1,7 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.Project;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.*;
@@ -7,160 +9,277 @@ import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.ConnectorView;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.ElementView;
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-
+import java.util.function.Consumer;
+
+/**
+ * Table of pending references, i.e., reference stubs that still have to be replaced by the elements
+ * they point to, indexed by the id of those elements. Referrers are registered as they are built,
+ * so all references are resolved in a single pass over the table once the whole project exists,
+ * without walking its contents.
+ *
+ * <p>A strict table fails on the first reference that cannot be resolved. A tolerant one records
+ * every such reference in a {@link DeserializationReport}, together with the location of its
+ * referrer in the source, and leaves its stub in place.
+ */
 public class ReferenceResolver {
-  public static void resolveReferences(Project project) {
-    Map<String, OntoumlElement> elementMap = project.getElementMap();
-
-    for (Property property : project.getAllProperties()) {
-      resolvePropertyType(elementMap, property);
-      resolveSubsettedProperties(elementMap, property);
-      resolveRedefinedProperties(elementMap, property);
-    }
 
-    for (Generalization generalization : project.getAllGeneralizations()) {
-      resolveGeneral(elementMap, generalization);
-      resolveSpecific(elementMap, generalization);
-    }
+  private static final String CONTEXT_ATTRIBUTE = ReferenceResolver.class.getName();
 
-    for (GeneralizationSet gs : project.getAllGeneralizationSets()) {
-      resolveCategorizer(elementMap, gs);
-      resolveGeneralizations(elementMap, gs);
-    }
+  private final Map<String, List<PendingReference<?>>> pendingReferences = new LinkedHashMap<>();
+  private final DeserializationReport report;
+  private final Deque<JsonLocation> locations = new ArrayDeque<>();
 
-    for (Diagram diagram : project.getDiagrams()) {
-      resolveOwner(elementMap, diagram);
-    }
-
-    for (ElementView diagramElement : project.getAllDiagramElements()) {
-      resolveModelElement(elementMap, diagramElement);
-    }
+  /** Creates a strict table. */
+  public ReferenceResolver() {
+    this(null);
+  }
 
-    for (ConnectorView connectorView : project.getAllConnectorViews()) {
-      resolveSource(elementMap, connectorView);
-      resolveTarget(elementMap, connectorView);
-    }
+  /** Creates a tolerant table that records its problems in the report, or a strict one if null. */
+  public ReferenceResolver(DeserializationReport report) {
+    this.report = report;
   }
 
-  private static void resolveOwner(Map<String, OntoumlElement> elementMap, Diagram diagram) {
-    ModelElement reference = diagram.getOwner();
+  /** Registers a new table in the context, so deserializers can add their references to it. */
+  public static ReferenceResolver install(
+      DeserializationContext context, DeserializationReport report) {
+    ReferenceResolver resolver = new ReferenceResolver(report);
+    context.setAttribute(CONTEXT_ATTRIBUTE, resolver);
+    return resolver;
+  }
 
-    if (reference == null) return;
+  /**
+   * Returns the table registered in the context if it is tolerant, so the locations of referrers
+   * should be reported to it through {@link #enterReferrer} and {@link #exitReferrer}.
+   */
+  static ReferenceResolver getTolerantResolver(DeserializationContext context) {
+    Object resolver = context.getAttribute(CONTEXT_ATTRIBUTE);
 
-    ModelElement source = resolve(elementMap, reference, ModelElement.class);
-    diagram.setOwner(source);
+    return resolver instanceof ReferenceResolver && ((ReferenceResolver) resolver).isTolerant()
+        ? (ReferenceResolver) resolver
+        : null;
   }
 
-  private static void resolveSource(Map<String, OntoumlElement> elementMap, ConnectorView element) {
-    ElementView reference = element.getSource();
+  public boolean isTolerant() {
+    return report != null;
+  }
 
-    if (reference == null) return;
+  /** Marks the start of an object in the source, which is the location of its references. */
+  void enterReferrer(JsonLocation location) {
+    locations.push(location);
+  }
 
-    ElementView source = resolve(elementMap, reference, ElementView.class);
-    element.setSource(source);
+  void exitReferrer() {
+    locations.pop();
   }
 
-  private static void resolveTarget(Map<String, OntoumlElement> elementMap, ConnectorView element) {
-    ElementView reference = element.getTarget();
+  /**
+   * Adds the references of an element to the table registered in the context, if any. Elements
+   * deserialized outside a project keep their reference stubs.
+   */
+  public static void addReferences(DeserializationContext context, OntoumlElement referrer) {
+    Object resolver = context.getAttribute(CONTEXT_ATTRIBUTE);
 
-    if (reference == null) return;
-
-    ElementView source = resolve(elementMap, reference, ElementView.class);
-    element.setTarget(source);
+    if (resolver instanceof ReferenceResolver)
+      ((ReferenceResolver) resolver).addReferences(referrer);
   }
 
-  private static void resolveModelElement(
-      Map<String, OntoumlElement> elementMap, ElementView element) {
-    ModelElement reference = element.getModelElement();
-
-    if (reference == null) return;
+  /**
+   * Moves the pending references of another table to the table registered in the context, if any.
+   */
+  static void addAll(DeserializationContext context, ReferenceResolver other) {
+    Object resolver = context.getAttribute(CONTEXT_ATTRIBUTE);
 
-    ModelElement source = resolve(elementMap, reference, ModelElement.class);
-    element.setModelElement(source);
+    if (resolver instanceof ReferenceResolver) ((ReferenceResolver) resolver).addAll(other);
   }
 
-  private static void resolveGeneralizations(
-      Map<String, OntoumlElement> elementMap, GeneralizationSet gs) {
+  /** Moves the pending references of another table to this one, after its own references. */
+  void addAll(ReferenceResolver other) {
+    other.pendingReferences.forEach(
+        (id, references) ->
+            pendingReferences.computeIfAbsent(id, k -> new ArrayList<>()).addAll(references));
 
-    Set<Generalization> sources = new HashSet<>();
+    other.pendingReferences.clear();
+  }
 
-    for (Generalization reference : gs.getGeneralizations())
-      sources.add(resolve(elementMap, reference, Generalization.class));
+  /** Drops every pending reference without resolving it. */
+  public void clear() {
+    pendingReferences.clear();
+  }
 
-    gs.setGeneralizations(sources);
+  /** Adds the reference stubs currently held by an element to the table. */
+  public void addReferences(OntoumlElement referrer) {
+    if (referrer instanceof Property) {
+      Property property = (Property) referrer;
+      addPropertyTypeReference(property);
+      addSubsettedPropertiesReferences(property);
+      addRedefinedPropertiesReferences(property);
+    } else if (referrer instanceof Generalization) {
+      Generalization generalization = (Generalization) referrer;
+      addGeneralReference(generalization);
+      addSpecificReference(generalization);
+    } else if (referrer instanceof GeneralizationSet) {
+      GeneralizationSet gs = (GeneralizationSet) referrer;
+      addCategorizerReference(gs);
+      addGeneralizationsReferences(gs);
+    } else if (referrer instanceof Diagram) {
+      addOwnerReference((Diagram) referrer);
+    } else if (referrer instanceof ElementView) {
+      addModelElementReference((ElementView<?, ?>) referrer);
+
+      if (referrer instanceof ConnectorView) {
+        ConnectorView<?> connectorView = (ConnectorView<?>) referrer;
+        addSourceReference(connectorView);
+        addTargetReference(connectorView);
+      }
+    }
   }
 
-  private static void resolveCategorizer(
-      Map<String, OntoumlElement> elementMap, GeneralizationSet gs) {
-    Optional<Class> reference = gs.getCategorizer();
+  /**
+   * Replaces every pending reference by the element of the project with the same id and empties
+   * the table. A tolerant table reports the references it cannot resolve and keeps their stubs.
+   *
+   * @throws NullPointerException if the table is strict and a referenced element does not exist or
+   *     has the wrong type.
+   */
+  public void resolveReferences(Project project) {
+    Map<String, OntoumlElement> elementMap = project.getElementMap();
 
-    if (reference.isEmpty()) return;
+    pendingReferences.forEach(
+        (id, references) -> {
+          OntoumlElement source = elementMap.get(id);
+
+          for (PendingReference<?> reference : references) {
+            if (reference.canResolve(source)) {
+              reference.resolve(source);
+            } else if (isTolerant()) {
+              report.addUnresolvedReference(reference.toUnresolvedReference(id, source));
+            } else if (source == null) {
+              throw new NullPointerException("Referenced element " + id + " does not exist!");
+            } else {
+              throw new NullPointerException(
+                  "Referenced element " + id + " is not a " + reference.getTypeName());
+            }
+          }
+        });
+
+    pendingReferences.clear();
+  }
 
-    Class source = resolve(elementMap, reference.get(), Class.class);
-    gs.setCategorizer(source);
+  private void addOwnerReference(Diagram diagram) {
+    add(diagram, diagram.getOwner(), ModelElement.class, diagram::setOwner);
   }
 
-  private static void resolveGeneral(
-      Map<String, OntoumlElement> elementMap, Generalization generalization) {
-    Optional<Classifier<?, ?>> reference = generalization.getGeneral();
+  private void addSourceReference(ConnectorView<?> element) {
+    add(element, element.getSource(), ElementView.class, element::setSource);
+  }
 
-    if (reference.isEmpty()) return;
+  private void addTargetReference(ConnectorView<?> element) {
+    add(element, element.getTarget(), ElementView.class, element::setTarget);
+  }
 
-    Classifier<?, ?> source = resolve(elementMap, reference.get(), Classifier.class);
-    generalization.setGeneral(source);
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void addModelElementReference(ElementView element) {
+    add(element, element.getModelElement(), ModelElement.class, element::setModelElement);
   }
 
-  private static void resolveSpecific(
-      Map<String, OntoumlElement> elementMap, Generalization generalization) {
-    Optional<Classifier<?, ?>> reference = generalization.getSpecific();
+  private void addGeneralizationsReferences(GeneralizationSet gs) {
+    for (Generalization reference : gs.getGeneralizations())
+      add(
+          gs,
+          reference,
+          Generalization.class,
+          source -> gs.replaceGeneralization(reference, source));
+  }
 
-    if (reference.isEmpty()) return;
+  private void addCategorizerReference(GeneralizationSet gs) {
+    add(gs, gs.getCategorizer().orElse(null), Class.class, gs::setCategorizer);
+  }
 
-    Classifier<?, ?> source = resolve(elementMap, reference.get(), Classifier.class);
-    generalization.setSpecific(source);
+  private void addGeneralReference(Generalization generalization) {
+    Classifier<?, ?> general = generalization.getGeneral().orElse(null);
+    add(generalization, general, Classifier.class, generalization::setGeneral);
   }
 
-  private static void resolvePropertyType(
-      Map<String, OntoumlElement> elementMap, Property property) {
-    Optional<Classifier<?, ?>> reference = property.getPropertyType();
+  private void addSpecificReference(Generalization generalization) {
+    Classifier<?, ?> specific = generalization.getSpecific().orElse(null);
+    add(generalization, specific, Classifier.class, generalization::setSpecific);
+  }
 
-    if (reference.isEmpty()) return;
+  private void addPropertyTypeReference(Property property) {
+    Classifier<?, ?> type = property.getPropertyType().orElse(null);
+    add(property, type, Classifier.class, property::setPropertyType);
+  }
 
-    Classifier<?, ?> source = resolve(elementMap, reference.get(), Classifier.class);
-    property.setPropertyType(source);
+  private void addSubsettedPropertiesReferences(Property property) {
+    for (Property reference : property.getSubsettedProperties())
+      add(
+          property,
+          reference,
+          Property.class,
+          source -> property.replaceSubsettedProperty(reference, source));
   }
 
-  private static void resolveSubsettedProperties(
-      Map<String, OntoumlElement> elementMap, Property property) {
-    for (Property reference : property.getSubsettedProperties()) {
-      Property source = resolve(elementMap, reference, Property.class);
-      property.replaceSubsettedProperty(reference, source);
-    }
+  private void addRedefinedPropertiesReferences(Property property) {
+    for (Property reference : property.getRedefinedProperties())
+      add(
+          property,
+          reference,
+          Property.class,
+          source -> property.replaceRedefinedProperty(reference, source));
   }
 
-  private static void resolveRedefinedProperties(
-      Map<String, OntoumlElement> elementMap, Property property) {
-    for (Property reference : property.getRedefinedProperties()) {
-      Property source = resolve(elementMap, reference, Property.class);
-      property.replaceRedefinedProperty(reference, source);
-    }
+  private <T> void add(
+      OntoumlElement referrer,
+      OntoumlElement reference,
+      java.lang.Class<T> referenceType,
+      Consumer<? super T> replace) {
+
+    if (reference == null) return;
+
+    JsonLocation location = isTolerant() ? locations.peek() : null;
+
+    pendingReferences
+        .computeIfAbsent(reference.getId(), k -> new ArrayList<>())
+        .add(new PendingReference<>(referrer, location, referenceType, replace));
   }
 
-  private static <T extends OntoumlElement> T resolve(
-      Map<String, OntoumlElement> elementMap, T reference, java.lang.Class<T> referenceType) {
+  private static class PendingReference<T> {
+    private final OntoumlElement referrer;
+    private final JsonLocation location;
+    private final java.lang.Class<T> referenceType;
+    private final Consumer<? super T> replace;
+
+    private PendingReference(
+        OntoumlElement referrer,
+        JsonLocation location,
+        java.lang.Class<T> referenceType,
+        Consumer<? super T> replace) {
+      this.referrer = referrer;
+      this.location = location;
+      this.referenceType = referenceType;
+      this.replace = replace;
+    }
 
-    OntoumlElement source = elementMap.get(reference.getId());
+    private boolean canResolve(OntoumlElement source) {
+      return referenceType.isInstance(source);
+    }
 
-    if (source == null)
-      throw new NullPointerException("Referenced element in property type does not exist!");
+    private void resolve(OntoumlElement source) {
+      replace.accept(referenceType.cast(source));
+    }
 
-    if (!referenceType.isInstance(source))
-      throw new NullPointerException("Referenced element in property type is not a classifier!");
+    private String getTypeName() {
+      return referenceType.getSimpleName();
+    }
 
-    return referenceType.cast(source);
+    private UnresolvedReference toUnresolvedReference(String id, OntoumlElement source) {
+      return new UnresolvedReference(referrer, id, referenceType, source, location);
+    }
   }
 }
@@ -1,10 +1,10 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
 import java.io.IOException;
 
@@ -13,14 +13,15 @@ public class RelationDeserializer extends JsonDeserializer<Relation> {
   @Override
   public Relation deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     Relation relation = new Relation();
-    ElementDeserializer.deserialize(relation, root, codec);
-    ModelElementDeserializer.deserialize(relation, root, codec);
-    DecoratableDeserializer.deserialize(relation, root, codec);
-    ClassifierDeserializer.deserialize(relation, root, codec);
+
+    deserializeFields(
+        parser,
+        fieldName ->
+            ElementDeserializer.deserializeField(relation, fieldName, parser, context)
+                || ModelElementDeserializer.deserializeField(relation, fieldName, parser, context)
+                || DecoratableDeserializer.deserializeField(relation, fieldName, parser, context)
+                || ClassifierDeserializer.deserializeField(relation, fieldName, parser, context));
 
     return relation;
   }
@@ -1,12 +1,11 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObjectField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeObject;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.RelationView;
 import java.io.IOException;
@@ -16,15 +15,20 @@ public class RelationViewDeserializer extends JsonDeserializer<RelationView> {
   @Override
   public RelationView deserialize(JsonParser parser, DeserializationContext context)
       throws IOException {
-    ObjectCodec codec = parser.getCodec();
-    JsonNode root = parser.readValueAsTree();
-
     RelationView view = new RelationView();
 
-    ConnectorViewDeserializer.deserialize(view, root, codec);
+    deserializeFields(
+        parser,
+        fieldName -> {
+          if ("modelElement".equals(fieldName)) {
+            view.setModelElement(deserializeObject(parser, context, Relation.class));
+            return true;
+          }
+
+          return ConnectorViewDeserializer.deserializeField(view, fieldName, parser, context);
+        });
 
-    Relation stub = deserializeObjectField(root, "modelElement", Relation.class, codec);
-    view.setModelElement(stub);
+    ReferenceResolver.addReferences(context, view);
 
     return view;
   }
@@ -1,11 +1,11 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeNullableStringField;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeFields;
+import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializerUtils.deserializeNullableString;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Text;
 import java.io.IOException;
 
@@ -13,14 +13,18 @@ public class TextDeserializer extends JsonDeserializer<Text> {
   @Override
   public Text deserialize(JsonParser parser, DeserializationContext context) throws IOException {
 
-    JsonNode root = parser.readValueAsTree();
-
     Text text = new Text();
 
-    String value = deserializeNullableStringField(root, "value");
-    text.setValue(value);
+    deserializeFields(
+        parser,
+        fieldName -> {
+          if ("value".equals(fieldName)) {
+            text.setValue(deserializeNullableString(parser));
+            return true;
+          }
 
-    RectangularShapeDeserializer.deserialize(text, root);
+          return RectangularShapeDeserializer.deserializeField(text, fieldName, parser);
+        });
 
     return text;
   }
@@ -0,0 +1,90 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+
+/**
+ * A reference of a deserialized element to an element that does not exist in the project or that
+ * has the wrong type. The location is where the referrer starts in the source, if it was recorded.
+ */
+public class UnresolvedReference {
+
+  private final String referrerId;
+  private final String referrerType;
+  private final String referenceId;
+  private final String expectedType;
+  private final String actualType;
+  private final JsonLocation location;
+
+  UnresolvedReference(
+      OntoumlElement referrer,
+      String referenceId,
+      java.lang.Class<?> expectedType,
+      OntoumlElement actual,
+      JsonLocation location) {
+    this.referrerId = referrer.getId();
+    this.referrerType = referrer.getType();
+    this.referenceId = referenceId;
+    this.expectedType = expectedType.getSimpleName();
+    this.actualType = actual != null ? actual.getType() : null;
+    this.location = location;
+  }
+
+  public String getReferrerId() {
+    return referrerId;
+  }
+
+  public String getReferrerType() {
+    return referrerType;
+  }
+
+  public String getReferenceId() {
+    return referenceId;
+  }
+
+  public String getExpectedType() {
+    return expectedType;
+  }
+
+  /** Returns the type of the element with the referenced id, or null if there is none. */
+  public String getActualType() {
+    return actualType;
+  }
+
+  public boolean isMissing() {
+    return actualType == null;
+  }
+
+  public JsonLocation getLocation() {
+    return location;
+  }
+
+  /** Returns the line where the referrer starts, or -1 if unknown, as in binary formats. */
+  public int getLine() {
+    return location != null ? location.getLineNr() : -1;
+  }
+
+  /** Returns the column where the referrer starts, or -1 if unknown. */
+  public int getColumn() {
+    return location != null ? location.getColumnNr() : -1;
+  }
+
+  @Override
+  public String toString() {
+    String problem =
+        isMissing() ? "which does not exist" : "which is a " + actualType + " instead";
+
+    return String.format(
+        "%s%s %s references %s as a %s, %s.",
+        getPosition(), referrerType, referrerId, referenceId, expectedType, problem);
+  }
+
+  private String getPosition() {
+    if (getLine() > 0) return "Line " + getLine() + ", column " + getColumn() + ": ";
+
+    if (location != null && location.getByteOffset() >= 0)
+      return "Byte " + location.getByteOffset() + ": ";
+
+    return "";
+  }
+}
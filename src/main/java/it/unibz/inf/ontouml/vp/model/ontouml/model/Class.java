@@ -72,6 +72,7 @@ public final class Class extends Classifier<Class, ClassStereotype> {
 
   public void setExtensional(Boolean value) {
     isExtensional = value;
+    invalidateContentHash();
   }
 
   public Optional<Boolean> isPowertype() {
@@ -80,6 +81,7 @@ public final class Class extends Classifier<Class, ClassStereotype> {
 
   public void setPowertype(Boolean value) {
     isPowertype = value;
+    invalidateContentHash();
   }
 
   public Optional<Integer> getOrder() {
@@ -88,6 +90,7 @@ public final class Class extends Classifier<Class, ClassStereotype> {
 
   public void setOrder(Integer value) {
     order = value;
+    invalidateContentHash();
   }
 
   public Optional<String> getOrderAsString() {
@@ -105,6 +108,8 @@ public final class Class extends Classifier<Class, ClassStereotype> {
   public void setRestrictedTo(Collection<Nature> restrictedTo) {
     this.restrictedTo.clear();
     this.restrictedTo.addAll(restrictedTo);
+
+    invalidateContentHash();
   }
 
   public void setRestrictedTo(String[] array) {
@@ -115,11 +120,15 @@ public final class Class extends Classifier<Class, ClassStereotype> {
             .collect(Collectors.toList());
     this.restrictedTo.clear();
     this.restrictedTo.addAll(natures);
+
+    invalidateContentHash();
   }
 
   public void setRestrictedTo(Nature... restrictedTo) {
     this.restrictedTo.clear();
     this.restrictedTo.addAll(Arrays.asList(restrictedTo));
+
+    invalidateContentHash();
   }
 
   public List<Literal> getLiterals() {
@@ -150,6 +159,7 @@ public final class Class extends Classifier<Class, ClassStereotype> {
   }
 
   public void setLiterals(Collection<Literal> literals) {
+    this.literals.forEach(l -> l.setContainer(null));
     literals.forEach(l -> l.setContainer(this));
     this.literals.clear();
     this.literals.addAll(literals);
@@ -172,7 +182,9 @@ public final class Class extends Classifier<Class, ClassStereotype> {
 
   public void setAttributes(Collection<Property> attributes) {
     if (properties == null) properties = new ArrayList<>();
-    else properties.clear();
+
+    properties.forEach(p -> p.setContainer(null));
+    properties.clear();
 
     if (attributes == null) return;
 
@@ -210,6 +222,21 @@ public final class Class extends Classifier<Class, ClassStereotype> {
     return contents;
   }
 
+  @Override
+  protected int getContentCount() {
+    return getPropertyCount() + (literals != null ? literals.size() : 0);
+  }
+
+  @Override
+  protected OntoumlElement getContent(int index) {
+    int propertyCount = getPropertyCount();
+    return index < propertyCount ? properties.get(index) : literals.get(index - propertyCount);
+  }
+
+  private int getPropertyCount() {
+    return properties != null ? properties.size() : 0;
+  }
+
   public boolean restrictedToOverlaps(List<Nature> natures) {
     if (natures == null) return false;
 
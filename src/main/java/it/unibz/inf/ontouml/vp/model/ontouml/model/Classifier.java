@@ -1,10 +1,14 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.model;
 
+import it.unibz.inf.ontouml.vp.model.ontouml.GeneralizationGraph;
 import it.unibz.inf.ontouml.vp.model.ontouml.MultilingualText;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public abstract class Classifier<T extends Classifier<T, S>, S extends Stereotype>
     extends Decoratable<S> {
@@ -26,6 +30,7 @@ public abstract class Classifier<T extends Classifier<T, S>, S extends Stereotyp
 
   public void setAbstract(boolean anAbstract) {
     isAbstract = anAbstract;
+    invalidateContentHash();
   }
 
   public boolean isDerived() {
@@ -34,6 +39,7 @@ public abstract class Classifier<T extends Classifier<T, S>, S extends Stereotyp
 
   public void setDerived(boolean derived) {
     isDerived = derived;
+    invalidateContentHash();
   }
 
   public List<Property> getProperties() {
@@ -47,7 +53,12 @@ public abstract class Classifier<T extends Classifier<T, S>, S extends Stereotyp
     }
   }
 
+  public void removeProperty(Property property) {
+    if (properties.remove(property)) property.setContainer(null);
+  }
+
   public void setProperties(Collection<Property> properties) {
+    this.properties.forEach(p -> p.setContainer(null));
     this.properties.clear();
 
     if (properties != null) properties.forEach(p -> addProperty(p));
@@ -58,51 +69,96 @@ public abstract class Classifier<T extends Classifier<T, S>, S extends Stereotyp
   }
 
   public List<Generalization> getGeneralizations() {
-    return null;
+    List<Generalization> generalizations = getGeneralizationsWhereSpecific();
+    generalizations.addAll(getGeneralizationsWhereGeneral());
+    return generalizations;
   }
 
   public List<GeneralizationSet> getGeneralizationSets() {
-    return null;
+    return getGeneralizationSets(g -> g.getSpecific().orElse(null) == this || isGeneralOf(g));
   }
 
   public List<Generalization> getGeneralizationsWhereGeneral() {
-    return null;
+    return getGeneralizationGraph()
+        .map(graph -> new ArrayList<>(graph.getGeneralizationsWhereGeneral(this)))
+        .orElseGet(ArrayList::new);
   }
 
   public List<Generalization> getGeneralizationsWhereSpecific() {
-    return null;
+    return getGeneralizationGraph()
+        .map(graph -> new ArrayList<>(graph.getGeneralizationsWhereSpecific(this)))
+        .orElseGet(ArrayList::new);
   }
 
   public List<GeneralizationSet> getGeneralizationSetsWhereGeneral() {
-    return null;
+    return getGeneralizationSets(this::isGeneralOf);
   }
 
   public List<GeneralizationSet> getGeneralizationSetsWhereSpecific() {
-    return null;
+    return getGeneralizationSets(g -> g.getSpecific().orElse(null) == this);
   }
 
   public List<T> getParents() {
-    return null;
+    return getGeneralizationGraph().map(graph -> cast(graph.getParents(this))).orElseGet(List::of);
   }
 
   public List<T> getChildren() {
-    return null;
+    return getGeneralizationGraph().map(graph -> cast(graph.getChildren(this))).orElseGet(List::of);
   }
 
   public List<T> getAncestors() {
-    return null;
+    return getGeneralizationGraph()
+        .map(graph -> cast(graph.getAncestors(this)))
+        .orElseGet(List::of);
   }
 
   public List<T> getDescendants() {
-    return null;
+    return getGeneralizationGraph()
+        .map(graph -> cast(graph.getDescendants(this)))
+        .orElseGet(List::of);
   }
 
   public List<T> getFilteredAncestors(Predicate<T> filter) {
-    return null;
+    return getAncestors().stream().filter(filter).collect(Collectors.toList());
   }
 
   public List<T> getFilteredDescendants(Predicate<T> filter) {
-    return null;
+    return getDescendants().stream().filter(filter).collect(Collectors.toList());
+  }
+
+  /** Returns whether this classifier is a direct or indirect specialization of the given one. */
+  public boolean isDescendantOf(Classifier<?, ?> classifier) {
+    return getGeneralizationGraph().map(graph -> graph.isAncestor(classifier, this)).orElse(false);
+  }
+
+  /** Returns whether this classifier is a direct or indirect generalization of the given one. */
+  public boolean isAncestorOf(Classifier<?, ?> classifier) {
+    return getGeneralizationGraph().map(graph -> graph.isAncestor(this, classifier)).orElse(false);
+  }
+
+  private Optional<GeneralizationGraph> getGeneralizationGraph() {
+    return getProject().map(Project::getGeneralizationGraph);
+  }
+
+  private boolean isGeneralOf(Generalization generalization) {
+    return generalization.getGeneral().orElse(null) == this;
+  }
+
+  private List<GeneralizationSet> getGeneralizationSets(Predicate<Generalization> filter) {
+    if (getProject().isEmpty()) return new ArrayList<>();
+
+    return getProject().get().getAllGeneralizationSets().stream()
+        .filter(gs -> gs.getGeneralizations().stream().anyMatch(filter))
+        .collect(Collectors.toList());
+  }
+
+  /** Classifiers are only generalized by classifiers of the same type, so the casts are safe. */
+  @SuppressWarnings("unchecked")
+  private List<T> cast(List<Classifier<?, ?>> classifiers) {
+    return classifiers.stream()
+        .filter(c -> getClass().isInstance(c))
+        .map(c -> (T) c)
+        .collect(Collectors.toList());
   }
 
   public static boolean areAbstract(Collection<? extends Classifier<?, ?>> classifiers) {
@@ -25,8 +25,12 @@ public abstract class Decoratable<S extends Stereotype> extends ModelElement {
   }
 
   public void setOntoumlStereotype(S ontoumlStereotype) {
+    S previousStereotype = this.ontoumlStereotype;
     this.ontoumlStereotype = ontoumlStereotype;
     this.customStereotype = null;
+    updateStereotypeIndexes(previousStereotype);
+
+    invalidateContentHash();
   }
 
   public boolean hasOntoumlStereotype() {
@@ -38,8 +42,12 @@ public abstract class Decoratable<S extends Stereotype> extends ModelElement {
   }
 
   public void setCustomStereotype(String customStereotype) {
+    S previousStereotype = this.ontoumlStereotype;
     this.ontoumlStereotype = null;
     this.customStereotype = customStereotype;
+    updateStereotypeIndexes(previousStereotype);
+
+    invalidateContentHash();
   }
 
   public boolean hasCustomStereotype() {
@@ -59,8 +67,18 @@ public abstract class Decoratable<S extends Stereotype> extends ModelElement {
   public abstract void setStereotype(String stereotypeName);
 
   public void removeStereotype() {
+    S previousStereotype = ontoumlStereotype;
     ontoumlStereotype = null;
     customStereotype = null;
+    updateStereotypeIndexes(previousStereotype);
+
+    invalidateContentHash();
+  }
+
+  private void updateStereotypeIndexes(S previousStereotype) {
+    if (previousStereotype == ontoumlStereotype) return;
+
+    getContainerIndexes().forEach(index -> index.updateStereotype(this, previousStereotype));
   }
 
   public boolean hasStereotype() {
@@ -6,6 +6,7 @@ import it.unibz.inf.ontouml.vp.model.ontouml.MultilingualText;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.GeneralizationDeserializer;
 import it.unibz.inf.ontouml.vp.model.ontouml.serialization.GeneralizationSerializer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -53,12 +54,25 @@ public class Generalization extends ModelElement {
     return Collections.emptyList();
   }
 
+  @Override
+  public List<OntoumlElement> getReferences() {
+    List<OntoumlElement> references = new ArrayList<>();
+
+    if (general != null) references.add(general);
+    if (specific != null) references.add(specific);
+
+    return references;
+  }
+
   public Optional<Classifier<?, ?>> getGeneral() {
     return Optional.ofNullable(general);
   }
 
   public void setGeneral(Classifier<?, ?> general) {
     this.general = general;
+    getProject().ifPresent(project -> project.getGeneralizationGraph().update(this));
+
+    invalidateContentHash();
   }
 
   public Optional<Classifier<?, ?>> getSpecific() {
@@ -67,6 +81,9 @@ public class Generalization extends ModelElement {
 
   public void setSpecific(Classifier<?, ?> specific) {
     this.specific = specific;
+    getProject().ifPresent(project -> project.getGeneralizationGraph().update(this));
+
+    invalidateContentHash();
   }
 
   public boolean involvesClasses() {
@@ -16,7 +16,7 @@ public class GeneralizationSet extends ModelElement {
   private boolean isDisjoint;
   private boolean isComplete;
   private Class categorizer;
-  private Set<Generalization> generalizations = new HashSet<>();
+  private Set<Generalization> generalizations = new LinkedHashSet<>();
 
   public GeneralizationSet(
       String id,
@@ -72,6 +72,7 @@ public class GeneralizationSet extends ModelElement {
 
   public void setDisjoint(boolean disjoint) {
     isDisjoint = disjoint;
+    invalidateContentHash();
   }
 
   public boolean isComplete() {
@@ -80,6 +81,7 @@ public class GeneralizationSet extends ModelElement {
 
   public void setComplete(boolean complete) {
     isComplete = complete;
+    invalidateContentHash();
   }
 
   public Optional<Class> getCategorizer() {
@@ -88,15 +90,18 @@ public class GeneralizationSet extends ModelElement {
 
   public void setCategorizer(Class categorizer) {
     this.categorizer = categorizer;
+    invalidateContentHash();
   }
 
   public Set<Generalization> getGeneralizations() {
-    return new HashSet<>(generalizations);
+    return new LinkedHashSet<>(generalizations);
   }
 
   public void setGeneralizations(Collection<Generalization> generalizations) {
     this.generalizations.clear();
     OntoumlUtils.addIfNotNull(this.generalizations, generalizations);
+
+    invalidateContentHash();
   }
 
   public void addGeneralization(Generalization generalization) {
@@ -104,6 +109,15 @@ public class GeneralizationSet extends ModelElement {
       throw new NullPointerException("Cannot add a null generalization to the generalization set.");
 
     this.generalizations.add(generalization);
+
+    invalidateContentHash();
+  }
+
+  public void replaceGeneralization(Generalization toReplace, Generalization replaceFor) {
+    if (generalizations.remove(toReplace)) {
+      generalizations.add(replaceFor);
+      invalidateContentHash();
+    }
   }
 
   @Override
@@ -111,6 +125,16 @@ public class GeneralizationSet extends ModelElement {
     return Collections.emptyList();
   }
 
+  @Override
+  public List<OntoumlElement> getReferences() {
+    List<OntoumlElement> references = new ArrayList<>();
+
+    if (categorizer != null) references.add(categorizer);
+
+    references.addAll(generalizations);
+    return references;
+  }
+
   @Override
   public String getType() {
     return "GeneralizationSet";
@@ -26,6 +26,8 @@ public abstract class ModelElement extends OntoumlElement {
       throw new IllegalArgumentException("Cannot set a null map as the property assignments.");
 
     this.propertyAssignments.putAll(map);
+
+    invalidateContentHash();
   }
 
   public void addPropertyAssignment(String name, Object value) {
@@ -33,6 +35,8 @@ public abstract class ModelElement extends OntoumlElement {
       throw new IllegalArgumentException("The name of a property assignment cannot be null.");
 
     propertyAssignments.put(name, value);
+
+    invalidateContentHash();
   }
 
   public void removePropertyAssignment(String name) {
@@ -40,10 +44,13 @@ public abstract class ModelElement extends OntoumlElement {
       throw new IllegalArgumentException("The name of a property assignment cannot be null.");
 
     propertyAssignments.remove(name);
+
+    invalidateContentHash();
   }
 
   public void clearPropertyAssignments() {
     propertyAssignments.clear();
+    invalidateContentHash();
   }
 
   public Optional<Object> getPropertyAssignment(String name) {
@@ -3,6 +3,7 @@ package it.unibz.inf.ontouml.vp.model.ontouml.model;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import it.unibz.inf.ontouml.vp.model.ontouml.ElementTypeIndex;
 import it.unibz.inf.ontouml.vp.model.ontouml.ModelElementContainer;
 import it.unibz.inf.ontouml.vp.model.ontouml.MultilingualText;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
@@ -10,6 +11,8 @@ import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlUtils;
 import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.PackageDeserializer;
 import it.unibz.inf.ontouml.vp.model.ontouml.serialization.PackageSerializer;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @JsonSerialize(using = PackageSerializer.class)
 @JsonDeserialize(using = PackageDeserializer.class)
@@ -18,6 +21,12 @@ public class Package extends ModelElement implements ModelElementContainer {
 
   List<ModelElement> contents = new ArrayList<>();
 
+  /**
+   * Index of the contents of the package by concrete type, except for the contents of nested
+   * packages, which are held by the indexes of those packages.
+   */
+  private final ElementTypeIndex contentIndex = new ElementTypeIndex();
+
   public Package(String id, MultilingualText name) {
     super(id, name);
   }
@@ -49,6 +58,65 @@ public class Package extends ModelElement implements ModelElementContainer {
     return copiedContents;
   }
 
+  @Override
+  protected int getContentCount() {
+    return contents != null ? contents.size() : 0;
+  }
+
+  @Override
+  protected OntoumlElement getContent(int index) {
+    return contents.get(index);
+  }
+
+  @Override
+  protected Optional<ElementTypeIndex> getContentIndex() {
+    return Optional.of(contentIndex);
+  }
+
+  /** Returns a read-only list of the contents of the package that are instances of the type. */
+  @Override
+  public <T> List<T> getAllContentsByType(java.lang.Class<T> type) {
+    return collect(index -> index.get(type));
+  }
+
+  @Override
+  public List<Class> getClassesByStereotype(ClassStereotype stereotype) {
+    if (stereotype == null) throw new NullPointerException("Input stereotype cannot be null!");
+
+    return collect(index -> index.getClassesByStereotype(stereotype));
+  }
+
+  @Override
+  public List<Relation> getRelationsByStereotype(RelationStereotype stereotype) {
+    if (stereotype == null) throw new NullPointerException("Input stereotype cannot be null!");
+
+    return collect(index -> index.getRelationsByStereotype(stereotype));
+  }
+
+  @Override
+  public List<Property> getAttributesByStereotype(PropertyStereotype stereotype) {
+    if (stereotype == null) throw new NullPointerException("Input stereotype cannot be null!");
+
+    return collect(index -> index.getPropertiesByStereotype(stereotype)).stream()
+        .filter(Property::isAttribute)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Combines the results of a query on the index of the package and on those of the packages
+   * nested in it, in depth-first order. The result of a package without nested packages is
+   * returned as is.
+   */
+  private <T> List<T> collect(Function<ElementTypeIndex, List<T>> query) {
+    List<Package> packages = contentIndex.get(Package.class);
+
+    if (packages.isEmpty()) return query.apply(contentIndex);
+
+    List<T> results = new ArrayList<>(query.apply(contentIndex));
+    packages.forEach(pkg -> results.addAll(pkg.collect(query)));
+    return Collections.unmodifiableList(results);
+  }
+
   public <T extends ModelElement> T addContent(T child) {
     if (child == null) throw new NullPointerException("Cannot add a null element to the package.");
 
@@ -62,11 +130,29 @@ public class Package extends ModelElement implements ModelElementContainer {
     contents.stream().filter(Objects::nonNull).forEach(x -> addContent(x));
   }
 
+  public void removeContent(ModelElement child) {
+    if (contents.remove(child)) child.setContainer(null);
+  }
+
   public void setContents(Collection<? extends ModelElement> contents) {
+    this.contents.forEach(child -> child.setContainer(null));
     this.contents.clear();
     addContents(contents);
   }
 
+  /**
+   * Moves the contents of another package after the contents of this one. Unlike removing and
+   * adding them again, contents never leave the project if both packages belong to it, so the
+   * project does not need to index them again.
+   */
+  public void moveContentsFrom(Package other) {
+    if (other == null || other == this) return;
+
+    List<ModelElement> moved = new ArrayList<>(other.contents);
+    other.contents.clear();
+    moved.forEach(this::addContent);
+  }
+
   public boolean hasContents() {
     return contents != null && contents.size() > 0;
   }
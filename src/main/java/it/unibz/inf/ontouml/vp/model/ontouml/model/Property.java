@@ -82,6 +82,17 @@ public final class Property extends Decoratable<PropertyStereotype> {
     return Collections.emptyList();
   }
 
+  @Override
+  public List<OntoumlElement> getReferences() {
+    List<OntoumlElement> references = new ArrayList<>();
+
+    if (propertyType != null) references.add(propertyType);
+
+    references.addAll(subsettedProperties);
+    references.addAll(redefinedProperties);
+    return references;
+  }
+
   public Cardinality getCardinality() {
     return cardinality;
   }
@@ -95,14 +106,18 @@ public final class Property extends Decoratable<PropertyStereotype> {
       throw new NullPointerException("Cannot set null cardinality object on property!");
 
     this.cardinality = cardinality;
+
+    invalidateContentHash();
   }
 
   public void setCardinality(String cardinality) {
     this.cardinality.setValue(cardinality);
+    invalidateContentHash();
   }
 
   public void setPropertyType(Classifier<?, ?> propertyType) {
     this.propertyType = propertyType;
+    invalidateContentHash();
   }
 
   public List<Property> getSubsettedProperties() {
@@ -113,6 +128,8 @@ public final class Property extends Decoratable<PropertyStereotype> {
     this.subsettedProperties.clear();
     if (subsettedProperties != null)
       OntoumlUtils.addIfNotNull(this.subsettedProperties, subsettedProperties);
+
+    invalidateContentHash();
   }
 
   public void addSubsettedProperty(Property property) {
@@ -121,16 +138,20 @@ public final class Property extends Decoratable<PropertyStereotype> {
           "Cannot add a null value to the list of subsetted properties.");
 
     subsettedProperties.add(property);
+
+    invalidateContentHash();
   }
 
   public void removeSubsettedProperty(Property property) {
     subsettedProperties.remove(property);
+    invalidateContentHash();
   }
 
   public void replaceSubsettedProperty(Property toReplace, Property replaceFor) {
     int i = subsettedProperties.indexOf(toReplace);
     if (i >= 0) {
       subsettedProperties.set(i, replaceFor);
+      invalidateContentHash();
     }
   }
 
@@ -142,6 +163,8 @@ public final class Property extends Decoratable<PropertyStereotype> {
     this.redefinedProperties.clear();
     if (redefinedProperties != null)
       OntoumlUtils.addIfNotNull(this.redefinedProperties, redefinedProperties);
+
+    invalidateContentHash();
   }
 
   public void addRedefinedProperty(Property property) {
@@ -150,16 +173,20 @@ public final class Property extends Decoratable<PropertyStereotype> {
           "Cannot add a null value to the list of redefined properties.");
 
     redefinedProperties.add(property);
+
+    invalidateContentHash();
   }
 
   public void removeRedefinedProperty(Property property) {
     redefinedProperties.remove(property);
+    invalidateContentHash();
   }
 
   public void replaceRedefinedProperty(Property toReplace, Property replaceFor) {
     int i = redefinedProperties.indexOf(toReplace);
     if (i >= 0) {
       redefinedProperties.set(i, replaceFor);
+      invalidateContentHash();
     }
   }
 
@@ -169,6 +196,7 @@ public final class Property extends Decoratable<PropertyStereotype> {
 
   public void setAggregationKind(AggregationKind aggregationKind) {
     this.aggregationKind = aggregationKind;
+    invalidateContentHash();
   }
 
   public boolean isDerived() {
@@ -177,6 +205,7 @@ public final class Property extends Decoratable<PropertyStereotype> {
 
   public void setDerived(boolean derived) {
     isDerived = derived;
+    invalidateContentHash();
   }
 
   public boolean isOrdered() {
@@ -185,6 +214,7 @@ public final class Property extends Decoratable<PropertyStereotype> {
 
   public void setOrdered(boolean ordered) {
     isOrdered = ordered;
+    invalidateContentHash();
   }
 
   public boolean isReadOnly() {
@@ -193,6 +223,7 @@ public final class Property extends Decoratable<PropertyStereotype> {
 
   public void setReadOnly(boolean readOnly) {
     isReadOnly = readOnly;
+    invalidateContentHash();
   }
 
   public Optional<Classifier<?, ?>> getPropertyType() {
@@ -116,6 +116,16 @@ public final class Relation extends Classifier<Relation, RelationStereotype> {
     return List.copyOf(getProperties());
   }
 
+  @Override
+  protected int getContentCount() {
+    return properties.size();
+  }
+
+  @Override
+  protected OntoumlElement getContent(int index) {
+    return properties.get(index);
+  }
+
   @Override
   public String getType() {
     return "Relation";
@@ -23,7 +23,9 @@ public class ClassSerializer extends JsonSerializer<Class> {
         "isExtensional", clazz.isExtensional().orElse(null), jsonGen);
     Serializer.writeNullableBooleanField("isPowertype", clazz.isPowertype().orElse(null), jsonGen);
     Serializer.writeNullableStringField("order", clazz.getOrderAsString().orElse(null), jsonGen);
-    Serializer.writeNullableArrayField("literals", clazz.getLiterals(), jsonGen);
+
+    if (!ElementStreamSerializer.isElementStream(jsonGen))
+      Serializer.writeNullableArrayField("literals", clazz.getLiterals(), jsonGen);
 
     if (!clazz.getRestrictedTo().isEmpty()) {
       jsonGen.writeArrayFieldStart("restrictedTo");
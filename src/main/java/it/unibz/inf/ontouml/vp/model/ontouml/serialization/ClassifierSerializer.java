@@ -22,6 +22,8 @@ public class ClassifierSerializer extends JsonSerializer<Classifier<?, ?>> {
     DecoratableSerializer.serializeFields(classifier, jsonGen);
     jsonGen.writeBooleanField("isAbstract", classifier.isAbstract());
     jsonGen.writeBooleanField("isDerived", classifier.isDerived());
-    Serializer.writeNullableArrayField("properties", classifier.getProperties(), jsonGen);
+
+    if (!ElementStreamSerializer.isElementStream(jsonGen))
+      Serializer.writeNullableArrayField("properties", classifier.getProperties(), jsonGen);
   }
 }
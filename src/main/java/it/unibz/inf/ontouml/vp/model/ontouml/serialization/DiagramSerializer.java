@@ -22,6 +22,8 @@ public class DiagramSerializer extends JsonSerializer<Diagram> {
       throws IOException {
     OntoumlElementSerializer.serializeFields(diagram, jsonGen);
     writeNullableReferenceField("owner", diagram.getOwner(), jsonGen);
-    jsonGen.writeObjectField("contents", diagram.getContents());
+
+    if (!ElementStreamSerializer.isElementStream(jsonGen))
+      jsonGen.writeObjectField("contents", diagram.getContents());
   }
 }
@@ -0,0 +1,116 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Shape;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Serializes a project as a stream of elements, one flat element per line (NDJSON). Each element
+ * starts with a "container" reference to the element that contains it, which is null for the
+ * project, and leaves out its contents, which follow on lines of their own. Elements are written
+ * depth-first, the model before the diagrams, so every container precedes its contents. Shapes are
+ * kept inline in their views.
+ */
+public class ElementStreamSerializer extends JsonSerializer<Project> {
+
+  /** Serializer of the project line, as the serializer of projects is this one in streams. */
+  private static final ProjectSerializer projectSerializer = new ProjectSerializer();
+
+  @Override
+  public void serialize(Project project, JsonGenerator jsonGen, SerializerProvider provider)
+      throws IOException {
+    ElementStreamGenerator elementGen = new ElementStreamGenerator(jsonGen, true);
+
+    writeElement(project, elementGen, provider);
+
+    if (project.getModel().isPresent()) writeTree(project.getModel().get(), elementGen, provider);
+
+    for (Diagram diagram : project.getDiagrams()) writeTree(diagram, elementGen, provider);
+
+    jsonGen.writeRaw('\n');
+  }
+
+  /**
+   * Writes an element as a line of a stream, but without its container, so only the fields of the
+   * element itself are written.
+   */
+  public static void writeFlatElement(
+      OntoumlElement element, JsonGenerator jsonGen, SerializerProvider provider)
+      throws IOException {
+    writeElement(element, new ElementStreamGenerator(jsonGen, false), provider);
+  }
+
+  /** Returns whether contents should be left out of elements, as they are written on their own. */
+  static boolean isElementStream(JsonGenerator jsonGen) {
+    return jsonGen instanceof ElementStreamGenerator;
+  }
+
+  private static void writeTree(
+      OntoumlElement root, ElementStreamGenerator elementGen, SerializerProvider provider)
+      throws IOException {
+    writeElement(root, elementGen, provider);
+
+    Iterator<OntoumlElement> contents = root.streamAllContents().iterator();
+
+    while (contents.hasNext()) {
+      OntoumlElement element = contents.next();
+
+      if (!(element instanceof Shape)) writeElement(element, elementGen, provider);
+    }
+  }
+
+  private static void writeElement(
+      OntoumlElement element, ElementStreamGenerator elementGen, SerializerProvider provider)
+      throws IOException {
+    elementGen.container = element.getContainer().orElse(null);
+
+    if (element instanceof Project)
+      projectSerializer.serialize((Project) element, elementGen, provider);
+    else provider.findValueSerializer(element.getClass()).serialize(element, elementGen, provider);
+  }
+
+  /** Generator that may write the container of an element as the first field of each line. */
+  private static class ElementStreamGenerator extends JsonGeneratorDelegate {
+
+    private final boolean writesContainer;
+    private OntoumlElement container;
+
+    private ElementStreamGenerator(JsonGenerator delegate, boolean writesContainer) {
+      super(delegate);
+      this.writesContainer = writesContainer;
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+      boolean isElementStart = getOutputContext().inRoot();
+      super.writeStartObject();
+      writeContainer(isElementStart);
+    }
+
+    @Override
+    public void writeStartObject(Object forValue) throws IOException {
+      boolean isElementStart = getOutputContext().inRoot();
+      super.writeStartObject(forValue);
+      writeContainer(isElementStart);
+    }
+
+    @Override
+    public void writeStartObject(Object forValue, int size) throws IOException {
+      boolean isElementStart = getOutputContext().inRoot();
+      super.writeStartObject(forValue, size);
+      writeContainer(isElementStart);
+    }
+
+    private void writeContainer(boolean isElementStart) throws IOException {
+      if (isElementStart && writesContainer)
+        Serializer.writeNullableReferenceField("container", container, this);
+    }
+  }
+}
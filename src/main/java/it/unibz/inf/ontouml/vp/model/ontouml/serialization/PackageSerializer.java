@@ -18,6 +18,8 @@ public class PackageSerializer extends JsonSerializer<Package> {
 
   static void serializeFields(Package pkg, JsonGenerator jsonGen) throws IOException {
     ModelElementSerializer.serializeFields(pkg, jsonGen);
-    Serializer.writeNullableArrayField("contents", pkg.getContents(), jsonGen);
+
+    if (!ElementStreamSerializer.isElementStream(jsonGen))
+      Serializer.writeNullableArrayField("contents", pkg.getContents(), jsonGen);
   }
 }
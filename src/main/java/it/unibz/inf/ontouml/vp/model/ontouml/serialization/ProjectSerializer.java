@@ -18,6 +18,9 @@ public class ProjectSerializer extends JsonSerializer<Project> {
 
   static void serializeFields(Project project, JsonGenerator jsonGen) throws IOException {
     OntoumlElementSerializer.serializeFields(project, jsonGen);
+
+    if (ElementStreamSerializer.isElementStream(jsonGen)) return;
+
     jsonGen.writeObjectField("model", project.getModel().orElse(null));
     Serializer.writeNullableArrayField("diagrams", project.getDiagrams(), jsonGen);
   }
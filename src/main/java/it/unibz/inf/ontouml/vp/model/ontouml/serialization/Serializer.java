@@ -2,10 +2,32 @@ package it.unibz.inf.ontouml.vp.model.ontouml.serialization;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
 
 public class Serializer {
+
+  /**
+   * Writes a project as JSON directly into an output stream, without building the document in
+   * memory. The stream is flushed but not closed.
+   */
+  public static void writeProject(Project project, OutputStream out) throws IOException {
+    ProjectFormat.JSON.write(project, out);
+  }
+
+  /** Writes a project as the next value of a generator, e.g., as the value of a field. */
+  public static void writeProject(Project project, JsonGenerator jsonGen) throws IOException {
+    ProjectFormat.JSON.getWriter().writeValue(jsonGen, project);
+  }
+
+  /** Creates a generator that shares the configuration of the writer of JSON projects. */
+  public static JsonGenerator createGenerator(OutputStream out) throws IOException {
+    return ProjectFormat.JSON.getWriter().createGenerator(out);
+  }
+
   public static void writeNullableStringField(String fieldName, String value, JsonGenerator jsonGen)
       throws IOException {
 
@@ -28,6 +28,16 @@ public abstract class ConnectorView<T extends ModelElement> extends ElementView<
     return contents;
   }
 
+  @Override
+  protected int getContentCount() {
+    return 1;
+  }
+
+  @Override
+  protected OntoumlElement getContent(int index) {
+    return shape;
+  }
+
   @Override
   Path createShape() {
     return new Path();
@@ -47,6 +57,7 @@ public abstract class ConnectorView<T extends ModelElement> extends ElementView<
 
   public void setSource(ElementView<?, ?> source) {
     this.source = source;
+    invalidateContentHash();
   }
 
   public ElementView<?, ?> getTarget() {
@@ -55,5 +66,16 @@ public abstract class ConnectorView<T extends ModelElement> extends ElementView<
 
   public void setTarget(ElementView<?, ?> target) {
     this.target = target;
+    invalidateContentHash();
+  }
+
+  @Override
+  public List<OntoumlElement> getReferences() {
+    List<OntoumlElement> references = new ArrayList<>(super.getReferences());
+
+    if (source != null) references.add(source);
+    if (target != null) references.add(target);
+
+    return references;
   }
 }
@@ -16,7 +16,10 @@ import java.util.*;
 public class Diagram extends DiagramElement implements DiagramElementContainer {
 
   private ModelElement owner;
-  private Set<ElementView<?, ?>> contents = new HashSet<>();
+  private final List<ElementView<?, ?>> contents = new ArrayList<>();
+
+  /** The same views as {@link #contents}, to tell whether a view is already in the diagram. */
+  private final Set<ElementView<?, ?>> contentSet = new HashSet<>();
 
   @Override
   public String getType() {
@@ -40,6 +43,16 @@ public class Diagram extends DiagramElement implements DiagramElementContainer {
     return new ArrayList<>(contents);
   }
 
+  @Override
+  protected int getContentCount() {
+    return contents.size();
+  }
+
+  @Override
+  protected OntoumlElement getContent(int index) {
+    return contents.get(index);
+  }
+
   public List<ElementView> getDiagramElements() {
     return new ArrayList<>(contents);
   }
@@ -48,7 +61,7 @@ public class Diagram extends DiagramElement implements DiagramElementContainer {
     if (diagramElement == null) return;
 
     diagramElement.setContainer(this);
-    contents.add(diagramElement);
+    if (contentSet.add(diagramElement)) contents.add(diagramElement);
   }
 
   public void addElements(Collection<? extends ElementView<?, ?>> diagramElements) {
@@ -61,8 +74,17 @@ public class Diagram extends DiagramElement implements DiagramElementContainer {
     addElements(List.of(diagramElements));
   }
 
+  public void removeElement(ElementView<?, ?> diagramElement) {
+    if (contentSet.remove(diagramElement)) {
+      contents.remove(diagramElement);
+      diagramElement.setContainer(null);
+    }
+  }
+
   public void setContents(Collection<? extends ElementView<?, ?>> diagramElements) {
+    this.contents.forEach(e -> e.setContainer(null));
     this.contents.clear();
+    this.contentSet.clear();
     if (diagramElements != null) addElements(diagramElements);
   }
 
@@ -73,9 +95,15 @@ public class Diagram extends DiagramElement implements DiagramElementContainer {
 
   public void setOwner(ModelElement owner) {
     this.owner = owner;
+    invalidateContentHash();
   }
 
   public ModelElement getOwner() {
     return owner;
   }
+
+  @Override
+  public List<OntoumlElement> getReferences() {
+    return owner != null ? List.of(owner) : List.of();
+  }
 }
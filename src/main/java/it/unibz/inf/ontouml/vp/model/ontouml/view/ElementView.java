@@ -1,6 +1,8 @@
 package it.unibz.inf.ontouml.vp.model.ontouml.view;
 
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
+import java.util.List;
 
 /**
  * A graphical representation of a {@link ModelElement} within a {@link Diagram} .
@@ -17,6 +19,7 @@ public abstract class ElementView<T extends ModelElement, S extends Shape> exten
   public ElementView(String id, T modelElement) {
     super(id);
     this.shape = createShape();
+    this.shape.setContainer(this);
     this.modelElement = modelElement;
   }
 
@@ -30,6 +33,12 @@ public abstract class ElementView<T extends ModelElement, S extends Shape> exten
 
   public void setModelElement(T modelElement) {
     this.modelElement = modelElement;
+    invalidateContentHash();
+  }
+
+  @Override
+  public List<OntoumlElement> getReferences() {
+    return modelElement != null ? List.of(modelElement) : List.of();
   }
 
   public S getShape() {
@@ -37,7 +46,12 @@ public abstract class ElementView<T extends ModelElement, S extends Shape> exten
   }
 
   public void setShape(S shape) {
-    if (shape != null) this.shape = shape;
+    if (shape == null) return;
+
+    if (this.shape != shape) this.shape.setContainer(null);
+
+    shape.setContainer(this);
+    this.shape = shape;
   }
 
   abstract S createShape();
@@ -30,6 +30,11 @@ public class GeneralizationView extends ConnectorView<Generalization> {
     return new ArrayList<>();
   }
 
+  @Override
+  protected int getContentCount() {
+    return 0;
+  }
+
   @Override
   public String getType() {
     return "GeneralizationView";
@@ -25,6 +25,16 @@ public abstract class NodeView<T extends ModelElement, S extends RectangularShap
     return Arrays.asList(shape);
   }
 
+  @Override
+  protected int getContentCount() {
+    return 1;
+  }
+
+  @Override
+  protected OntoumlElement getContent(int index) {
+    return shape;
+  }
+
   public int getX() {
     return shape.getX();
   }
@@ -43,6 +43,8 @@ public class Path extends Shape {
   public void setPoints(List<Point> points) {
     this.points.clear();
     if (points != null) addPoints(points);
+
+    invalidateContentHash();
   }
 
   public void addPoints(List<Point> points) {
@@ -51,6 +53,7 @@ public class Path extends Shape {
 
   public void addPoint(Point point) {
     if (point != null) points.add(point);
+    invalidateContentHash();
   }
 
   @Override
@@ -31,6 +31,7 @@ public abstract class RectangularShape extends Shape {
 
   public void setX(Integer x) {
     topLeft.setX(x);
+    invalidateContentHash();
   }
 
   public int getY() {
@@ -39,6 +40,7 @@ public abstract class RectangularShape extends Shape {
 
   public void setY(Integer y) {
     topLeft.setY(y);
+    invalidateContentHash();
   }
 
   public int getWidth() {
@@ -47,6 +49,7 @@ public abstract class RectangularShape extends Shape {
 
   public void setWidth(Integer width) {
     this.width = (width != null) ? width : 0;
+    invalidateContentHash();
   }
 
   public int getHeight() {
@@ -55,5 +58,6 @@ public abstract class RectangularShape extends Shape {
 
   public void setHeight(Integer height) {
     this.height = (height != null) ? height : 0;
+    invalidateContentHash();
   }
 }
@@ -32,6 +32,7 @@ public class Text extends RectangularShape {
 
   public void setValue(String value) {
     this.value = value;
+    invalidateContentHash();
   }
 
   @Override
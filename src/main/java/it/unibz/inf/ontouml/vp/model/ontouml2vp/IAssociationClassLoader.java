@@ -3,10 +3,8 @@ package it.unibz.inf.ontouml.vp.model.ontouml2vp;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.loadName;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.logElementCreation;
 
-import com.vp.plugin.ApplicationManager;
 import com.vp.plugin.model.IAssociationClass;
 import com.vp.plugin.model.IModelElement;
-import com.vp.plugin.model.IProject;
 import com.vp.plugin.model.factory.IModelElementFactory;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Classifier;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
@@ -14,8 +12,6 @@ import it.unibz.inf.ontouml.vp.utils.StereotypesManager;
 
 public class IAssociationClassLoader {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
-
   public static IAssociationClass importElement(Relation fromRelation) {
     logElementCreation(fromRelation);
 
@@ -47,7 +43,7 @@ public class IAssociationClassLoader {
 
   private static void loadSource(Relation fromRelation, IAssociationClass toRelation) {
     Classifier<?, ?> fromSource = fromRelation.getSource();
-    IModelElement toSource = vpProject.getModelElementById(fromSource.getId());
+    IModelElement toSource = LoadSession.getInstance().getModelElement(fromSource.getId());
 
     if (toSource != null) {
       toRelation.setFrom(toSource);
@@ -56,7 +52,7 @@ public class IAssociationClassLoader {
 
   private static void loadTarget(Relation fromRelation, IAssociationClass toRelation) {
     Classifier<?, ?> fromTarget = fromRelation.getTarget();
-    IModelElement toTarget = vpProject.getModelElementById(fromTarget.getId());
+    IModelElement toTarget = LoadSession.getInstance().getModelElement(fromTarget.getId());
 
     if (toTarget != null) {
       toRelation.setTo(toTarget);
@@ -64,13 +60,14 @@ public class IAssociationClassLoader {
   }
 
   private static IAssociationClass getOrCreateAssociation(Relation fromRelation) {
-    IModelElement toRelation = vpProject.getModelElementById(fromRelation.getId());
+    LoadSession session = LoadSession.getInstance();
+    IModelElement toRelation = session.getModelElement(fromRelation.getId());
 
     if (toRelation instanceof IAssociationClass) {
       System.out.println("Relation " + fromRelation.getId() + " exists! Let's update it!");
     } else {
       System.out.println("Relation " + fromRelation.getId() + " not found! Let's create it");
-      toRelation = IModelElementFactory.instance().createAssociationClass();
+      toRelation = session.add(IModelElementFactory.instance().createAssociationClass());
     }
 
     return (IAssociationClass) toRelation;
@@ -3,7 +3,6 @@ package it.unibz.inf.ontouml.vp.model.ontouml2vp;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.loadName;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.logElementCreation;
 
-import com.vp.plugin.ApplicationManager;
 import com.vp.plugin.model.*;
 import com.vp.plugin.model.factory.IModelElementFactory;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Classifier;
@@ -13,8 +12,6 @@ import it.unibz.inf.ontouml.vp.utils.StereotypesManager;
 
 public class IAssociationLoader {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
-
   public static IAssociation importElement(Relation fromRelation) {
     logElementCreation(fromRelation);
 
@@ -73,26 +70,27 @@ public class IAssociationLoader {
 
   private static void loadSource(Relation fromRelation, IAssociation toRelation) {
     Classifier<?, ?> fromSource = fromRelation.getSource();
-    IModelElement toSource = vpProject.getModelElementById(fromSource.getId());
+    IModelElement toSource = LoadSession.getInstance().getModelElement(fromSource.getId());
 
     if (toSource != null) toRelation.setFrom(toSource);
   }
 
   private static void loadTarget(Relation fromRelation, IAssociation toRelation) {
     Classifier<?, ?> fromTarget = fromRelation.getTarget();
-    IModelElement toTarget = vpProject.getModelElementById(fromTarget.getId());
+    IModelElement toTarget = LoadSession.getInstance().getModelElement(fromTarget.getId());
 
     if (toTarget != null) toRelation.setTo(toTarget);
   }
 
   private static IAssociation getOrCreateAssociation(Relation fromRelation) {
-    IModelElement toRelation = vpProject.getModelElementById(fromRelation.getId());
+    LoadSession session = LoadSession.getInstance();
+    IModelElement toRelation = session.getModelElement(fromRelation.getId());
 
     if (toRelation instanceof IAssociation) {
       System.out.println("Relation " + fromRelation.getId() + " exists! Let's update it!");
     } else {
       System.out.println("Relation " + fromRelation.getId() + " not found! Let's create it");
-      toRelation = IModelElementFactory.instance().createAssociation();
+      toRelation = session.add(IModelElementFactory.instance().createAssociation());
     }
 
     return (IAssociation) toRelation;
@@ -2,7 +2,6 @@ package it.unibz.inf.ontouml.vp.model.ontouml2vp;
 
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.*;
 
-import com.vp.plugin.ApplicationManager;
 import com.vp.plugin.model.*;
 import com.vp.plugin.model.factory.IModelElementFactory;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.AggregationKind;
@@ -13,8 +12,6 @@ import java.util.Optional;
 
 public class IAttributeLoader {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
-
   public static void importAttributes(Class fromClass) {
     IClass toClass = getToClass(fromClass);
 
@@ -66,7 +63,7 @@ public class IAttributeLoader {
     if (fromPropertyTypeOp.isPresent() && fromPropertyTypeOp.get() instanceof Class) {
       Class fromPropertyType = (Class) fromPropertyTypeOp.get();
       String id = fromPropertyType.getId();
-      return Optional.ofNullable(vpProject.getModelElementById(id));
+      return Optional.ofNullable(LoadSession.getInstance().getModelElement(id));
     }
 
     return Optional.empty();
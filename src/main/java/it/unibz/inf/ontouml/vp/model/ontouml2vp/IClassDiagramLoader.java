@@ -6,13 +6,11 @@ import com.vp.plugin.diagram.IClassDiagramUIModel;
 import com.vp.plugin.diagram.IDiagramUIModel;
 import com.vp.plugin.diagram.shape.IClassUIModel;
 import com.vp.plugin.model.IModelElement;
-import com.vp.plugin.model.IProject;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
 import java.util.stream.Stream;
 
 public class IClassDiagramLoader {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
   static DiagramManager diagramManager = ApplicationManager.instance().getDiagramManager();
 
   public static void load(Diagram fromDiagram, boolean shouldOverride, boolean shouldAutoLayout) {
@@ -74,7 +72,7 @@ public class IClassDiagramLoader {
 
   private static void transferDiagramProperties(Diagram fromDiagram, IDiagramUIModel toDiagram) {
     String fromOwnerId = fromDiagram.getOwner().getId();
-    IModelElement toOwner = vpProject.getModelElementById(fromOwnerId);
+    IModelElement toOwner = LoadSession.getInstance().getModelElement(fromOwnerId);
 
     if (toOwner != null) toOwner.addSubDiagram(toDiagram);
 
@@ -83,10 +81,12 @@ public class IClassDiagramLoader {
   }
 
   private static IClassDiagramUIModel createIDiagram(Diagram fromDiagram) {
-    IDiagramUIModel vpDiagram = vpProject.getDiagramById(fromDiagram.getId());
+    LoadSession session = LoadSession.getInstance();
+    IDiagramUIModel vpDiagram = session.getDiagram(fromDiagram.getId());
 
     if (vpDiagram != null) {
       System.out.println("Diagram " + fromDiagram.getId() + " exists! Let's override it!");
+      session.removeDiagram(vpDiagram);
       vpDiagram.delete();
     } else {
       System.out.println("Diagram " + fromDiagram.getId() + " not found! Let's create it");
@@ -95,12 +95,13 @@ public class IClassDiagramLoader {
     IClassDiagramUIModel toDiagram =
         (IClassDiagramUIModel)
             diagramManager.createDiagram(DiagramManager.DIAGRAM_TYPE_CLASS_DIAGRAM);
+    session.addDiagram(toDiagram);
     fromDiagram.setId(toDiagram.getId());
 
     return toDiagram;
   }
 
   private static boolean vpDiagramExists(Diagram fromDiagram) {
-    return vpProject.getDiagramById(fromDiagram.getId()) != null;
+    return LoadSession.getInstance().getDiagram(fromDiagram.getId()) != null;
   }
 }
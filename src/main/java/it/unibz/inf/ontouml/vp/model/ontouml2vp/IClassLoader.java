@@ -3,7 +3,6 @@ package it.unibz.inf.ontouml.vp.model.ontouml2vp;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.logElementCreation;
 import static it.unibz.inf.ontouml.vp.model.uml.Class.*;
 
-import com.vp.plugin.ApplicationManager;
 import com.vp.plugin.model.*;
 import com.vp.plugin.model.factory.IModelElementFactory;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
@@ -12,8 +11,6 @@ import java.util.stream.Collectors;
 
 public class IClassLoader {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
-
   public static IClass importElement(Class fromClass) {
 
     logElementCreation(fromClass);
@@ -60,13 +57,14 @@ public class IClassLoader {
   }
 
   private static IClass getOrCreateClass(Class fromClass) {
-    IModelElement toClass = vpProject.getModelElementById(fromClass.getId());
+    LoadSession session = LoadSession.getInstance();
+    IModelElement toClass = session.getModelElement(fromClass.getId());
 
     if (toClass instanceof IClass) {
       System.out.println("Class " + fromClass.getId() + " exists! Let's update it!");
     } else {
       System.out.println("Class " + fromClass.getId() + " not found! Let's create it");
-      toClass = IModelElementFactory.instance().createClass();
+      toClass = session.add(IModelElementFactory.instance().createClass());
     }
 
     return (IClass) toClass;
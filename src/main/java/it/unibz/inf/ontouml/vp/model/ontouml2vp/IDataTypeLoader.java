@@ -3,18 +3,13 @@ package it.unibz.inf.ontouml.vp.model.ontouml2vp;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.loadName;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.logElementCreation;
 
-import com.vp.plugin.ApplicationManager;
 import com.vp.plugin.model.IDataType;
 import com.vp.plugin.model.IModelElement;
-import com.vp.plugin.model.IProject;
 import com.vp.plugin.model.factory.IModelElementFactory;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
-import java.util.Optional;
 
 public class IDataTypeLoader {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
-
   public static IDataType importElement(Class fromPrimitive) {
     logElementCreation(fromPrimitive);
 
@@ -22,12 +17,15 @@ public class IDataTypeLoader {
     fromPrimitive.setId(toPrimitive.getId());
 
     loadName(fromPrimitive, toPrimitive);
+    // Datatypes are also looked up by name, which a new one only has now
+    LoadSession.getInstance().add(toPrimitive);
 
     return toPrimitive;
   }
 
   private static IDataType getOrCreateDataType(Class fromClass) {
-    IModelElement toDatatype = vpProject.getModelElementById(fromClass.getId());
+    LoadSession session = LoadSession.getInstance();
+    IModelElement toDatatype = session.getModelElement(fromClass.getId());
 
     if (toDatatype instanceof IDataType) {
       System.out.println(
@@ -38,13 +36,10 @@ public class IDataTypeLoader {
               + ") exists. Let's update it!");
     } else {
 
-      Optional<IDataType> toPrimitiveDatatype =
-          LoaderUtils.getAllDatatypes().stream()
-              .filter(d -> d.getName().equals(fromClass.getFirstName().orElse("")))
-              .findFirst();
+      IDataType toPrimitiveDatatype = session.getDatatype(fromClass.getFirstName().orElse(""));
 
-      if (toPrimitiveDatatype.isEmpty()) {
-        toDatatype = IModelElementFactory.instance().createDataType();
+      if (toPrimitiveDatatype == null) {
+        toDatatype = session.add(IModelElementFactory.instance().createDataType());
         System.out.println(
             "Datatype "
                 + fromClass.getFirstName().orElse("")
@@ -52,7 +47,7 @@ public class IDataTypeLoader {
                 + fromClass.getId()
                 + ") not found. Let's create it!");
       } else {
-        toDatatype = toPrimitiveDatatype.get();
+        toDatatype = toPrimitiveDatatype;
         System.out.println(
             "Datatype "
                 + fromClass.getFirstName().orElse("")
@@ -3,17 +3,13 @@ package it.unibz.inf.ontouml.vp.model.ontouml2vp;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.loadName;
 import static it.unibz.inf.ontouml.vp.model.ontouml2vp.LoaderUtils.logElementCreation;
 
-import com.vp.plugin.ApplicationManager;
 import com.vp.plugin.model.IGeneralization;
 import com.vp.plugin.model.IModelElement;
-import com.vp.plugin.model.IProject;
 import com.vp.plugin.model.factory.IModelElementFactory;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
 
 public class IGeneralizationLoader {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
-
   public static IGeneralization importElement(Generalization fromGeneralization) {
 
     logElementCreation(fromGeneralization);
@@ -35,7 +31,7 @@ public class IGeneralizationLoader {
     fromGen
         .getGeneral()
         .map(general -> general.getId())
-        .map(id -> vpProject.getModelElementById(id))
+        .map(id -> LoadSession.getInstance().getModelElement(id))
         .ifPresent(general -> toGen.setFrom(general));
   }
 
@@ -43,12 +39,13 @@ public class IGeneralizationLoader {
     fromGen
         .getSpecific()
         .map(specific -> specific.getId())
-        .map(id -> vpProject.getModelElementById(id))
+        .map(id -> LoadSession.getInstance().getModelElement(id))
         .ifPresent(general -> toGen.setTo(general));
   }
 
   private static IGeneralization getOrCreateGeneralization(Generalization fromGeneralization) {
-    IModelElement toGeneralization = vpProject.getModelElementById(fromGeneralization.getId());
+    LoadSession session = LoadSession.getInstance();
+    IModelElement toGeneralization = session.getModelElement(fromGeneralization.getId());
 
     if (toGeneralization instanceof IGeneralization) {
       System.out.println(
@@ -56,7 +53,7 @@ public class IGeneralizationLoader {
     } else {
       System.out.println(
           "Generalization " + fromGeneralization.getId() + " not found! Let's create it");
-      toGeneralization = IModelElementFactory.instance().createGeneralization();
+      toGeneralization = session.add(IModelElementFactory.instance().createGeneralization());
     }
 
     return (IGeneralization) toGeneralization;
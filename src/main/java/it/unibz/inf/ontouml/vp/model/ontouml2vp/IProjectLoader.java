@@ -12,23 +12,29 @@ import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 
 public class IProjectLoader {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
-
   public static void load(
       Project project, boolean shouldOverrideDiagrams, boolean shouldAutoLayoutDiagrams) {
-    System.out.println("Loading model of project " + project.getId() + "...");
-    importModel(project);
-    System.out.println("Model loaded!");
-    System.out.println("Loading diagrams of project " + project.getId() + "...");
-    project
-        .getDiagrams()
-        .forEach(
-            diagram ->
-                IClassDiagramLoader.load(
-                    diagram, shouldOverrideDiagrams, shouldAutoLayoutDiagrams));
-    System.out.println("Diagrams loaded!");
+    IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
+
+    try (LoadSession session = LoadSession.open(vpProject)) {
+      System.out.println("Loading model of project " + project.getId() + "...");
+      importModel(project);
+      System.out.println("Model loaded!");
+      System.out.println("Loading diagrams of project " + project.getId() + "...");
+      project
+          .getDiagrams()
+          .forEach(
+              diagram ->
+                  IClassDiagramLoader.load(
+                      diagram, shouldOverrideDiagrams, shouldAutoLayoutDiagrams));
+      System.out.println("Diagrams loaded!");
+    }
   }
 
+  /**
+   * Imports the elements of the project into the Visual Paradigm project of the current {@link
+   * LoadSession}.
+   */
   public static void importModel(Project fromProject) {
 
     fromProject.getAllPackages().stream()
@@ -79,7 +85,8 @@ public class IProjectLoader {
   }
 
   private static void transferContainerAndName(ModelElement fromElement) {
-    IModelElement toElement = vpProject.getModelElementById(fromElement.getId());
+    LoadSession session = LoadSession.getInstance();
+    IModelElement toElement = session.getModelElement(fromElement.getId());
 
     if (toElement == null) return;
 
@@ -98,7 +105,7 @@ public class IProjectLoader {
             container -> {
               if ((container instanceof Package && !((Package) container).isRoot())
                   || container instanceof Class) {
-                IModelElement toContainer = vpProject.getModelElementById(container.getId());
+                IModelElement toContainer = session.getModelElement(container.getId());
                 toContainer.addChild(toElement);
               }
             });
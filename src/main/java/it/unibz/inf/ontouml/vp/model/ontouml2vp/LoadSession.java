@@ -0,0 +1,110 @@
+package it.unibz.inf.ontouml.vp.model.ontouml2vp;
+
+import com.vp.plugin.diagram.IDiagramUIModel;
+import com.vp.plugin.model.IDataType;
+import com.vp.plugin.model.IModelElement;
+import com.vp.plugin.model.IProject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Index of the model elements, datatypes and diagrams of the Visual Paradigm project a project is
+ * loaded into, so loaders look them up without querying or scanning the project. The index is
+ * built in a single traversal when a load {@link #open(IProject) opens} the session, and loaders
+ * add the elements and diagrams they create to it. A session only lives for a single load, as the
+ * current session of the thread that opened it.
+ */
+public class LoadSession implements AutoCloseable {
+
+  private static final ThreadLocal<LoadSession> current = new ThreadLocal<>();
+
+  private final Map<String, IModelElement> elements = new HashMap<>();
+  private final Map<String, IDataType> datatypes = new HashMap<>();
+  private final Map<String, IDiagramUIModel> diagrams = new HashMap<>();
+
+  private LoadSession(IProject project) {
+    Stream.of(project.toAllLevelModelElementArray()).forEach(this::add);
+    Stream.of(project.toDiagramArray()).forEach(this::addDiagram);
+  }
+
+  /**
+   * Indexes the project and opens the session as the current session of this thread, until it is
+   * closed.
+   *
+   * @throws IllegalStateException if this thread already has an open session.
+   */
+  public static LoadSession open(IProject project) {
+    if (current.get() != null)
+      throw new IllegalStateException("A project is already being loaded on this thread!");
+
+    LoadSession session = new LoadSession(project);
+    current.set(session);
+    return session;
+  }
+
+  /**
+   * Returns the session of the load running on this thread.
+   *
+   * @throws IllegalStateException if no session is open.
+   */
+  public static LoadSession getInstance() {
+    LoadSession session = current.get();
+
+    if (session == null) throw new IllegalStateException("No project is being loaded!");
+
+    return session;
+  }
+
+  /** Drops the index and stops being the current session. */
+  @Override
+  public void close() {
+    elements.clear();
+    datatypes.clear();
+    diagrams.clear();
+
+    if (current.get() == this) current.remove();
+  }
+
+  /** Returns the model element with the id, or null if there is none. */
+  public IModelElement getModelElement(String id) {
+    return id != null ? elements.get(id) : null;
+  }
+
+  /** Returns the first datatype indexed with the name, or null if there is none. */
+  public IDataType getDatatype(String name) {
+    return name != null ? datatypes.get(name) : null;
+  }
+
+  /** Returns the diagram with the id, or null if there is none. */
+  public IDiagramUIModel getDiagram(String id) {
+    return id != null ? diagrams.get(id) : null;
+  }
+
+  /**
+   * Indexes a model element, e.g., one just created, and returns it. A datatype is only indexed by
+   * name if it already has one, so a new datatype must be added again once it is named.
+   */
+  public <T extends IModelElement> T add(T element) {
+    if (element == null) return null;
+
+    elements.put(element.getId(), element);
+
+    if (element instanceof IDataType && element.getName() != null)
+      datatypes.putIfAbsent(element.getName(), (IDataType) element);
+
+    return element;
+  }
+
+  /** Indexes a diagram, e.g., one just created, and returns it. */
+  public <T extends IDiagramUIModel> T addDiagram(T diagram) {
+    if (diagram != null) diagrams.put(diagram.getId(), diagram);
+
+    return diagram;
+  }
+
+  /** Removes a diagram from the index, e.g., before it is deleted. */
+  public void removeDiagram(IDiagramUIModel diagram) {
+    if (diagram != null) diagrams.remove(diagram.getId());
+  }
+}
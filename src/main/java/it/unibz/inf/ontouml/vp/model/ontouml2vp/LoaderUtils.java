@@ -1,25 +1,16 @@
 package it.unibz.inf.ontouml.vp.model.ontouml2vp;
 
-import com.vp.plugin.ApplicationManager;
 import com.vp.plugin.diagram.IClassDiagramUIModel;
 import com.vp.plugin.diagram.IDiagramElement;
 import com.vp.plugin.model.IClass;
-import com.vp.plugin.model.IDataType;
 import com.vp.plugin.model.IModelElement;
-import com.vp.plugin.model.IProject;
-import com.vp.plugin.model.factory.IModelElementFactory;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.ElementView;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class LoaderUtils {
 
-  static IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
-
   static IDiagramElement getIDiagramElement(IClassDiagramUIModel vpDiagram, ElementView view) {
     String targetId = view.getId();
     return vpDiagram.getDiagramElementById(targetId);
@@ -32,9 +23,8 @@ public class LoaderUtils {
   }
 
   static IModelElement getIModelElement(ElementView view) {
-    IProject vpProject = ApplicationManager.instance().getProjectManager().getProject();
     String modelElementId = view.getModelElement().getId();
-    return vpProject.getModelElementById(modelElementId);
+    return LoadSession.getInstance().getModelElement(modelElementId);
   }
 
   static String getIncompatibleMessage(
@@ -64,16 +54,8 @@ public class LoaderUtils {
     System.out.println(getModelElementImportingMessage(element));
   }
 
-  static List<IDataType> getAllDatatypes() {
-    return Stream.of(
-            vpProject.toAllLevelModelElementArray(IModelElementFactory.MODEL_TYPE_DATA_TYPE))
-        .filter(IDataType.class::isInstance)
-        .map(IDataType.class::cast)
-        .collect(Collectors.toList());
-  }
-
   static IClass getToClass(Class fromClass) {
-    IModelElement toClass = IAttributeLoader.vpProject.getModelElementById(fromClass.getId());
+    IModelElement toClass = LoadSession.getInstance().getModelElement(fromClass.getId());
 
     if (toClass instanceof IClass) return (IClass) toClass;
 
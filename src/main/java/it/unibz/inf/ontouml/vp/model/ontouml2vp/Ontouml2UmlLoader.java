@@ -1,17 +1,61 @@
 package it.unibz.inf.ontouml.vp.model.ontouml2vp;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializationOptions;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializationReport;
 import java.io.IOException;
+import java.io.InputStream;
 
 public class Ontouml2UmlLoader {
   public static void deserializeAndLoad(
       String json, boolean shouldOverrideDiagrams, boolean shouldAutoLayoutDiagrams)
       throws IOException {
     System.out.println("Deserializing project...");
-    ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-    Project project = mapper.readValue(json, Project.class);
+    Project project = ProjectFormat.JSON.getReader().readValue(json);
+    load(project, shouldOverrideDiagrams, shouldAutoLayoutDiagrams);
+  }
+
+  /** Reads a project in the given format directly from the stream and loads it. */
+  public static void deserializeAndLoad(
+      InputStream in,
+      ProjectFormat format,
+      boolean shouldOverrideDiagrams,
+      boolean shouldAutoLayoutDiagrams)
+      throws IOException {
+    deserializeAndLoad(
+        in, format, new DeserializationOptions(), shouldOverrideDiagrams, shouldAutoLayoutDiagrams);
+  }
+
+  /**
+   * Reads the part of a project selected by the options from the stream and loads it. If the
+   * options hold a report, a project with unresolved references is not loaded; the references are
+   * left in the report instead.
+   */
+  public static void deserializeAndLoad(
+      InputStream in,
+      ProjectFormat format,
+      DeserializationOptions options,
+      boolean shouldOverrideDiagrams,
+      boolean shouldAutoLayoutDiagrams)
+      throws IOException {
+    System.out.println("Deserializing project...");
+    Project project = format.read(in, options);
+
+    DeserializationReport report = options.getReport();
+
+    if (report != null && report.hasProblems()) {
+      System.out.println(
+          "Project " + project.getId() + " has unresolved references and will not be loaded!");
+      return;
+    }
+
+    load(project, shouldOverrideDiagrams, shouldAutoLayoutDiagrams);
+  }
+
+  /** Loads a project that is already in memory, e.g., the result of applying a delta. */
+  public static void load(
+      Project project, boolean shouldOverrideDiagrams, boolean shouldAutoLayoutDiagrams) {
     System.out.println("Project " + project.getId() + " deserialized!");
     System.out.println("Loading project " + project.getId() + " into Visual Paradigm...");
     IProjectLoader.load(project, shouldOverrideDiagrams, shouldAutoLayoutDiagrams);
@@ -0,0 +1,46 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.model.IAssociation;
+import com.vp.plugin.model.IAssociationEnd;
+import java.util.List;
+
+/** Copy of a Visual Paradigm association, together with its ends. */
+public final class AssociationSnapshot extends RelationshipSnapshot {
+
+  private final boolean isAbstract;
+  private final boolean isDerived;
+  private final PropertySnapshot fromEnd;
+  private final PropertySnapshot toEnd;
+
+  AssociationSnapshot(IAssociation source) {
+    super(source, ElementKind.ASSOCIATION);
+    isAbstract = source.isAbstract();
+    isDerived = source.isDerived();
+    fromEnd = new PropertySnapshot((IAssociationEnd) source.getFromEnd());
+    toEnd = new PropertySnapshot((IAssociationEnd) source.getToEnd());
+  }
+
+  public boolean isAbstract() {
+    return isAbstract;
+  }
+
+  /** Returns whether the association itself is derived, regardless of its ends. */
+  public boolean isDerived() {
+    return isDerived;
+  }
+
+  public PropertySnapshot getFromEnd() {
+    return fromEnd;
+  }
+
+  public PropertySnapshot getToEnd() {
+    return toEnd;
+  }
+
+  @Override
+  void addReferencedElements(List<Reference<ElementKind>> references) {
+    super.addReferencedElements(references);
+    fromEnd.addReferencedElements(references);
+    toEnd.addReferencedElements(references);
+  }
+}
@@ -0,0 +1,55 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.model.IClass;
+import com.vp.plugin.model.IModelElement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** Copy of a Visual Paradigm class or datatype, together with its attributes and literals. */
+public final class ClassSnapshot extends ElementSnapshot {
+
+  private final boolean isAbstract;
+  private final List<PropertySnapshot> attributes;
+  private final List<ElementSnapshot> literals;
+
+  ClassSnapshot(IModelElement source, ElementKind kind) {
+    super(source, kind);
+
+    if (source instanceof IClass) {
+      IClass clazz = (IClass) source;
+      isAbstract = clazz.isAbstract();
+      attributes =
+          Stream.of(clazz.toAttributeArray())
+              .map(PropertySnapshot::new)
+              .collect(Collectors.toUnmodifiableList());
+      literals =
+          Stream.of(clazz.toEnumerationLiteralArray())
+              .map(literal -> new ElementSnapshot(literal, ElementKind.LITERAL))
+              .collect(Collectors.toUnmodifiableList());
+    } else {
+      isAbstract = false;
+      attributes = List.of();
+      literals = List.of();
+    }
+  }
+
+  public boolean isAbstract() {
+    return isAbstract;
+  }
+
+  public List<PropertySnapshot> getAttributes() {
+    return attributes;
+  }
+
+  public List<ElementSnapshot> getLiterals() {
+    return literals;
+  }
+
+  @Override
+  void addReferencedElements(List<Reference<ElementKind>> references) {
+    super.addReferencedElements(references);
+    attributes.forEach(attribute -> attribute.addReferencedElements(references));
+    literals.forEach(literal -> literal.addReferencedElements(references));
+  }
+}
@@ -0,0 +1,58 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.diagram.IClassDiagramUIModel;
+import com.vp.plugin.diagram.IDiagramUIModel;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** Copy of a Visual Paradigm class diagram, together with its shapes and connectors. */
+public final class DiagramSnapshot {
+
+  private final String id;
+  private final String name;
+  private final String documentation;
+  private final Reference<ElementKind> owner;
+  private final List<ViewSnapshot> views;
+
+  private DiagramSnapshot(IClassDiagramUIModel source) {
+    id = source.getId();
+    name = source.getName();
+    documentation = source.getDocumentation();
+    owner = Reference.to(source.getParentModel());
+    views =
+        Stream.of(source.toDiagramElementArray())
+            .map(ViewSnapshot::capture)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toUnmodifiableList());
+  }
+
+  /** Captures the diagram, or returns null if it is not a class diagram. */
+  public static DiagramSnapshot capture(IDiagramUIModel source) {
+    return source instanceof IClassDiagramUIModel
+        ? new DiagramSnapshot((IClassDiagramUIModel) source)
+        : null;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getDocumentation() {
+    return documentation;
+  }
+
+  /** Returns the package that owns the diagram, or null if it is owned by the project. */
+  public Reference<ElementKind> getOwner() {
+    return owner;
+  }
+
+  public List<ViewSnapshot> getViews() {
+    return views;
+  }
+}
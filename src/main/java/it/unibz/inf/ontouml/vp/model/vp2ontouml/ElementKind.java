@@ -0,0 +1,30 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.model.*;
+
+/** Kinds of Visual Paradigm model elements captured by snapshots. */
+public enum ElementKind {
+  CLASS,
+  DATATYPE,
+  ASSOCIATION,
+  ASSOCIATION_CLASS,
+  PACKAGE,
+  PROPERTY,
+  LITERAL,
+  GENERALIZATION,
+  GENERALIZATION_SET;
+
+  /** Returns the kind of the element, or null if it is not captured by snapshots. */
+  public static ElementKind of(Object element) {
+    if (element instanceof IClass) return CLASS;
+    if (element instanceof IDataType) return DATATYPE;
+    if (element instanceof IAssociation) return ASSOCIATION;
+    if (element instanceof IAssociationClass) return ASSOCIATION_CLASS;
+    if (element instanceof IPackage || element instanceof IModel) return PACKAGE;
+    if (element instanceof IAttribute || element instanceof IAssociationEnd) return PROPERTY;
+    if (element instanceof IEnumerationLiteral) return LITERAL;
+    if (element instanceof IGeneralization) return GENERALIZATION;
+    if (element instanceof IGeneralizationSet) return GENERALIZATION_SET;
+    return null;
+  }
+}
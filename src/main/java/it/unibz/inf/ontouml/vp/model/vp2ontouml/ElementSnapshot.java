@@ -0,0 +1,160 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.model.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Copy of the data of a Visual Paradigm model element that its transformation reads, so elements
+ * can be transformed without calling the Visual Paradigm API. Packages and literals are captured
+ * by this class, other kinds of elements by its subclasses. Snapshots are immutable.
+ */
+public class ElementSnapshot {
+
+  private final String id;
+  private final ElementKind kind;
+  private final String name;
+  private final String description;
+  private final String stereotype;
+  private final String parentId;
+  private final List<TaggedValueSnapshot> taggedValues;
+
+  ElementSnapshot(IModelElement source, ElementKind kind) {
+    this.id = source.getId();
+    this.kind = kind;
+    this.name = source.getName();
+    this.description = source.getDescription();
+    this.stereotype = hasStereotype(kind) ? getFirstStereotype(source) : null;
+    this.parentId = isContainedByPackage(kind) ? getParentId(source) : null;
+    this.taggedValues = captureTaggedValues(source);
+  }
+
+  /** Captures the element, or returns null if it is not transformed. */
+  public static ElementSnapshot capture(IModelElement source) {
+    ElementKind kind = ElementKind.of(source);
+
+    if (kind == null) return null;
+
+    switch (kind) {
+      case CLASS:
+      case DATATYPE:
+        return new ClassSnapshot(source, kind);
+      case ASSOCIATION:
+        return new AssociationSnapshot((IAssociation) source);
+      case ASSOCIATION_CLASS:
+      case GENERALIZATION:
+        return new RelationshipSnapshot((IRelationship) source, kind);
+      case GENERALIZATION_SET:
+        return new GeneralizationSetSnapshot((IGeneralizationSet) source);
+      case PROPERTY:
+        return new PropertySnapshot(source);
+      default:
+        return new ElementSnapshot(source, kind);
+    }
+  }
+
+  private static boolean hasStereotype(ElementKind kind) {
+    return kind == ElementKind.CLASS
+        || kind == ElementKind.ASSOCIATION
+        || kind == ElementKind.PROPERTY;
+  }
+
+  private static boolean isContainedByPackage(ElementKind kind) {
+    return kind != ElementKind.PROPERTY && kind != ElementKind.LITERAL;
+  }
+
+  private static String getFirstStereotype(IModelElement element) {
+    IStereotype[] stereotypes = element.toStereotypeModelArray();
+    return (stereotypes != null && stereotypes.length > 0) ? stereotypes[0].getName() : null;
+  }
+
+  private static String getParentId(IModelElement element) {
+    IModelElement parent;
+
+    // VP puts an association, associationclass and generalization inside the package of its source
+    if (element instanceof IRelationship) {
+      IModelElement from = ((IRelationship) element).getFrom();
+      parent = from != null ? from.getParent() : null;
+    } else {
+      parent = element.getParent();
+    }
+
+    return parent != null ? parent.getId() : null;
+  }
+
+  private static List<TaggedValueSnapshot> captureTaggedValues(IModelElement element) {
+    ITaggedValueContainer container = element.getTaggedValues();
+
+    if (container == null) return List.of();
+
+    return Stream.of(container.toTaggedValueArray())
+        .map(TaggedValueSnapshot::new)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public ElementKind getKind() {
+    return kind;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  /** Returns the name of the first stereotype of a class, association or property. */
+  public String getStereotype() {
+    return stereotype;
+  }
+
+  /**
+   * Returns the id of the element that contains this one in Visual Paradigm, which for
+   * relationships is the container of their source. Attributes, association ends and literals are
+   * contained by the snapshots of their elements instead.
+   */
+  public String getParentId() {
+    return parentId;
+  }
+
+  public List<TaggedValueSnapshot> getTaggedValues() {
+    return taggedValues;
+  }
+
+  /** Returns the first tagged value with the name, or null if there is none. */
+  public TaggedValueSnapshot getTaggedValue(String name) {
+    return taggedValues.stream()
+        .filter(taggedValue -> name.equals(taggedValue.getName()))
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * Returns the elements the element refers to, such as the types of its attributes or the ends of
+   * a relationship, including those referred to by its attributes, ends and literals.
+   */
+  public List<Reference<ElementKind>> getReferencedElements() {
+    List<Reference<ElementKind>> references = new ArrayList<>();
+    addReferencedElements(references);
+    references.removeIf(Objects::isNull);
+    return references;
+  }
+
+  /** Adds the elements the element refers to, which subclasses extend with their own. */
+  void addReferencedElements(List<Reference<ElementKind>> references) {
+    taggedValues.forEach(taggedValue -> references.add(taggedValue.getValueAsElement()));
+  }
+
+  @Override
+  public String toString() {
+    return kind + " " + id + " " + name;
+  }
+}
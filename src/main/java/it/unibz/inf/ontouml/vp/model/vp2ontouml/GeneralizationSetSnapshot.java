@@ -0,0 +1,54 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.model.IGeneralization;
+import com.vp.plugin.model.IGeneralizationSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** Copy of a Visual Paradigm generalization set. */
+public final class GeneralizationSetSnapshot extends ElementSnapshot {
+
+  private final boolean isDisjoint;
+  private final boolean isCovering;
+  private final Reference<ElementKind> powerType;
+  private final List<Reference<ElementKind>> generalizations;
+
+  GeneralizationSetSnapshot(IGeneralizationSet source) {
+    super(source, ElementKind.GENERALIZATION_SET);
+    isDisjoint = source.isDisjoint();
+    isCovering = source.isCovering();
+    powerType = Reference.to(source.getPowerType());
+
+    IGeneralization[] sourceGeneralizations = source.toGeneralizationArray();
+    generalizations =
+        sourceGeneralizations != null
+            ? Stream.of(sourceGeneralizations)
+                .map(Reference::to)
+                .collect(Collectors.toUnmodifiableList())
+            : List.of();
+  }
+
+  public boolean isDisjoint() {
+    return isDisjoint;
+  }
+
+  public boolean isCovering() {
+    return isCovering;
+  }
+
+  public Reference<ElementKind> getPowerType() {
+    return powerType;
+  }
+
+  public List<Reference<ElementKind>> getGeneralizations() {
+    return generalizations;
+  }
+
+  @Override
+  void addReferencedElements(List<Reference<ElementKind>> references) {
+    super.addReferencedElements(references);
+    references.add(powerType);
+    references.addAll(generalizations);
+  }
+}
@@ -1,17 +1,15 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IAssociationClass;
-import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Classifier;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
 
 public class IAssociationClassTransformer {
-  public static ModelElement transform(IModelElement sourceElement) {
-    if (!(sourceElement instanceof IAssociationClass)) return null;
+  public static ModelElement transform(ElementSnapshot sourceElement) {
+    if (sourceElement.getKind() != ElementKind.ASSOCIATION_CLASS) return null;
 
-    IAssociationClass source = (IAssociationClass) sourceElement;
+    RelationshipSnapshot source = (RelationshipSnapshot) sourceElement;
 
     Classifier<?, ?> fromClassifier = createClassifierStub(source.getFrom());
     Classifier<?, ?> toClassifier = createClassifierStub(source.getTo());
@@ -22,13 +20,17 @@ public class IAssociationClassTransformer {
     ITaggedValueTransformer.transform(source, target);
     IStereotypeTransformer.transform(source, target);
 
+    // The ends of a derivation do not exist in VP, so their ids are derived from its own
+    target.getSourceEnd().setId(target.getId() + "_source");
+    target.getTargetEnd().setId(target.getId() + "_target");
+
     target.setDerived(true);
     target.setAbstract(false);
 
     return target;
   }
 
-  private static Classifier<?, ?> createClassifierStub(IModelElement classifier) {
+  private static Classifier<?, ?> createClassifierStub(Reference<ElementKind> classifier) {
     OntoumlElement targetType = ReferenceTransformer.transformStub(classifier);
     return targetType instanceof Classifier<?, ?> ? (Classifier<?, ?>) targetType : null;
   }
@@ -1,18 +1,15 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IAssociation;
-import com.vp.plugin.model.IAssociationEnd;
-import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
 import java.util.List;
 
 public class IAssociationTransformer {
-  public static ModelElement transform(IModelElement sourceElement) {
-    if (!(sourceElement instanceof IAssociation)) return null;
+  public static ModelElement transform(ElementSnapshot sourceElement) {
+    if (!(sourceElement instanceof AssociationSnapshot)) return null;
 
-    IAssociation source = (IAssociation) sourceElement;
+    AssociationSnapshot source = (AssociationSnapshot) sourceElement;
     Relation target = new Relation();
 
     IModelElementTransformer.transform(source, target);
@@ -32,15 +29,15 @@ public class IAssociationTransformer {
     return target;
   }
 
-  private static IAssociationEnd getSourceEnd(IAssociation association) {
-    return (IAssociationEnd) association.getFromEnd();
+  private static PropertySnapshot getSourceEnd(AssociationSnapshot association) {
+    return association.getFromEnd();
   }
 
-  private static IAssociationEnd getTargetEnd(IAssociation association) {
-    return (IAssociationEnd) association.getToEnd();
+  private static PropertySnapshot getTargetEnd(AssociationSnapshot association) {
+    return association.getToEnd();
   }
 
-  private static boolean isDerived(IAssociation association) {
+  private static boolean isDerived(AssociationSnapshot association) {
     return association.isDerived()
         || getSourceEnd(association).isDerived()
         || getTargetEnd(association).isDerived();
@@ -1,64 +1,47 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.*;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.utils.StereotypesManager;
+import java.util.List;
 
 public class IClassAdapter implements IAdapter {
 
-  private IClass clazz;
-  private IDataType datatype;
-
-  public IClassAdapter(IModelElement element) {
-    if (element instanceof IClass) {
-      clazz = (IClass) element;
-      datatype = null;
-    } else if (element instanceof IDataType) {
-      clazz = null;
-      datatype = (IDataType) element;
-    } else {
+  private ClassSnapshot clazz;
+
+  public IClassAdapter(ElementSnapshot element) {
+    if (!(element instanceof ClassSnapshot)) {
       throw new IllegalArgumentException(
-          "Input element must be an instance of IClass or IDataType.");
+          "Input element must be a snapshot of an IClass or IDataType.");
     }
-  }
-
-  public IClassAdapter(IClass clazz) {
-    this.clazz = clazz;
-    this.datatype = null;
-  }
 
-  public IClassAdapter(IDataType datatype) {
-    this.clazz = null;
-    this.datatype = datatype;
+    clazz = (ClassSnapshot) element;
   }
 
   @Override
   public boolean isEmpty() {
-    return clazz == null && datatype == null;
+    return clazz == null;
   }
 
   @Override
-  public IModelElement get() {
-    if (isClass()) return clazz;
-    if (isDatatype()) return datatype;
-    return null;
+  public ElementSnapshot get() {
+    return clazz;
   }
 
   private boolean isClass() {
-    return clazz != null;
+    return clazz != null && clazz.getKind() == ElementKind.CLASS;
   }
 
   private boolean isDatatype() {
-    return datatype != null;
+    return clazz != null && clazz.getKind() == ElementKind.DATATYPE;
   }
 
   public boolean isDerived() {
-    IModelElement element = get();
+    ElementSnapshot element = get();
     return element.getName() != null && element.getName().trim().startsWith("/");
   }
 
   public String getName() {
-    IModelElement element = get();
+    ElementSnapshot element = get();
 
     if (isDerived()) {
       return element.getName().trim().substring(1);
@@ -107,13 +90,11 @@ public class IClassAdapter implements IAdapter {
     return isClass() && clazz.isAbstract();
   }
 
-  public IEnumerationLiteral[] toEnumerationLiteralArray() {
-    if (isClass()) return clazz.toEnumerationLiteralArray();
-    return new IEnumerationLiteral[0];
+  public List<ElementSnapshot> getLiterals() {
+    return clazz.getLiterals();
   }
 
-  public IAttribute[] toAttributeArray() {
-    if (isClass()) return clazz.toAttributeArray();
-    return new IAttribute[0];
+  public List<PropertySnapshot> getAttributes() {
+    return clazz.getAttributes();
   }
 }
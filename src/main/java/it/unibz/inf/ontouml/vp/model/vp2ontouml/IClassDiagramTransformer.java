@@ -1,28 +1,14 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.diagram.IClassDiagramUIModel;
-import com.vp.plugin.diagram.IDiagramElement;
-import com.vp.plugin.diagram.IDiagramUIModel;
-import com.vp.plugin.diagram.connector.IAssociationClassUIModel;
-import com.vp.plugin.diagram.connector.IAssociationUIModel;
-import com.vp.plugin.diagram.connector.IGeneralizationUIModel;
-import com.vp.plugin.diagram.shape.IClassUIModel;
-import com.vp.plugin.diagram.shape.IGeneralizationSetUIModel;
-import com.vp.plugin.diagram.shape.IModelUIModel;
-import com.vp.plugin.diagram.shape.IPackageUIModel;
-import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.ElementView;
-import java.util.Arrays;
 
 public class IClassDiagramTransformer {
 
-  public static Diagram transform(IDiagramUIModel sourceElement, Package root) {
-    if (!(sourceElement instanceof IClassDiagramUIModel)) return null;
-
-    IClassDiagramUIModel source = (IClassDiagramUIModel) sourceElement;
+  public static Diagram transform(DiagramSnapshot source, Package root) {
+    if (source == null) return null;
 
     Diagram target = new Diagram();
 
@@ -38,36 +24,43 @@ public class IClassDiagramTransformer {
     ModelElement owner = getOwner(source, root);
     target.setOwner(owner);
 
-    Arrays.stream(source.toDiagramElementArray())
+    source.getViews().stream()
         .map(e -> transfromIDiagramElement(e))
         .forEach(e -> target.addElement(e));
 
     return target;
   }
 
-  private static ModelElement getOwner(IClassDiagramUIModel source, Package root) {
-    IModelElement owner = source.getParentModel();
+  private static ModelElement getOwner(DiagramSnapshot source, Package root) {
+    Reference<ElementKind> owner = source.getOwner();
 
     if (owner == null) return root;
 
     return ReferenceTransformer.transformStub(owner);
   }
 
-  public static ElementView<?, ?> transfromIDiagramElement(IDiagramElement source) {
+  public static ElementView<?, ?> transfromIDiagramElement(ViewSnapshot source) {
     ElementView<?, ?> target = null;
 
-    if (source instanceof IClassUIModel) {
-      target = IClassUIModelTransformer.transform(source);
-    } else if (source instanceof IAssociationUIModel) {
-      target = IAssociationUIModelTransformer.transform(source);
-    } else if (source instanceof IAssociationClassUIModel) {
-      target = IAssociationClassUIModelTransformer.transform(source);
-    } else if (source instanceof IGeneralizationUIModel) {
-      target = IGeneralizationUIModelTransformer.transform(source);
-    } else if (source instanceof IGeneralizationSetUIModel) {
-      target = IGeneralizationSetUIModelTransformer.transform(source);
-    } else if (source instanceof IPackageUIModel || source instanceof IModelUIModel) {
-      target = IPackageUIModelTransformer.transform(source);
+    switch (source.getKind()) {
+      case CLASS:
+        target = IClassUIModelTransformer.transform(source);
+        break;
+      case ASSOCIATION:
+        target = IAssociationUIModelTransformer.transform(source);
+        break;
+      case ASSOCIATION_CLASS:
+        target = IAssociationClassUIModelTransformer.transform(source);
+        break;
+      case GENERALIZATION:
+        target = IGeneralizationUIModelTransformer.transform(source);
+        break;
+      case GENERALIZATION_SET:
+        target = IGeneralizationSetUIModelTransformer.transform(source);
+        break;
+      case PACKAGE:
+        target = IPackageUIModelTransformer.transform(source);
+        break;
     }
 
     Trace.getInstance().put(source.getId(), source, target);
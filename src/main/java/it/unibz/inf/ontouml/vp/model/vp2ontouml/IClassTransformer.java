@@ -1,30 +1,21 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IClass;
-import com.vp.plugin.model.IDataType;
-import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Literal;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class IClassTransformer {
   private static final List<String> VP_PRIMITIVE_DATATYPES =
       List.of(
           "boolean", "byte", "char", "double", "float", "int", "long", "short", "string", "void");
 
-  public static Class transform(IModelElement sourceElement) {
-    if (!(sourceElement instanceof IClass) && !(sourceElement instanceof IDataType)) {
+  public static Class transform(ElementSnapshot sourceElement) {
+    if (!(sourceElement instanceof ClassSnapshot)) {
       return null;
     }
 
-    if (sourceElement instanceof IDataType) {
-      IDataType sourceDatatype = (IDataType) sourceElement;
-      //      sourceDatatype.
-    }
-
     IClassAdapter source = new IClassAdapter(sourceElement);
     Class target = new Class();
 
@@ -63,13 +54,13 @@ public class IClassTransformer {
   }
 
   public static List<Literal> transformLiterals(IClassAdapter clazz) {
-    return Stream.of(clazz.toEnumerationLiteralArray())
+    return clazz.getLiterals().stream()
         .map(IEnumerationLiteralTransformer::transform)
         .collect(Collectors.toList());
   }
 
   public static List<Property> transformAttributes(IClassAdapter clazz) {
-    return Stream.of(clazz.toAttributeArray())
+    return clazz.getAttributes().stream()
         .map(IPropertyTransformer::transform)
         .collect(Collectors.toList());
   }
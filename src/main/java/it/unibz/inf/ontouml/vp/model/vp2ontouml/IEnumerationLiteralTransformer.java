@@ -1,11 +1,10 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IEnumerationLiteral;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Literal;
 
 public class IEnumerationLiteralTransformer {
 
-  public static Literal transform(IEnumerationLiteral source) {
+  public static Literal transform(ElementSnapshot source) {
     if (source == null) {
       return null;
     }
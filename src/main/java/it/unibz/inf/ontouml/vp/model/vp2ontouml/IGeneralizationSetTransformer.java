@@ -1,26 +1,20 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IClass;
-import com.vp.plugin.model.IGeneralization;
-import com.vp.plugin.model.IGeneralizationSet;
-import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.GeneralizationSet;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class IGeneralizationSetTransformer {
 
-  public static ModelElement transform(IModelElement sourceElement) {
-    if (!(sourceElement instanceof IGeneralizationSet)) {
+  public static ModelElement transform(ElementSnapshot sourceElement) {
+    if (!(sourceElement instanceof GeneralizationSetSnapshot)) {
       return null;
     }
 
-    IGeneralizationSet source = (IGeneralizationSet) sourceElement;
+    GeneralizationSetSnapshot source = (GeneralizationSetSnapshot) sourceElement;
     GeneralizationSet target = new GeneralizationSet();
 
     IModelElementTransformer.transform(source, target);
@@ -41,24 +35,18 @@ public class IGeneralizationSetTransformer {
     return target;
   }
 
-  public static Class transformCategorizer(IGeneralizationSet genSet) {
-    IModelElement powertype = genSet.getPowerType();
+  public static Class transformCategorizer(GeneralizationSetSnapshot genSet) {
+    Reference<ElementKind> powertype = genSet.getPowerType();
 
-    if (!(powertype instanceof IClass)) {
+    if (powertype == null || powertype.getKind() != ElementKind.CLASS) {
       return null;
     }
 
     return (Class) ReferenceTransformer.transformStub(powertype);
   }
 
-  public static List<Generalization> transformGeneralizations(IGeneralizationSet genSet) {
-    IGeneralization[] generalizations = genSet.toGeneralizationArray();
-
-    if (generalizations == null) {
-      return new ArrayList<>();
-    }
-
-    return Stream.of(generalizations)
+  public static List<Generalization> transformGeneralizations(GeneralizationSetSnapshot genSet) {
+    return genSet.getGeneralizations().stream()
         .map(g -> (Generalization) ReferenceTransformer.transformStub(g))
         .collect(Collectors.toList());
   }
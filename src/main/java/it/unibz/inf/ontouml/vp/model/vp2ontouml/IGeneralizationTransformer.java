@@ -1,17 +1,15 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IGeneralization;
-import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Classifier;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
 
 public class IGeneralizationTransformer {
 
-  public static Generalization transform(IModelElement sourceElement) {
-    if (!(sourceElement instanceof IGeneralization)) return null;
+  public static Generalization transform(ElementSnapshot sourceElement) {
+    if (sourceElement.getKind() != ElementKind.GENERALIZATION) return null;
 
-    IGeneralization source = (IGeneralization) sourceElement;
+    RelationshipSnapshot source = (RelationshipSnapshot) sourceElement;
     Generalization target = new Generalization();
 
     IModelElementTransformer.transform(source, target);
@@ -26,17 +24,17 @@ public class IGeneralizationTransformer {
     return target;
   }
 
-  public static Classifier<?, ?> transformGeneral(IGeneralization generalization) {
-    IModelElement general = generalization.getFrom();
+  public static Classifier<?, ?> transformGeneral(RelationshipSnapshot generalization) {
+    Reference<ElementKind> general = generalization.getFrom();
     return (general != null) ? createClassifierStub(general) : null;
   }
 
-  public static Classifier<?, ?> transformSpecific(IGeneralization generalization) {
-    IModelElement specific = generalization.getTo();
+  public static Classifier<?, ?> transformSpecific(RelationshipSnapshot generalization) {
+    Reference<ElementKind> specific = generalization.getTo();
     return (specific != null) ? createClassifierStub(specific) : null;
   }
 
-  private static Classifier<?, ?> createClassifierStub(IModelElement classifier) {
+  private static Classifier<?, ?> createClassifierStub(Reference<ElementKind> classifier) {
     OntoumlElement targetType = ReferenceTransformer.transformStub(classifier);
     return targetType instanceof Classifier<?, ?> ? (Classifier<?, ?>) targetType : null;
   }
@@ -1,15 +1,12 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.diagram.IDiagramElement;
-import com.vp.plugin.diagram.connector.IGeneralizationUIModel;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.GeneralizationView;
 
 public class IGeneralizationUIModelTransformer {
-  public static GeneralizationView transform(IDiagramElement sourceElement) {
-    if (!(sourceElement instanceof IGeneralizationUIModel)) return null;
+  public static GeneralizationView transform(ViewSnapshot source) {
+    if (source.getKind() != ViewKind.GENERALIZATION) return null;
 
-    IGeneralizationUIModel source = (IGeneralizationUIModel) sourceElement;
     GeneralizationView target = new GeneralizationView();
 
     IDiagramElementTransformer.transform(source, target, Generalization.class);
@@ -1,11 +1,10 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.Element;
 
 public class IModelElementTransformer {
 
-  public static void transform(IModelElement source, Element target) {
+  public static void transform(ElementSnapshot source, Element target) {
     String id = source.getId();
     target.setId(id);
 
@@ -1,16 +1,13 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IModel;
-import com.vp.plugin.model.IModelElement;
-import com.vp.plugin.model.IPackage;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 
 public class IPackageTransformer {
 
-  public static ModelElement transform(IModelElement sourceElement) {
+  public static ModelElement transform(ElementSnapshot sourceElement) {
 
-    if (!(sourceElement instanceof IPackage) && !(sourceElement instanceof IModel)) return null;
+    if (sourceElement.getKind() != ElementKind.PACKAGE) return null;
 
     Package target = new Package();
     IModelElementTransformer.transform(sourceElement, target);
@@ -1,27 +1,53 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import static it.unibz.inf.ontouml.vp.model.ontouml.deserialization.ReferenceResolver.resolveReferences;
-
-import com.vp.plugin.diagram.IClassDiagramUIModel;
+import com.vp.plugin.diagram.IDiagramUIModel;
 import com.vp.plugin.model.*;
-import com.vp.plugin.model.factory.IModelElementFactory;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.ReferenceResolver;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class IProjectTransformer {
 
   public static Project transform(IProject sourceProject) {
+    return transform(ProjectSnapshot.capture(sourceProject));
+  }
+
+  /**
+   * Transforms a class diagram of the project and only the elements it needs, as captured by
+   * {@link ProjectSnapshot#captureDiagram(IProject, IDiagramUIModel)}.
+   */
+  public static Project transform(IProject sourceProject, IDiagramUIModel sourceDiagram) {
+    return transform(ProjectSnapshot.captureDiagram(sourceProject, sourceDiagram));
+  }
+
+  private static Project transform(ProjectSnapshot snapshot) {
+    try (Trace trace = Trace.open()) {
+      long start = System.nanoTime();
+      Project targetProject = transform(snapshot, trace);
+
+      System.out.println(
+          "Captured "
+              + snapshot.size()
+              + " elements and diagrams in "
+              + snapshot.getCaptureTime() / 1_000_000
+              + " ms, transformed "
+              + trace.size()
+              + " elements in "
+              + (System.nanoTime() - start) / 1_000_000
+              + " ms.");
+      return targetProject;
+    }
+  }
+
+  private static Project transform(ProjectSnapshot sourceProject, Trace trace) {
     Project targetProject = new Project();
-    Trace.getInstance().put(sourceProject.getId(), sourceProject, targetProject);
+    trace.put(sourceProject.getId(), sourceProject, targetProject);
 
     String name = sourceProject.getName();
     targetProject.addName(sourceProject.getName());
@@ -31,70 +57,39 @@ public class IProjectTransformer {
 
     Package root = targetProject.createModel(id + "_root", name);
 
-    List<ModelElement> targetElements =
-        getElementStream(sourceProject)
-            .map(IProjectTransformer::transformModelElement)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
-
-    List<ModelElement> targetDatatypes =
-        getUsedDatatypes(sourceProject).stream()
-            .map(IProjectTransformer::transformModelElement)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+    List<ElementSnapshot> sourceElements = new ArrayList<>(sourceProject.getElements());
+    sourceElements.addAll(sourceProject.getDatatypes());
 
-    targetElements.addAll(targetDatatypes);
+    List<ModelElement> targetElements =
+        trace.transformAll(sourceElements, IProjectTransformer::transformModelElement);
+    targetElements.removeIf(Objects::isNull);
 
+    // Containers and references are resolved once every element exists, on this thread only
     targetElements.forEach(element -> resolveContainer(element, root));
-    resolveReferences(targetProject);
+    link(targetProject, trace.getReferences());
 
-    List<Diagram> diagrams = transformDiagrams(sourceProject, root);
+    List<Diagram> diagrams = transformDiagrams(sourceProject.getDiagrams(), root);
     targetProject.setDiagrams(diagrams);
 
     return targetProject;
   }
 
-  private static List<Diagram> transformDiagrams(IProject source, Package root) {
-    return Stream.of(source.toDiagramArray())
-        .filter(IClassDiagramUIModel.class::isInstance)
-        .map(diag -> IClassDiagramTransformer.transform(diag, root))
-        .filter(Objects::nonNull)
-        .collect(Collectors.toList());
+  static List<Diagram> transformDiagrams(List<DiagramSnapshot> source, Package root) {
+    List<Diagram> diagrams =
+        Trace.getInstance()
+            .transformAll(source, diag -> IClassDiagramTransformer.transform(diag, root));
+
+    diagrams.removeIf(Objects::isNull);
+    return diagrams;
   }
 
-  private static Stream<IModelElement> getElementStream(IProject project) {
-    final String[] elementTypes = {
-      IModelElementFactory.MODEL_TYPE_PACKAGE,
-      IModelElementFactory.MODEL_TYPE_MODEL,
-      IModelElementFactory.MODEL_TYPE_CLASS,
-      IModelElementFactory.MODEL_TYPE_GENERALIZATION,
-      IModelElementFactory.MODEL_TYPE_GENERALIZATION_SET,
-      IModelElementFactory.MODEL_TYPE_ASSOCIATION,
-      IModelElementFactory.MODEL_TYPE_ASSOCIATION_CLASS,
-    };
-
-    IModelElement[] sourceContents = project.toAllLevelModelElementArray(elementTypes);
-
-    // Relationships may connect other types of model elements and these need to be filtered out
-    // the code also filters out relationships connected to null
-    return Stream.of(sourceContents)
-        .filter(
-            element -> {
-              if (!(element instanceof IRelationship)) {
-                return true;
-              }
-
-              var source = ((IRelationship) element).getFrom();
-              var target = ((IRelationship) element).getTo();
-              var sourceType = source != null ? source.getModelType() : null;
-              var targetType = target != null ? target.getModelType() : null;
-              var desiredTypes =
-                  Arrays.asList(
-                      IModelElementFactory.MODEL_TYPE_ASSOCIATION,
-                      IModelElementFactory.MODEL_TYPE_CLASS);
-
-              return desiredTypes.contains(sourceType) && desiredTypes.contains(targetType);
-            });
+  /**
+   * Replaces every reference held by the elements of the project by the element with the same id,
+   * whether it is a stub or an element that has since been transformed again.
+   */
+  static void link(Project project, ReferenceResolver resolver) {
+    project.getModel().get().streamAllContents().forEach(resolver::addReferences);
+    resolver.resolveReferences(project);
   }
 
   private static void resolveContainer(ModelElement targetElement, Package root) {
@@ -104,69 +99,49 @@ public class IProjectTransformer {
 
   private static Package getContainer(ModelElement targetElement, Package root) {
     Object sourceElement = Trace.getInstance().getSource(targetElement.getId());
-    IModelElement sourceParent = getSourceParent(sourceElement);
+    String sourceParentId =
+        sourceElement instanceof ElementSnapshot
+            ? ((ElementSnapshot) sourceElement).getParentId()
+            : null;
 
-    if (sourceParent == null) {
+    if (sourceParentId == null) {
       return root;
     }
 
-    OntoumlElement targetParent = Trace.getInstance().getTarget(sourceParent);
+    OntoumlElement targetParent = Trace.getInstance().getTarget(sourceParentId);
     return (targetParent instanceof Package) ? (Package) targetParent : root;
   }
 
-  private static IModelElement getSourceParent(Object element) {
-    // VP puts an association, associationclass and generalization inside the package of its source
-    if (element instanceof IRelationship) {
-      IModelElement from = ((IRelationship) element).getFrom();
-      return from != null ? from.getParent() : null;
-    }
-
-    if (element instanceof IModelElement) {
-      return ((IModelElement) element).getParent();
-    }
-
-    return null;
-  }
-
-  public static ModelElement transformModelElement(IModelElement source) {
+  public static ModelElement transformModelElement(ElementSnapshot source) {
     ModelElement target = null;
 
-    if (source instanceof IClass || source instanceof IDataType) {
-      target = IClassTransformer.transform(source);
-    } else if (source instanceof IAssociation) {
-      target = IAssociationTransformer.transform(source);
-    } else if (source instanceof IAssociationClass) {
-      target = IAssociationClassTransformer.transform(source);
-    } else if (source instanceof IPackage || source instanceof IModel) {
-      target = IPackageTransformer.transform(source);
-    } else if (source instanceof IAttribute || source instanceof IAssociationEnd) {
-      target = IPropertyTransformer.transform(source);
-    } else if (source instanceof IGeneralization) {
-      target = IGeneralizationTransformer.transform(source);
-    } else if (source instanceof IGeneralizationSet) {
-      target = IGeneralizationSetTransformer.transform(source);
+    switch (source.getKind()) {
+      case CLASS:
+      case DATATYPE:
+        target = IClassTransformer.transform(source);
+        break;
+      case ASSOCIATION:
+        target = IAssociationTransformer.transform(source);
+        break;
+      case ASSOCIATION_CLASS:
+        target = IAssociationClassTransformer.transform(source);
+        break;
+      case PACKAGE:
+        target = IPackageTransformer.transform(source);
+        break;
+      case PROPERTY:
+        target = IPropertyTransformer.transform(source);
+        break;
+      case GENERALIZATION:
+        target = IGeneralizationTransformer.transform(source);
+        break;
+      case GENERALIZATION_SET:
+        target = IGeneralizationSetTransformer.transform(source);
+        break;
     }
 
     Trace.getInstance().put(source.getId(), source, target);
 
     return target;
   }
-
-  public static List<IAttribute> getAllAttributes(IProject project) {
-    IModelElement[] classes =
-        project.toAllLevelModelElementArray(IModelElementFactory.MODEL_TYPE_CLASS);
-
-    return Stream.of(classes)
-        .map(IClass.class::cast)
-        .flatMap(clazz -> Stream.of(clazz.toAttributeArray()))
-        .collect(Collectors.toList());
-  }
-
-  public static Set<IDataType> getUsedDatatypes(IProject project) {
-    return getAllAttributes(project).stream()
-        .map(attr -> attr.getType())
-        .filter(IDataType.class::isInstance)
-        .map(IDataType.class::cast)
-        .collect(Collectors.toSet());
-  }
 }
@@ -1,79 +1,54 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IAssociationEnd;
-import com.vp.plugin.model.IAttribute;
-import com.vp.plugin.model.IModelElement;
-import com.vp.plugin.model.IMultiplicity;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.AggregationKind;
-import java.util.Iterator;
+import java.util.List;
 
 public class IPropertyAdapter implements IAdapter {
 
-  IAttribute attribute;
-  IAssociationEnd associationEnd;
+  PropertySnapshot property;
 
-  public IPropertyAdapter(IAttribute attribute) {
-    this.attribute = attribute;
-  }
-
-  public IPropertyAdapter(IAssociationEnd associationEnd) {
-    this.associationEnd = associationEnd;
+  public IPropertyAdapter(PropertySnapshot property) {
+    this.property = property;
   }
 
   @Override
   public boolean isEmpty() {
-    return attribute == null && associationEnd == null;
+    return property == null;
   }
 
   @Override
-  public IModelElement get() {
-    if (isAttribute()) return attribute;
-    if (isAssociationEnd()) return associationEnd;
-    return null;
+  public ElementSnapshot get() {
+    return property;
   }
 
   public boolean isAttribute() {
-    return attribute != null;
+    return property != null && property.isAttribute();
   }
 
   public boolean isAssociationEnd() {
-    return associationEnd != null;
-  }
-
-  public IMultiplicity getMultiplicityDetail() {
-    return isAttribute()
-        ? attribute.getMultiplicityDetail()
-        : associationEnd.getMultiplicityDetail();
+    return property != null && property.isAssociationEnd();
   }
 
   public boolean isOrdered() {
-    IMultiplicity multiplicity = getMultiplicityDetail();
-    return multiplicity != null && multiplicity.isOrdered();
+    return property.isOrdered();
   }
 
   public boolean isReadOnly() {
-    if (isAttribute()) return attribute.isReadOnly();
-    if (isAssociationEnd()) return associationEnd.isReadOnly();
-    return false;
+    return property.isReadOnly();
   }
 
   public boolean isDerived() {
-    if (isAttribute()) return attribute.isDerived();
-    if (isAssociationEnd()) return associationEnd.isDerived();
-    return false;
+    return property.isDerived();
   }
 
   public String getMultiplicity() {
-    String multiplicity = null;
-    if (isAttribute()) multiplicity = attribute.getMultiplicity();
-    if (isAssociationEnd()) multiplicity = associationEnd.getMultiplicity();
-
+    String multiplicity = property.getMultiplicity();
     return "Unspecified".equals(multiplicity) ? null : multiplicity;
   }
 
   public String getAggregationKind() {
     if (isAttribute()) {
-      int value = attribute.getAggregation();
+      int value = property.getAggregation();
       switch (value) {
         case 0:
           return AggregationKind.NONE.getName();
@@ -85,28 +60,21 @@ public class IPropertyAdapter implements IAdapter {
     }
 
     if (isAssociationEnd()) {
-      return associationEnd.getAggregationKind();
+      return property.getAggregationKind();
     }
 
     return null;
   }
 
-  public IModelElement getTypeAsElement() {
-    if (isAttribute()) return attribute.getTypeAsElement();
-    if (isAssociationEnd()) return associationEnd.getTypeAsElement();
-
-    return null;
+  public Reference<ElementKind> getTypeAsElement() {
+    return property.getType();
   }
 
-  public Iterator<?> subsettedPropertyIterator() {
-    if (isAttribute()) return attribute.subsettedPropertyIterator();
-    if (isAssociationEnd()) return associationEnd.subsettedPropertyIterator();
-    return null;
+  public List<Reference<ElementKind>> getSubsettedProperties() {
+    return property.getSubsettedProperties();
   }
 
-  public Iterator<?> redefinedPropertyIterator() {
-    if (isAttribute()) return attribute.redefinedPropertyIterator();
-    if (isAssociationEnd()) return associationEnd.redefinedPropertyIterator();
-    return null;
+  public List<Reference<ElementKind>> getRedefinedProperties() {
+    return property.getRedefinedProperties();
   }
 }
@@ -1,25 +1,17 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IAssociationEnd;
-import com.vp.plugin.model.IAttribute;
-import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.AggregationKind;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Classifier;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 public class IPropertyTransformer {
 
-  public static Property transform(IModelElement source) {
-    if (source instanceof IAttribute) {
-      return transform(new IPropertyAdapter((IAttribute) source));
-    }
-
-    if (source instanceof IAssociationEnd) {
-      return transform(new IPropertyAdapter((IAssociationEnd) source));
+  public static Property transform(ElementSnapshot source) {
+    if (source instanceof PropertySnapshot) {
+      return transform(new IPropertyAdapter((PropertySnapshot) source));
     }
 
     return null;
@@ -69,7 +61,7 @@ public class IPropertyTransformer {
   }
 
   private static Classifier<?, ?> transformPropertyType(IPropertyAdapter property) {
-    IModelElement sourcePropertyType = property.getTypeAsElement();
+    Reference<ElementKind> sourcePropertyType = property.getTypeAsElement();
 
     if (sourcePropertyType == null) {
       return null;
@@ -80,31 +72,21 @@ public class IPropertyTransformer {
   }
 
   private static List<Property> transformSubsettedProperties(IPropertyAdapter property) {
-    return transformProperties(property.subsettedPropertyIterator());
+    return transformProperties(property.getSubsettedProperties());
   }
 
   private static List<Property> transformRedefinedProperties(IPropertyAdapter property) {
-    return transformProperties(property.redefinedPropertyIterator());
+    return transformProperties(property.getRedefinedProperties());
   }
 
-  private static List<Property> transformProperties(Iterator<?> iterator) {
+  private static List<Property> transformProperties(List<Reference<ElementKind>> sources) {
     List<Property> targetProperties = new ArrayList<>();
 
-    while (iterator.hasNext()) {
-      Object source = iterator.next();
-
-      if (!isProperty(source)) {
-        continue;
-      }
-
-      OntoumlElement target = ReferenceTransformer.transformStub((IModelElement) source);
+    for (Reference<ElementKind> source : sources) {
+      OntoumlElement target = ReferenceTransformer.transformStub(source);
       targetProperties.add((Property) target);
     }
 
     return targetProperties;
   }
-
-  public static boolean isProperty(Object object) {
-    return object instanceof IAttribute || object instanceof IAssociationEnd;
-  }
 }
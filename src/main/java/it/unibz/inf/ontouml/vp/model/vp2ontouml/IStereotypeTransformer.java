@@ -1,59 +1,20 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.*;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Decoratable;
 
 public class IStereotypeTransformer {
 
-  public static void transform(IModelElement source, Decoratable<?> target) {
+  public static void transform(ElementSnapshot source, Decoratable<?> target) {
     String stereotype = null;
 
-    if (source instanceof IClass
-        || source instanceof IAssociation
-        || source instanceof IAttribute
-        || source instanceof IAssociationEnd) stereotype = getFirstStereotype(source);
+    if (source.getKind() == ElementKind.CLASS
+        || source.getKind() == ElementKind.ASSOCIATION
+        || source.getKind() == ElementKind.PROPERTY) stereotype = source.getStereotype();
 
-    if (source instanceof IDataType) stereotype = "datatype";
+    if (source.getKind() == ElementKind.DATATYPE) stereotype = "datatype";
 
-    if (source instanceof IAssociationClass) stereotype = "derivation";
-
-    //    if (source instanceof IClass) {
-    //      stereotype = getFirstStereotype((IClass) source);
-    //    } else if (source instanceof IAssociationClass) {
-    //      stereotype = getFirstStereotype((IAssociationClass) source);
-    //    } else if (source instanceof IAssociation) {
-    //      stereotype = getFirstStereotype((IAssociation) source);
-    //    } else if (source instanceof IAttribute) {
-    //      stereotype = getFirstStereotype((IAttribute) source);
-    //    } else if (source instanceof IAssociationEnd) {
-    //      stereotype = getFirstStereotype((IAttribute) source);
-    //    }
+    if (source.getKind() == ElementKind.ASSOCIATION_CLASS) stereotype = "derivation";
 
     target.setStereotype(stereotype);
   }
-
-  public static String getFirstStereotype(IModelElement element) {
-    IStereotype[] stereotypes = element.toStereotypeModelArray();
-    return (stereotypes != null && stereotypes.length > 0) ? stereotypes[0].getName() : null;
-  }
-
-  public static String getFirstStereotype(IClass clazz) {
-    return getFirst(clazz.toStereotypeArray());
-  }
-
-  public static String getFirstStereotype(IAssociationClass clazz) {
-    return getFirst(clazz.toStereotypeArray());
-  }
-
-  public static String getFirstStereotype(IAssociation association) {
-    return getFirst(association.toStereotypeArray());
-  }
-
-  public static String getFirstStereotype(IAttribute attribute) {
-    return getFirst(attribute.toStereotypeArray());
-  }
-
-  private static String getFirst(String[] array) {
-    return (array.length > 0) ? array[0] : null;
-  }
 }
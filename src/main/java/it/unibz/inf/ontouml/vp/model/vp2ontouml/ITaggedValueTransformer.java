@@ -1,8 +1,5 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.model.IModelElement;
-import com.vp.plugin.model.ITaggedValue;
-import com.vp.plugin.model.ITaggedValueContainer;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
 import it.unibz.inf.ontouml.vp.utils.StereotypesManager;
 import java.util.AbstractMap;
@@ -11,19 +8,14 @@ import java.util.Map;
 
 public class ITaggedValueTransformer {
 
-  public static void transform(IModelElement source, ModelElement target) {
+  public static void transform(ElementSnapshot source, ModelElement target) {
     Map<String, Object> map = ITaggedValueTransformer.createTaggedValueMap(source);
     target.setPropertyAssignments(map);
   }
 
-  private static Map<String, Object> createTaggedValueMap(IModelElement sourceElement) {
-    ITaggedValueContainer taggedValueContainer = sourceElement.getTaggedValues();
-    if (taggedValueContainer == null) {
-      return new HashMap<>();
-    }
-
+  private static Map<String, Object> createTaggedValueMap(ElementSnapshot sourceElement) {
     Map<String, Object> propertyAssignments = new HashMap<>();
-    for (ITaggedValue taggedValue : taggedValueContainer.toTaggedValueArray()) {
+    for (TaggedValueSnapshot taggedValue : sourceElement.getTaggedValues()) {
       // Skips tagged values embedded in OntoUML stereotypes,
       // namely isExtensional, isPowertype, order.
       if (!isTaggedValueUserDefined(taggedValue)) {
@@ -37,11 +29,11 @@ public class ITaggedValueTransformer {
     return propertyAssignments;
   }
 
-  private static Map.Entry<String, Object> transformTaggedValue(ITaggedValue taggedValue) {
+  private static Map.Entry<String, Object> transformTaggedValue(TaggedValueSnapshot taggedValue) {
     String key = taggedValue.getName();
-    Object value = taggedValue.getValue();
+    Object value;
 
-    if (value == null) {
+    if (!taggedValue.hasValue()) {
       return new AbstractMap.SimpleEntry<>(key, null);
     }
 
@@ -56,7 +48,7 @@ public class ITaggedValueTransformer {
         value = safeGetFloatValue(taggedValue);
         break;
       case 7:
-        value = Boolean.parseBoolean((String) taggedValue.getValue());
+        value = Boolean.parseBoolean(taggedValue.getValue());
         break;
       default:
         value = taggedValue.getValueAsString();
@@ -65,21 +57,21 @@ public class ITaggedValueTransformer {
     return new AbstractMap.SimpleEntry<>(key, value);
   }
 
-  private static boolean isTaggedValueUserDefined(ITaggedValue taggedValue) {
+  private static boolean isTaggedValueUserDefined(TaggedValueSnapshot taggedValue) {
     return !StereotypesManager.CLASS_TAGGED_VALUES.contains(taggedValue.getName());
   }
 
-  private static Integer safeGetIntegerValue(ITaggedValue taggedValue) {
+  private static Integer safeGetIntegerValue(TaggedValueSnapshot taggedValue) {
     try {
-      return Integer.parseInt((String) taggedValue.getValue());
+      return Integer.parseInt(taggedValue.getValue());
     } catch (Exception e) {
       return null;
     }
   }
 
-  private static Float safeGetFloatValue(ITaggedValue taggedValue) {
+  private static Float safeGetFloatValue(TaggedValueSnapshot taggedValue) {
     try {
-      return Float.parseFloat((String) taggedValue.getValue());
+      return Float.parseFloat(taggedValue.getValue());
     } catch (Exception e) {
       return null;
     }
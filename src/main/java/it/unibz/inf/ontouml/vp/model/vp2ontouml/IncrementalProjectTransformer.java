@@ -0,0 +1,496 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.diagram.IDiagramUIModel;
+import com.vp.plugin.model.IDataType;
+import com.vp.plugin.model.IModelElement;
+import com.vp.plugin.model.IProject;
+import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectDiff;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializationOptions;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.DeserializationReport;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.ReferenceResolver;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.ModelElement;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the transformation of the current project in sync with its changes, so repeated
+ * transformations only capture again from Visual Paradigm the elements and diagrams that changed
+ * since the last one. Listeners mark changed elements and diagrams as dirty; a transformation
+ * replaces the dirty ones in a cached project and only resolves again the references of the
+ * replaced elements and of the elements and views that refer to them.
+ *
+ * <p>Attributes, association ends and literals are transformed again with the element that
+ * contains them. Moving or resizing shapes marks no diagram as dirty, so transformations that need
+ * the current layout should refresh every diagram. A full {@link #rebuild} is the fallback
+ * whenever the cache is stale or its elements cannot be linked together, and {@link #check}
+ * compares the cache with a full transformation.
+ *
+ * <p>Transformations return copies of the cached project, which callers own and may change while
+ * later transformations update the cache.
+ */
+public class IncrementalProjectTransformer {
+
+  private static final IncrementalProjectTransformer instance =
+      new IncrementalProjectTransformer();
+
+  private final Set<String> dirtyElementIds = ConcurrentHashMap.newKeySet();
+  private final Set<String> dirtyDiagramIds = ConcurrentHashMap.newKeySet();
+  private volatile boolean isStale = true;
+
+  private String projectId;
+
+  /** Project holding the cached elements in their packages and the cached diagrams. */
+  private Project cache;
+
+  /** Sources and targets of the elements contained by packages, in the order of the project. */
+  private final Map<String, ElementSnapshot> sources = new LinkedHashMap<>();
+
+  private final Map<String, ModelElement> targets = new HashMap<>();
+
+  /** Ids of the cached elements that contain each attribute, association end and literal. */
+  private final Map<String, String> containerIds = new HashMap<>();
+
+  private final Map<String, Diagram> diagrams = new LinkedHashMap<>();
+
+  /** Cached elements and views that hold a reference, by the id of the element referred to. */
+  private final Map<String, Set<OntoumlElement>> referrers = new HashMap<>();
+
+  private IncrementalProjectTransformer() {}
+
+  public static IncrementalProjectTransformer getInstance() {
+    return instance;
+  }
+
+  /** Marks an element as changed, added or removed since the last transformation. */
+  public void markDirty(IModelElement element) {
+    if (element != null) dirtyElementIds.add(element.getId());
+  }
+
+  /** Marks a diagram as changed, added or removed since the last transformation. */
+  public void markDirty(IDiagramUIModel diagram) {
+    if (diagram != null) dirtyDiagramIds.add(diagram.getId());
+  }
+
+  /** Invalidates the cache, e.g., once another project is opened, so it is rebuilt when needed. */
+  public void reset() {
+    isStale = true;
+  }
+
+  /** Returns the number of elements and diagrams held by the cache. */
+  public synchronized int size() {
+    return sources.size() + containerIds.size() + diagrams.size();
+  }
+
+  /**
+   * Transforms the project, only transforming again the elements and diagrams marked as dirty.
+   *
+   * @param refreshDiagrams whether to transform every diagram again, e.g., to get the current
+   *     position of every shape.
+   */
+  public synchronized Project transform(IProject source, boolean refreshDiagrams) {
+    if (isStale || !source.getId().equals(projectId)) return rebuild(source);
+
+    List<String> elementIds = drain(dirtyElementIds);
+    List<String> diagramIds = drain(dirtyDiagramIds);
+    DeserializationReport report = new DeserializationReport();
+
+    try (Trace trace = Trace.open()) {
+      Update update = new Update();
+
+      for (String id : getTransformedAncestorIds(source, elementIds)) update(source, id, update);
+
+      place(update);
+
+      Package root = cache.getModel().get();
+
+      if (refreshDiagrams) {
+        new ArrayList<>(diagrams.keySet()).forEach(id -> removeDiagram(id, update));
+        IProjectTransformer.transformDiagrams(ProjectSnapshot.captureDiagrams(source), root)
+            .forEach(diagram -> addDiagram(diagram, update));
+      } else {
+        diagramIds.forEach(id -> updateDiagram(source, id, root, update));
+      }
+
+      link(update, report);
+    }
+
+    if (report.hasProblems()) {
+      System.out.println("Cached elements could not be linked: " + report.getMessages());
+      return rebuild(source);
+    }
+
+    System.out.println(
+        "Transformation updated "
+            + elementIds.size()
+            + " dirty elements and "
+            + (refreshDiagrams ? "all" : diagramIds.size())
+            + " diagrams.");
+    return copyCache();
+  }
+
+  /** Transforms the whole project and caches its elements and diagrams. */
+  public synchronized Project rebuild(IProject source) {
+    dirtyElementIds.clear();
+    dirtyDiagramIds.clear();
+    sources.clear();
+    targets.clear();
+    containerIds.clear();
+    diagrams.clear();
+    referrers.clear();
+
+    ProjectSnapshot snapshot = ProjectSnapshot.capture(source);
+
+    try (Trace trace = Trace.open()) {
+      List<ElementSnapshot> elements = new ArrayList<>(snapshot.getElements());
+      elements.addAll(snapshot.getDatatypes());
+
+      List<ModelElement> transformedElements =
+          trace.transformAll(elements, IProjectTransformer::transformModelElement);
+
+      for (int i = 0; i < elements.size(); i++) cache(elements.get(i), transformedElements.get(i));
+
+      cache = assemble(source);
+      IProjectTransformer.link(cache, new ReferenceResolver());
+
+      Package root = cache.getModel().get();
+      Update update = new Update();
+      IProjectTransformer.transformDiagrams(snapshot.getDiagrams(), root)
+          .forEach(diagram -> addDiagram(diagram, update));
+      link(update, new DeserializationReport());
+
+      projectId = source.getId();
+      isStale = false;
+
+      System.out.println(
+          "Transformation rebuilt "
+              + trace.size()
+              + " elements, captured in "
+              + snapshot.getCaptureTime() / 1_000_000
+              + " ms.");
+      return copyCache();
+    }
+  }
+
+  /**
+   * Compares the cache with a full transformation of the project and rebuilds it if they differ.
+   *
+   * @return whether the cache was in sync with the project.
+   */
+  public synchronized boolean check(IProject source) {
+    Project incremental = transform(source, true);
+    Project full = IProjectTransformer.transform(source);
+    ProjectDiff diff = ProjectDiff.compare(full, incremental);
+
+    if (diff.isEmpty()) return true;
+
+    System.out.println(
+        "Incremental transformation is out of sync: "
+            + diff.getAddedElements().size()
+            + " unexpected, "
+            + diff.getRemovedElements().size()
+            + " missing and "
+            + diff.getChangedElements().size()
+            + " changed elements.");
+
+    rebuild(source);
+    return false;
+  }
+
+  private static List<String> drain(Set<String> ids) {
+    List<String> drained = new ArrayList<>();
+    Iterator<String> iterator = ids.iterator();
+
+    while (iterator.hasNext()) {
+      drained.add(iterator.next());
+      iterator.remove();
+    }
+
+    return drained;
+  }
+
+  /**
+   * Returns the ids of the elements to transform again, i.e., the dirty elements contained by
+   * packages and the elements that contain the other dirty elements. Dirty elements that are not
+   * transformed, e.g., diagram notes, are left out.
+   */
+  private Set<String> getTransformedAncestorIds(IProject source, List<String> elementIds) {
+    Set<String> ancestorIds = new LinkedHashSet<>();
+
+    for (String id : elementIds) {
+      if (sources.containsKey(id)) {
+        ancestorIds.add(id);
+        continue;
+      }
+
+      if (containerIds.containsKey(id)) {
+        ancestorIds.add(containerIds.get(id));
+        continue;
+      }
+
+      IModelElement element = source.getModelElementById(id);
+
+      if (element == null) continue;
+
+      if (ProjectSnapshot.isPackageableElement(element)) {
+        ancestorIds.add(id);
+        continue;
+      }
+
+      for (IModelElement parent = element.getParent(); parent != null; ) {
+        if (sources.containsKey(parent.getId())) {
+          ancestorIds.add(parent.getId());
+          break;
+        }
+
+        parent = parent.getParent();
+      }
+    }
+
+    return ancestorIds;
+  }
+
+  /**
+   * Transforms a cached or new element again, or drops it if it no longer exists. The previous
+   * version leaves the cache at once, unless it is a package, which keeps its contents until they
+   * are moved into the new version.
+   */
+  private void update(IProject source, String id, Update update) {
+    ModelElement previous = targets.remove(id);
+    sources.remove(id);
+
+    if (previous instanceof Package) {
+      unregisterReferrer(previous);
+      update.previousPackages.put(id, (Package) previous);
+    } else if (previous != null) {
+      for (String contentId : getContentIds(previous)) {
+        containerIds.remove(contentId);
+        update.replacedIds.add(contentId);
+      }
+
+      unregisterReferrers(previous);
+      previous.getContainer().ifPresent(container -> ((Package) container).removeContent(previous));
+    }
+
+    update.replacedIds.add(id);
+
+    IModelElement element = source.getModelElementById(id);
+
+    if (element == null) return;
+
+    if (!ProjectSnapshot.isPackageableElement(element) && !(element instanceof IDataType)) return;
+
+    ElementSnapshot snapshot = ElementSnapshot.capture(element);
+    transformAndCache(snapshot, update);
+
+    // Attributes may now use datatypes that were not transformed yet
+    if (snapshot instanceof ClassSnapshot) {
+      List<PropertySnapshot> attributes = ((ClassSnapshot) snapshot).getAttributes();
+
+      attributes.stream()
+          .map(PropertySnapshot::getType)
+          .filter(type -> type != null && type.getKind() == ElementKind.DATATYPE)
+          .filter(type -> !sources.containsKey(type.getId()))
+          .map(type -> ElementSnapshot.capture(source.getModelElementById(type.getId())))
+          .forEach(datatype -> transformAndCache(datatype, update));
+    }
+  }
+
+  private void transformAndCache(ElementSnapshot source, Update update) {
+    if (source == null) return;
+
+    ModelElement target = IProjectTransformer.transformModelElement(source);
+
+    if (target == null) return;
+
+    cache(source, target);
+    update.transformed.add(target);
+    update.replacedIds.add(target.getId());
+  }
+
+  private void cache(ElementSnapshot source, ModelElement target) {
+    if (target == null) return;
+
+    sources.put(source.getId(), source);
+    targets.put(source.getId(), target);
+
+    if (target instanceof Package) {
+      registerReferrer(target);
+      return;
+    }
+
+    getContentIds(target).forEach(contentId -> containerIds.put(contentId, target.getId()));
+    registerReferrers(target);
+  }
+
+  private static List<String> getContentIds(ModelElement element) {
+    return element.streamAllContents().map(OntoumlElement::getId).collect(Collectors.toList());
+  }
+
+  /** Creates a project and places every cached element in its package, or in the root package. */
+  private Project assemble(IProject source) {
+    Project project = new Project();
+    project.addName(source.getName());
+    project.setId(source.getId());
+
+    Package root = project.createModel(source.getId() + "_root", source.getName());
+
+    sources.keySet().forEach(id -> getContainer(id, root).addContent(targets.get(id)));
+
+    return project;
+  }
+
+  /**
+   * Places the elements transformed again in their packages, once every one of them is cached, and
+   * moves the contents of the previous versions of packages into their new versions, or into the
+   * root package if they were dropped.
+   */
+  private void place(Update update) {
+    Package root = cache.getModel().get();
+
+    for (ModelElement target : update.transformed)
+      getContainer(target.getId(), root).addContent(target);
+
+    update.previousPackages.forEach(
+        (id, previous) -> {
+          ModelElement target = targets.get(id);
+          Package replacement = target instanceof Package ? (Package) target : root;
+
+          replacement.moveContentsFrom(previous);
+          previous.getContainer().ifPresent(c -> ((Package) c).removeContent(previous));
+        });
+  }
+
+  private Package getContainer(String id, Package root) {
+    String parentId = sources.get(id).getParentId();
+    ModelElement container = parentId != null ? targets.get(parentId) : null;
+    return container instanceof Package ? (Package) container : root;
+  }
+
+  private void updateDiagram(IProject source, String id, Package root, Update update) {
+    DiagramSnapshot diagram = DiagramSnapshot.capture(source.getDiagramById(id));
+
+    removeDiagram(id, update);
+
+    if (diagram != null) addDiagram(IClassDiagramTransformer.transform(diagram, root), update);
+  }
+
+  private void addDiagram(Diagram diagram, Update update) {
+    diagrams.put(diagram.getId(), diagram);
+    cache.addDiagram(diagram);
+    registerReferrers(diagram);
+    update.transformedDiagrams.add(diagram);
+  }
+
+  private void removeDiagram(String id, Update update) {
+    Diagram previous = diagrams.remove(id);
+
+    if (previous == null) return;
+
+    unregisterReferrers(previous);
+    cache.removeDiagram(previous);
+  }
+
+  /**
+   * Replaces the references held by the elements and diagrams transformed again, and by the cached
+   * elements and views that refer to a replaced element, by the elements of the cache with the same
+   * ids. Views that cannot be resolved keep their stubs, as in full transformations, while elements
+   * that cannot be resolved are reported.
+   */
+  private void link(Update update, DeserializationReport report) {
+    ReferenceResolver elementResolver = new ReferenceResolver(report);
+    ReferenceResolver viewResolver = new ReferenceResolver(new DeserializationReport());
+    Set<OntoumlElement> relinked = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    for (ModelElement target : update.transformed) {
+      relinked.add(target);
+
+      if (!(target instanceof Package)) target.streamAllContents().forEach(relinked::add);
+    }
+
+    for (Diagram diagram : update.transformedDiagrams) {
+      relinked.add(diagram);
+      diagram.streamAllContents().forEach(relinked::add);
+    }
+
+    for (String id : update.replacedIds) relinked.addAll(referrers.getOrDefault(id, Set.of()));
+
+    for (OntoumlElement element : relinked) {
+      if (element instanceof ModelElement) elementResolver.addReferences(element);
+      else viewResolver.addReferences(element);
+    }
+
+    elementResolver.resolveReferences(cache);
+    viewResolver.resolveReferences(cache);
+  }
+
+  /** Registers the element and its contents with the elements they refer to. */
+  private void registerReferrers(OntoumlElement element) {
+    registerReferrer(element);
+    element.streamAllContents().forEach(this::registerReferrer);
+  }
+
+  private void registerReferrer(OntoumlElement element) {
+    for (OntoumlElement reference : element.getReferences())
+      referrers
+          .computeIfAbsent(
+              reference.getId(), k -> Collections.newSetFromMap(new IdentityHashMap<>()))
+          .add(element);
+  }
+
+  private void unregisterReferrers(OntoumlElement element) {
+    unregisterReferrer(element);
+    element.streamAllContents().forEach(this::unregisterReferrer);
+  }
+
+  private void unregisterReferrer(OntoumlElement element) {
+    for (OntoumlElement reference : element.getReferences()) {
+      Set<OntoumlElement> elements = referrers.get(reference.getId());
+
+      if (elements != null && elements.remove(element) && elements.isEmpty())
+        referrers.remove(reference.getId());
+    }
+  }
+
+  /**
+   * Returns a copy of the cached project for the caller to own. It is read back from the JSON the
+   * cache is written as, so it keeps the stubs of unresolved references, like the cache.
+   */
+  private Project copyCache() {
+    DeserializationOptions options = new DeserializationOptions();
+    options.setReport(new DeserializationReport());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    try {
+      ProjectFormat.JSON.write(cache, out);
+      return options.applyTo(ProjectFormat.JSON.getReader()).readValue(out.toByteArray());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Elements and diagrams changed by a transformation, and ids whose referrers need linking. */
+  private static class Update {
+    private final List<ModelElement> transformed = new ArrayList<>();
+    private final Map<String, Package> previousPackages = new LinkedHashMap<>();
+    private final List<Diagram> transformedDiagrams = new ArrayList<>();
+    private final Set<String> replacedIds = new LinkedHashSet<>();
+  }
+}
@@ -0,0 +1,255 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.diagram.IDiagramUIModel;
+import com.vp.plugin.model.*;
+import com.vp.plugin.model.factory.IModelElementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Copy of everything the transformation reads from a Visual Paradigm project, captured in a single
+ * traversal: the elements contained by packages with their attributes, ends and literals, the
+ * datatypes used by attributes, and the class diagrams with their shapes and connectors. Once
+ * captured, the project is transformed without calling the Visual Paradigm API.
+ */
+public final class ProjectSnapshot {
+
+  private static final String[] elementTypes = {
+    IModelElementFactory.MODEL_TYPE_PACKAGE,
+    IModelElementFactory.MODEL_TYPE_MODEL,
+    IModelElementFactory.MODEL_TYPE_CLASS,
+    IModelElementFactory.MODEL_TYPE_GENERALIZATION,
+    IModelElementFactory.MODEL_TYPE_GENERALIZATION_SET,
+    IModelElementFactory.MODEL_TYPE_ASSOCIATION,
+    IModelElementFactory.MODEL_TYPE_ASSOCIATION_CLASS,
+  };
+
+  private final String id;
+  private final String name;
+  private final List<ElementSnapshot> elements;
+  private final List<ElementSnapshot> datatypes;
+  private final List<DiagramSnapshot> diagrams;
+  private final long captureTime;
+
+  private ProjectSnapshot(
+      IProject source,
+      List<ElementSnapshot> elements,
+      List<ElementSnapshot> datatypes,
+      List<DiagramSnapshot> diagrams,
+      long captureTime) {
+    this.id = source.getId();
+    this.name = source.getName();
+    this.elements = Collections.unmodifiableList(elements);
+    this.datatypes = Collections.unmodifiableList(datatypes);
+    this.diagrams = Collections.unmodifiableList(diagrams);
+    this.captureTime = captureTime;
+  }
+
+  /** Captures the elements and class diagrams of the project. */
+  public static ProjectSnapshot capture(IProject source) {
+    long start = System.nanoTime();
+
+    List<ElementSnapshot> elements =
+        Stream.of(source.toAllLevelModelElementArray(elementTypes))
+            .filter(ProjectSnapshot::isConnectingSupportedElements)
+            .map(ElementSnapshot::capture)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
+    List<ElementSnapshot> datatypes = captureUsedDatatypes(source, elements);
+    List<DiagramSnapshot> diagrams = captureDiagrams(source);
+
+    return new ProjectSnapshot(source, elements, datatypes, diagrams, System.nanoTime() - start);
+  }
+
+  /**
+   * Captures a class diagram and only the elements it needs: the elements it shows, the package
+   * that owns it and, transitively, the elements these refer to, such as the types of attributes,
+   * the classifiers of generalizations and the ends of relations. The verification of the shown
+   * classifiers also needs their ancestors, so the generalizations in which any captured classifier
+   * is the specific are captured as well, and the relations connected to the shown classifiers,
+   * such as the mediations of a relator, even if the diagram does not show them. Elements whose
+   * container is left out are captured as contents of the project. The capture costs time
+   * proportional to the diagram and the hierarchies of its classifiers rather than to the project,
+   * and captures nothing if the diagram is not a class diagram.
+   */
+  public static ProjectSnapshot captureDiagram(IProject source, IDiagramUIModel diagram) {
+    long start = System.nanoTime();
+    DiagramSnapshot diagramSnapshot = DiagramSnapshot.capture(diagram);
+
+    if (diagramSnapshot == null)
+      return new ProjectSnapshot(
+          source, List.of(), List.of(), List.of(), System.nanoTime() - start);
+
+    Set<String> shownIds =
+        diagramSnapshot.getViews().stream()
+            .map(ViewSnapshot::getModelElement)
+            .filter(Objects::nonNull)
+            .map(Reference::getId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    Deque<String> pendingIds = new ArrayDeque<>(shownIds);
+
+    if (diagramSnapshot.getOwner() != null) pendingIds.addFirst(diagramSnapshot.getOwner().getId());
+
+    Map<String, ElementSnapshot> elements = new LinkedHashMap<>();
+
+    while (!pendingIds.isEmpty()) {
+      IModelElement element = getReferableElement(source.getModelElementById(pendingIds.poll()));
+
+      if (element == null
+          || elements.containsKey(element.getId())
+          || !isPackageableElement(element)) continue;
+
+      ElementSnapshot snapshot = ElementSnapshot.capture(element);
+
+      if (snapshot == null) continue;
+
+      elements.put(snapshot.getId(), snapshot);
+      snapshot.getReferencedElements().forEach(reference -> pendingIds.add(reference.getId()));
+      addRelationshipIds(element, shownIds.contains(element.getId()), pendingIds);
+    }
+
+    List<ElementSnapshot> closure = new ArrayList<>(elements.values());
+    List<ElementSnapshot> datatypes = captureUsedDatatypes(source, closure);
+
+    return new ProjectSnapshot(
+        source, closure, datatypes, List.of(diagramSnapshot), System.nanoTime() - start);
+  }
+
+  /**
+   * Adds the ids of the generalizations in which the element is the specific, if the element is a
+   * classifier, and of the relations connected to it, if it is also shown on the diagram. Capturing
+   * these generalizations captures their generals in turn, which walks the hierarchy upwards.
+   */
+  private static void addRelationshipIds(
+      IModelElement element, boolean isShown, Deque<String> ids) {
+    if (!(element instanceof IClass) && !(element instanceof IAssociation)) return;
+
+    streamOf(element.toToRelationshipArray())
+        .filter(IGeneralization.class::isInstance)
+        .forEach(generalization -> ids.add(generalization.getId()));
+
+    if (!isShown) return;
+
+    Stream.concat(
+            streamOf(element.toFromRelationshipEndArray()),
+            streamOf(element.toToRelationshipEndArray()))
+        .map(IRelationshipEnd::getEndRelationship)
+        .filter(IAssociation.class::isInstance)
+        .forEach(relation -> ids.add(relation.getId()));
+  }
+
+  private static <T> Stream<T> streamOf(T[] array) {
+    return array != null ? Stream.of(array) : Stream.empty();
+  }
+
+  /**
+   * Returns the element that must be captured for a reference to the element to be resolved,
+   * i.e., the owner of an attribute, association end or literal, or the element itself.
+   */
+  private static IModelElement getReferableElement(IModelElement element) {
+    ElementKind kind = ElementKind.of(element);
+    return kind == ElementKind.PROPERTY || kind == ElementKind.LITERAL
+        ? element.getParent()
+        : element;
+  }
+
+  /** Captures the class diagrams of the project. */
+  public static List<DiagramSnapshot> captureDiagrams(IProject source) {
+    return Stream.of(source.toDiagramArray())
+        .map(DiagramSnapshot::capture)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  /** Captures the datatypes used by the attributes of the classes, in the order of their use. */
+  private static List<ElementSnapshot> captureUsedDatatypes(
+      IProject source, List<ElementSnapshot> elements) {
+    Set<String> datatypeIds =
+        elements.stream()
+            .filter(ClassSnapshot.class::isInstance)
+            .flatMap(clazz -> ((ClassSnapshot) clazz).getAttributes().stream())
+            .map(PropertySnapshot::getType)
+            .filter(type -> type != null && type.getKind() == ElementKind.DATATYPE)
+            .map(Reference::getId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+    List<ElementSnapshot> datatypes = new ArrayList<>();
+
+    for (String datatypeId : datatypeIds)
+      datatypes.add(ElementSnapshot.capture(source.getModelElementById(datatypeId)));
+
+    datatypes.removeIf(Objects::isNull);
+    return datatypes;
+  }
+
+  /**
+   * Returns whether the element is transformed as a content of a package, rather than as a content
+   * of another element or as a datatype used by attributes.
+   */
+  public static boolean isPackageableElement(IModelElement element) {
+    return Arrays.asList(elementTypes).contains(element.getModelType())
+        && isConnectingSupportedElements(element);
+  }
+
+  // Relationships may connect other types of model elements and these need to be filtered out
+  // the code also filters out relationships connected to null
+  private static boolean isConnectingSupportedElements(IModelElement element) {
+    if (!(element instanceof IRelationship)) {
+      return true;
+    }
+
+    var source = ((IRelationship) element).getFrom();
+    var target = ((IRelationship) element).getTo();
+    var sourceType = source != null ? source.getModelType() : null;
+    var targetType = target != null ? target.getModelType() : null;
+    var desiredTypes =
+        Arrays.asList(
+            IModelElementFactory.MODEL_TYPE_ASSOCIATION, IModelElementFactory.MODEL_TYPE_CLASS);
+
+    return desiredTypes.contains(sourceType) && desiredTypes.contains(targetType);
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Returns the elements contained by packages, in the order of the project. */
+  public List<ElementSnapshot> getElements() {
+    return elements;
+  }
+
+  /** Returns the datatypes used by attributes, which are not contained by packages. */
+  public List<ElementSnapshot> getDatatypes() {
+    return datatypes;
+  }
+
+  public List<DiagramSnapshot> getDiagrams() {
+    return diagrams;
+  }
+
+  /** Returns the number of elements and diagrams captured. */
+  public int size() {
+    return elements.size() + datatypes.size() + diagrams.size();
+  }
+
+  /** Returns how long the capture took, in nanoseconds, i.e., the time spent in the VP API. */
+  public long getCaptureTime() {
+    return captureTime;
+  }
+}
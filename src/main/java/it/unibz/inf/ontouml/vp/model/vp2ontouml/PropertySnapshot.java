@@ -0,0 +1,127 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.model.IAssociationEnd;
+import com.vp.plugin.model.IAttribute;
+import com.vp.plugin.model.IModelElement;
+import com.vp.plugin.model.IMultiplicity;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/** Copy of a Visual Paradigm attribute or association end. */
+public final class PropertySnapshot extends ElementSnapshot {
+
+  private final boolean isAttribute;
+  private final boolean isDerived;
+  private final boolean isReadOnly;
+  private final boolean isOrdered;
+  private final String multiplicity;
+  private final int aggregation;
+  private final String aggregationKind;
+  private final Reference<ElementKind> type;
+  private final List<Reference<ElementKind>> subsettedProperties;
+  private final List<Reference<ElementKind>> redefinedProperties;
+
+  PropertySnapshot(IModelElement source) {
+    super(source, ElementKind.PROPERTY);
+
+    IMultiplicity multiplicityDetail;
+
+    if (source instanceof IAttribute) {
+      IAttribute attribute = (IAttribute) source;
+      isAttribute = true;
+      isDerived = attribute.isDerived();
+      isReadOnly = attribute.isReadOnly();
+      multiplicity = attribute.getMultiplicity();
+      multiplicityDetail = attribute.getMultiplicityDetail();
+      aggregation = attribute.getAggregation();
+      aggregationKind = null;
+      type = Reference.to(attribute.getTypeAsElement());
+      subsettedProperties = captureProperties(attribute.subsettedPropertyIterator());
+      redefinedProperties = captureProperties(attribute.redefinedPropertyIterator());
+    } else {
+      IAssociationEnd associationEnd = (IAssociationEnd) source;
+      isAttribute = false;
+      isDerived = associationEnd.isDerived();
+      isReadOnly = associationEnd.isReadOnly();
+      multiplicity = associationEnd.getMultiplicity();
+      multiplicityDetail = associationEnd.getMultiplicityDetail();
+      aggregation = -1;
+      aggregationKind = associationEnd.getAggregationKind();
+      type = Reference.to(associationEnd.getTypeAsElement());
+      subsettedProperties = captureProperties(associationEnd.subsettedPropertyIterator());
+      redefinedProperties = captureProperties(associationEnd.redefinedPropertyIterator());
+    }
+
+    isOrdered = multiplicityDetail != null && multiplicityDetail.isOrdered();
+  }
+
+  private static List<Reference<ElementKind>> captureProperties(Iterator<?> iterator) {
+    List<Reference<ElementKind>> properties = new ArrayList<>();
+
+    while (iterator.hasNext()) {
+      Object source = iterator.next();
+
+      if (source instanceof IAttribute || source instanceof IAssociationEnd)
+        properties.add(Reference.to((IModelElement) source));
+    }
+
+    return Collections.unmodifiableList(properties);
+  }
+
+  public boolean isAttribute() {
+    return isAttribute;
+  }
+
+  public boolean isAssociationEnd() {
+    return !isAttribute;
+  }
+
+  public boolean isDerived() {
+    return isDerived;
+  }
+
+  public boolean isReadOnly() {
+    return isReadOnly;
+  }
+
+  /** Returns whether the multiplicity of the property is ordered. */
+  public boolean isOrdered() {
+    return isOrdered;
+  }
+
+  public String getMultiplicity() {
+    return multiplicity;
+  }
+
+  /** Returns the aggregation code of an attribute, or -1 for association ends. */
+  public int getAggregation() {
+    return aggregation;
+  }
+
+  /** Returns the aggregation kind of an association end, or null for attributes. */
+  public String getAggregationKind() {
+    return aggregationKind;
+  }
+
+  public Reference<ElementKind> getType() {
+    return type;
+  }
+
+  public List<Reference<ElementKind>> getSubsettedProperties() {
+    return subsettedProperties;
+  }
+
+  public List<Reference<ElementKind>> getRedefinedProperties() {
+    return redefinedProperties;
+  }
+
+  @Override
+  void addReferencedElements(List<Reference<ElementKind>> references) {
+    super.addReferencedElements(references);
+    references.add(type);
+    references.addAll(subsettedProperties);
+    references.addAll(redefinedProperties);
+  }
+}
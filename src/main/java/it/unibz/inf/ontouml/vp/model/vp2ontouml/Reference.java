@@ -0,0 +1,41 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.diagram.IDiagramElement;
+import com.vp.plugin.model.IModelElement;
+
+/** Id and kind of an element referred to by a snapshot, enough to create its reference stub. */
+public final class Reference<K extends Enum<K>> {
+
+  private final String id;
+  private final K kind;
+
+  private Reference(String id, K kind) {
+    this.id = id;
+    this.kind = kind;
+  }
+
+  /** Returns a reference to the model element, or null if it is missing or not captured. */
+  public static Reference<ElementKind> to(IModelElement element) {
+    ElementKind kind = ElementKind.of(element);
+    return kind != null ? new Reference<>(element.getId(), kind) : null;
+  }
+
+  /** Returns a reference to the diagram element, or null if it is missing or not captured. */
+  public static Reference<ViewKind> to(IDiagramElement element) {
+    ViewKind kind = ViewKind.of(element);
+    return kind != null ? new Reference<>(element.getId(), kind) : null;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public K getKind() {
+    return kind;
+  }
+
+  @Override
+  public String toString() {
+    return kind + " " + id;
+  }
+}
@@ -1,35 +1,37 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.vp.plugin.diagram.IDiagramElement;
-import com.vp.plugin.diagram.connector.IAssociationClassUIModel;
-import com.vp.plugin.diagram.connector.IAssociationUIModel;
-import com.vp.plugin.diagram.connector.IGeneralizationUIModel;
-import com.vp.plugin.diagram.shape.IClassUIModel;
-import com.vp.plugin.diagram.shape.IGeneralizationSetUIModel;
-import com.vp.plugin.diagram.shape.IModelUIModel;
-import com.vp.plugin.diagram.shape.IPackageUIModel;
-import com.vp.plugin.model.*;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.*;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import it.unibz.inf.ontouml.vp.model.ontouml.view.*;
 
 public class ReferenceTransformer {
-  public static ModelElement transformStub(IModelElement source) {
+  public static ModelElement transformStub(Reference<ElementKind> source) {
+    if (source == null) return null;
+
     ModelElement stub = null;
 
-    if (source instanceof IClass || source instanceof IDataType) {
-      stub = new Class();
-    } else if (source instanceof IAssociation || source instanceof IAssociationClass) {
-      stub = new Relation();
-    } else if (source instanceof IPackage || source instanceof IModel) {
-      stub = new Package();
-    } else if (source instanceof IAttribute || source instanceof IAssociationEnd) {
-      stub = new Property();
-    } else if (source instanceof IGeneralization) {
-      stub = new Generalization();
-    } else if (source instanceof IGeneralizationSet) {
-      stub = new GeneralizationSet();
+    switch (source.getKind()) {
+      case CLASS:
+      case DATATYPE:
+        stub = new Class();
+        break;
+      case ASSOCIATION:
+      case ASSOCIATION_CLASS:
+        stub = new Relation();
+        break;
+      case PACKAGE:
+        stub = new Package();
+        break;
+      case PROPERTY:
+        stub = new Property();
+        break;
+      case GENERALIZATION:
+        stub = new Generalization();
+        break;
+      case GENERALIZATION_SET:
+        stub = new GeneralizationSet();
+        break;
     }
 
     if (stub != null) {
@@ -39,20 +41,28 @@ public class ReferenceTransformer {
     return stub;
   }
 
-  public static ElementView<?, ?> transformStub(IDiagramElement source) {
+  public static ElementView<?, ?> transformViewStub(Reference<ViewKind> source) {
+    if (source == null) return null;
+
     ElementView<?, ?> stub = null;
 
-    if (source instanceof IClassUIModel) {
-      stub = new ClassView();
-    } else if (source instanceof IAssociationUIModel
-        || source instanceof IAssociationClassUIModel) {
-      stub = new RelationView();
-    } else if (source instanceof IPackageUIModel || source instanceof IModelUIModel) {
-      stub = new PackageView();
-    } else if (source instanceof IGeneralizationUIModel) {
-      stub = new GeneralizationView();
-    } else if (source instanceof IGeneralizationSetUIModel) {
-      stub = new GeneralizationSetView();
+    switch (source.getKind()) {
+      case CLASS:
+        stub = new ClassView();
+        break;
+      case ASSOCIATION:
+      case ASSOCIATION_CLASS:
+        stub = new RelationView();
+        break;
+      case PACKAGE:
+        stub = new PackageView();
+        break;
+      case GENERALIZATION:
+        stub = new GeneralizationView();
+        break;
+      case GENERALIZATION_SET:
+        stub = new GeneralizationSetView();
+        break;
     }
 
     if (stub != null) {
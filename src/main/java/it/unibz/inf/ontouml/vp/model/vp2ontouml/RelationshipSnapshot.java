@@ -0,0 +1,37 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.model.IRelationship;
+import java.util.List;
+
+/**
+ * Copy of a Visual Paradigm relationship, i.e., an association class or a generalization, or of
+ * the ends of an association.
+ */
+public class RelationshipSnapshot extends ElementSnapshot {
+
+  private final Reference<ElementKind> from;
+  private final Reference<ElementKind> to;
+
+  RelationshipSnapshot(IRelationship source, ElementKind kind) {
+    super(source, kind);
+    from = Reference.to(source.getFrom());
+    to = Reference.to(source.getTo());
+  }
+
+  /** Returns the source of the relationship, i.e., the general classifier of a generalization. */
+  public Reference<ElementKind> getFrom() {
+    return from;
+  }
+
+  /** Returns the target of the relationship, i.e., the specific classifier of a generalization. */
+  public Reference<ElementKind> getTo() {
+    return to;
+  }
+
+  @Override
+  void addReferencedElements(List<Reference<ElementKind>> references) {
+    super.addReferencedElements(references);
+    references.add(from);
+    references.add(to);
+  }
+}
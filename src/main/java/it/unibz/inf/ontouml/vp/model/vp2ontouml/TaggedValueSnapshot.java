@@ -0,0 +1,54 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.model.ITaggedValue;
+
+/** Copy of a Visual Paradigm tagged value, as returned by its getters. */
+public final class TaggedValueSnapshot {
+
+  /** Type of the tagged values whose value is a model element. */
+  public static final int MODEL_ELEMENT_TYPE = 1;
+
+  private final String name;
+  private final int type;
+  private final boolean hasValue;
+  private final String value;
+  private final String valueAsString;
+  private final Reference<ElementKind> valueAsElement;
+
+  TaggedValueSnapshot(ITaggedValue source) {
+    Object rawValue = source.getValue();
+
+    name = source.getName();
+    type = source.getType();
+    hasValue = rawValue != null;
+    value = rawValue instanceof String ? (String) rawValue : null;
+    valueAsString = hasValue ? source.getValueAsString() : null;
+    valueAsElement =
+        hasValue && type == MODEL_ELEMENT_TYPE ? Reference.to(source.getValueAsElement()) : null;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getType() {
+    return type;
+  }
+
+  public boolean hasValue() {
+    return hasValue;
+  }
+
+  /** Returns the value if Visual Paradigm stores it as a string, or null otherwise. */
+  public String getValue() {
+    return value;
+  }
+
+  public String getValueAsString() {
+    return valueAsString;
+  }
+
+  public Reference<ElementKind> getValueAsElement() {
+    return valueAsElement;
+  }
+}
@@ -2,28 +2,127 @@ package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
 import com.vp.plugin.model.IModelElement;
 import it.unibz.inf.ontouml.vp.model.ontouml.OntoumlElement;
-import java.util.HashMap;
+import it.unibz.inf.ontouml.vp.model.ontouml.deserialization.ReferenceResolver;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Correspondences between the elements of a Visual Paradigm project and the OntoUML elements they
+ * are transformed into, together with the reference stubs that still have to be resolved. A trace
+ * only lives for a single transformation, which {@link #open() opens} it as the current trace of
+ * its thread and closes it once done, so no Visual Paradigm element or OntoUML element is kept
+ * alive between transformations.
+ *
+ * <p>Correspondences may be added concurrently by the threads of {@link #transformAll}, while
+ * references are only resolved by the thread that opened the trace, once all elements exist.
+ */
+public class Trace implements AutoCloseable {
+
+  private static final ThreadLocal<Trace> current = new ThreadLocal<>();
+
+  /** Whether {@link #transformAll} always runs on the current thread, e.g., to debug it. */
+  private static final boolean isSequential =
+      Boolean.getBoolean("ontouml.transformation.sequential");
+
+  /** Number of sources below which splitting a transformation costs more than it saves. */
+  private static final int PARALLELISM_THRESHOLD = 64;
+
+  private final Map<String, Correspondence> map = new ConcurrentHashMap<>();
+
+  /** Reference stubs created by the transformation, resolved once all elements exist. */
+  private final ReferenceResolver references = new ReferenceResolver();
+
+  private Trace() {}
+
+  /**
+   * Opens an empty trace as the current trace of this thread, until it is closed.
+   *
+   * @throws IllegalStateException if this thread already has an open trace.
+   */
+  public static Trace open() {
+    if (current.get() != null)
+      throw new IllegalStateException("A transformation is already running on this thread!");
+
+    Trace trace = new Trace();
+    current.set(trace);
+    return trace;
+  }
 
-public class Trace {
+  /**
+   * Returns the trace of the transformation running on this thread.
+   *
+   * @throws IllegalStateException if no trace is open.
+   */
+  public static Trace getInstance() {
+    Trace trace = current.get();
 
-  private static Trace instance = null;
+    if (trace == null) throw new IllegalStateException("No transformation is running!");
 
-  public Map<String, Correspondence> map;
+    return trace;
+  }
 
-  private Trace() {
-    initialize();
+  /** Returns the number of correspondences held by the trace. */
+  public int size() {
+    return map.size();
   }
 
-  public void initialize() {
-    map = new HashMap<>();
+  /** Drops every correspondence and pending reference, and stops being the current trace. */
+  @Override
+  public void close() {
+    map.clear();
+    references.clear();
+
+    if (current.get() == this) current.remove();
   }
 
   public void put(String id, Object source, OntoumlElement target) {
     map.put(id, new Correspondence(source, target));
   }
 
+  public ReferenceResolver getReferences() {
+    return references;
+  }
+
+  /**
+   * Transforms every source, on the threads of the common fork-join pool when there are enough of
+   * them, with this trace as the current trace of every thread involved. The transformation must
+   * only read its source and create new elements, since sources are transformed concurrently.
+   *
+   * @return the results of the transformation, in the order of their sources.
+   */
+  public <S, T> List<T> transformAll(
+      List<? extends S> sources, Function<? super S, ? extends T> transformation) {
+    Stream<? extends S> stream =
+        isSequential || sources.size() < PARALLELISM_THRESHOLD
+            ? sources.stream()
+            : sources.parallelStream();
+
+    return stream
+        .map(source -> runAsCurrent(() -> transformation.apply(source)))
+        .collect(Collectors.toCollection(ArrayList::new));
+  }
+
+  private <T> T runAsCurrent(Supplier<T> task) {
+    Trace previous = current.get();
+
+    if (previous == this) return task.get();
+
+    current.set(this);
+
+    try {
+      return task.get();
+    } finally {
+      if (previous != null) current.set(previous);
+      else current.remove();
+    }
+  }
+
   public Object getSource(String id) {
     Correspondence correspondence = map.get(id);
     return correspondence != null ? correspondence.getSource() : null;
@@ -42,12 +141,6 @@ public class Trace {
     return source != null ? getTarget(source.getId()) : null;
   }
 
-  public static Trace getInstance() {
-    if (instance == null) instance = new Trace();
-
-    return instance;
-  }
-
   @Override
   public String toString() {
     return map.entrySet().stream()
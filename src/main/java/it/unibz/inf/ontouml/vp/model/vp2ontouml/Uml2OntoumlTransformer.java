@@ -1,18 +1,58 @@
 package it.unibz.inf.ontouml.vp.model.vp2ontouml;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.vp.plugin.ApplicationManager;
+import com.vp.plugin.diagram.IDiagramUIModel;
 import com.vp.plugin.model.*;
 import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.serialization.Serializer;
 import java.io.IOException;
+import java.io.OutputStream;
 
 public class Uml2OntoumlTransformer {
 
-  public static String transformAndSerialize() throws IOException {
+  /** Whether every incremental transformation is compared with a full one, to debug the cache. */
+  private static final boolean shouldCheckIncrementalTransformation =
+      Boolean.getBoolean("ontouml.transformation.check");
+
+  /**
+   * Transforms the current project, only transforming again the elements and diagrams that changed
+   * since the last transformation. The shapes of unchanged diagrams may be outdated.
+   */
+  public static Project transform() {
+    return transform(false);
+  }
+
+  /** Transforms the current project, including the current layout of every diagram. */
+  public static Project transformWithLayout() {
+    return transform(true);
+  }
+
+  /** Transforms the whole current project without using or updating the incremental cache. */
+  public static Project transformFully() {
+    final IProject source = ApplicationManager.instance().getProjectManager().getProject();
+    return IProjectTransformer.transform(source);
+  }
+
+  /**
+   * Transforms the diagram and only the elements of the current project it shows or refers to,
+   * without using or updating the incremental cache.
+   */
+  public static Project transformDiagram(IDiagramUIModel diagram) {
     final IProject source = ApplicationManager.instance().getProjectManager().getProject();
-    Project target = IProjectTransformer.transform(source);
-    ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-    return mapper.writeValueAsString(target);
+    return IProjectTransformer.transform(source, diagram);
+  }
+
+  private static Project transform(boolean refreshDiagrams) {
+    final IProject source = ApplicationManager.instance().getProjectManager().getProject();
+    final IncrementalProjectTransformer transformer = IncrementalProjectTransformer.getInstance();
+
+    if (shouldCheckIncrementalTransformation) transformer.check(source);
+
+    return transformer.transform(source, refreshDiagrams);
+  }
+
+  /** Transforms the current project and writes it as compact JSON into the output stream. */
+  public static void transformAndSerialize(OutputStream out) throws IOException {
+    Serializer.writeProject(transformWithLayout(), out);
   }
 }
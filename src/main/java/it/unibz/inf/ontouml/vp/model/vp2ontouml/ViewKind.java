@@ -0,0 +1,30 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.diagram.connector.IAssociationClassUIModel;
+import com.vp.plugin.diagram.connector.IAssociationUIModel;
+import com.vp.plugin.diagram.connector.IGeneralizationUIModel;
+import com.vp.plugin.diagram.shape.IClassUIModel;
+import com.vp.plugin.diagram.shape.IGeneralizationSetUIModel;
+import com.vp.plugin.diagram.shape.IModelUIModel;
+import com.vp.plugin.diagram.shape.IPackageUIModel;
+
+/** Kinds of Visual Paradigm diagram elements captured by snapshots. */
+public enum ViewKind {
+  CLASS,
+  ASSOCIATION,
+  ASSOCIATION_CLASS,
+  GENERALIZATION,
+  GENERALIZATION_SET,
+  PACKAGE;
+
+  /** Returns the kind of the diagram element, or null if it is not captured by snapshots. */
+  public static ViewKind of(Object element) {
+    if (element instanceof IClassUIModel) return CLASS;
+    if (element instanceof IAssociationUIModel) return ASSOCIATION;
+    if (element instanceof IAssociationClassUIModel) return ASSOCIATION_CLASS;
+    if (element instanceof IGeneralizationUIModel) return GENERALIZATION;
+    if (element instanceof IGeneralizationSetUIModel) return GENERALIZATION_SET;
+    if (element instanceof IPackageUIModel || element instanceof IModelUIModel) return PACKAGE;
+    return null;
+  }
+}
@@ -0,0 +1,125 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.diagram.IConnectorUIModel;
+import com.vp.plugin.diagram.IDiagramElement;
+import com.vp.plugin.diagram.IShapeUIModel;
+import java.awt.Point;
+
+/** Copy of a Visual Paradigm shape or connector, together with its geometry. */
+public final class ViewSnapshot {
+
+  private final String id;
+  private final ViewKind kind;
+  private final Reference<ElementKind> modelElement;
+
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+
+  /** Coordinates of the points of a connector, as x and y pairs. */
+  private final int[] points;
+
+  private final Reference<ViewKind> source;
+  private final Reference<ViewKind> target;
+
+  private ViewSnapshot(IDiagramElement element, ViewKind kind) {
+    this.id = element.getId();
+    this.kind = kind;
+    this.modelElement = Reference.to(element.getModelElement());
+
+    if (element instanceof IShapeUIModel) {
+      IShapeUIModel shape = (IShapeUIModel) element;
+      x = shape.getX();
+      y = shape.getY();
+      width = shape.getWidth();
+      height = shape.getHeight();
+    } else {
+      x = y = width = height = 0;
+    }
+
+    if (element instanceof IConnectorUIModel) {
+      IConnectorUIModel connector = (IConnectorUIModel) element;
+      points = capturePoints(connector.getPoints());
+      source =
+          Reference.to(
+              connector.getFromShape() != null
+                  ? connector.getFromShape()
+                  : connector.getFromConnector());
+      target =
+          Reference.to(
+              connector.getToShape() != null ? connector.getToShape() : connector.getToConnector());
+    } else {
+      points = new int[0];
+      source = target = null;
+    }
+  }
+
+  /** Captures the diagram element, or returns null if it is not transformed. */
+  public static ViewSnapshot capture(IDiagramElement element) {
+    ViewKind kind = ViewKind.of(element);
+    return kind != null ? new ViewSnapshot(element, kind) : null;
+  }
+
+  private static int[] capturePoints(Point[] sourcePoints) {
+    int[] points = new int[sourcePoints.length * 2];
+
+    for (int i = 0; i < sourcePoints.length; i++) {
+      points[2 * i] = (int) sourcePoints[i].getX();
+      points[2 * i + 1] = (int) sourcePoints[i].getY();
+    }
+
+    return points;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public ViewKind getKind() {
+    return kind;
+  }
+
+  public Reference<ElementKind> getModelElement() {
+    return modelElement;
+  }
+
+  public int getX() {
+    return x;
+  }
+
+  public int getY() {
+    return y;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /** Returns the number of points of a connector. */
+  public int getPointCount() {
+    return points.length / 2;
+  }
+
+  public int getPointX(int index) {
+    return points[2 * index];
+  }
+
+  public int getPointY(int index) {
+    return points[2 * index + 1];
+  }
+
+  /** Returns the shape or connector a connector comes from. */
+  public Reference<ViewKind> getSource() {
+    return source;
+  }
+
+  /** Returns the shape or connector a connector goes to. */
+  public Reference<ViewKind> getTarget() {
+    return target;
+  }
+}
@@ -3,8 +3,11 @@ package it.unibz.inf.ontouml.vp.model.ontouml;
 import static com.google.common.truth.Truth.assertThat;
 
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Literal;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +51,60 @@ public class ClassTest {
 
     assertThat(color.isPrimitiveDatatype()).isFalse();
   }
+
+  @Test
+  void shouldNavigateGeneralizations() {
+    Package model = new Project().createModel();
+    Class agent = model.createCategory("Agent");
+    Class person = model.createKind("Person");
+    Class student = model.createRole("Student");
+    model.createGeneralization(person, agent);
+    model.createGeneralization(student, person);
+
+    assertThat(student.getParents()).containsExactly(person);
+    assertThat(agent.getChildren()).containsExactly(person);
+    assertThat(student.getAncestors()).containsExactly(person, agent).inOrder();
+    assertThat(agent.getDescendants()).containsExactly(person, student).inOrder();
+    assertThat(student.isDescendantOf(agent)).isTrue();
+    assertThat(agent.isDescendantOf(student)).isFalse();
+    assertThat(person.getGeneralizations()).hasSize(2);
+  }
+
+  @Test
+  void shouldUpdateAncestorsWhenGeneralizationsChange() {
+    Package model = new Project().createModel();
+    Class agent = model.createCategory("Agent");
+    Class person = model.createKind("Person");
+    Class student = model.createRole("Student");
+    Generalization personToAgent = model.createGeneralization(person, agent);
+    model.createGeneralization(student, person);
+
+    assertThat(student.isDescendantOf(agent)).isTrue();
+
+    model.removeContent(personToAgent);
+
+    assertThat(student.getAncestors()).containsExactly(person);
+
+    personToAgent.setSpecific(student);
+    model.addContent(personToAgent);
+
+    assertThat(student.getAncestors()).containsExactly(person, agent).inOrder();
+    assertThat(person.isDescendantOf(agent)).isFalse();
+  }
+
+  @Test
+  void shouldListAncestorsInTheOrderOfTheirGeneralizations() {
+    Package model = new Project().createModel();
+    Class student = model.createRole("Student");
+    List<Class> roleMixins = new ArrayList<>();
+
+    for (int i = 0; i < 32; i++) {
+      Class roleMixin = model.createRoleMixin("RoleMixin" + i);
+      model.createGeneralization(student, roleMixin);
+      roleMixins.add(roleMixin);
+    }
+
+    assertThat(student.getParents()).containsExactlyElementsIn(roleMixins).inOrder();
+    assertThat(student.getAncestors()).containsExactlyElementsIn(roleMixins).inOrder();
+  }
 }
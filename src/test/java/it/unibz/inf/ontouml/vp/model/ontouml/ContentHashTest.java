@@ -0,0 +1,153 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import org.junit.jupiter.api.Test;
+
+class ContentHashTest {
+
+  static Project createProject() {
+    Project project = new Project("pj1", "My Project");
+    Package model = project.createModel("pk1", "Model");
+    Package agents = model.createPackage("pk2", "Agents");
+    Package places = model.createPackage("pk3", "Places");
+    Class person = agents.createKind("c1", "Person");
+    Class city = places.createKind("c2", "City");
+    person.createAttribute("p1", "hometown", city);
+
+    Diagram diagram = new Diagram("d1", "Agents");
+    ClassView view = new ClassView("v1", person);
+    view.getShape().setId("s1");
+    diagram.addElement(view);
+    diagram.setOwner(agents);
+    project.addDiagram(diagram);
+
+    return project;
+  }
+
+  Project project = createProject();
+  Package model = project.getElementById("pk1", Package.class).get();
+  Package agents = project.getElementById("pk2", Package.class).get();
+  Package places = project.getElementById("pk3", Package.class).get();
+  Class person = project.getClassById("c1").get();
+  Class city = project.getClassById("c2").get();
+  Property hometown = project.getPropertyById("p1").get();
+  ClassView view = project.getElementById("v1", ClassView.class).get();
+
+  @Test
+  void shouldHashEqualProjectsEqually() {
+    assertThat(project.getContentHash()).isEqualTo(createProject().getContentHash());
+    assertThat(project.getContentHash()).hasLength(64);
+  }
+
+  @Test
+  void shouldCacheHashesUntilChanges() {
+    String hash = project.getContentHash();
+
+    assertThat(project.getContentHash()).isSameInstanceAs(hash);
+  }
+
+  @Test
+  void shouldInvalidateTheContainerChainOnChanges() {
+    String projectHash = project.getContentHash();
+    String modelHash = model.getContentHash();
+    String agentsHash = agents.getContentHash();
+    String placesHash = places.getContentHash();
+    String personHash = person.getContentHash();
+
+    hometown.setDerived(true);
+
+    assertThat(person.getContentHash()).isNotEqualTo(personHash);
+    assertThat(agents.getContentHash()).isNotEqualTo(agentsHash);
+    assertThat(model.getContentHash()).isNotEqualTo(modelHash);
+    assertThat(project.getContentHash()).isNotEqualTo(projectHash);
+    assertThat(places.getContentHash()).isSameInstanceAs(placesHash);
+  }
+
+  @Test
+  void shouldInvalidateContainersOnNewContents() {
+    String placesHash = places.getContentHash();
+
+    places.createKind("c3", "Country");
+
+    assertThat(places.getContentHash()).isNotEqualTo(placesHash);
+  }
+
+  @Test
+  void shouldNotDependOnTheContainer() {
+    String agentsHash = agents.getContentHash();
+
+    places.addContent(agents);
+
+    assertThat(agents.getContentHash()).isEqualTo(agentsHash);
+  }
+
+  @Test
+  void shouldChangeWhenReferencedIdsChange() {
+    String personHash = person.getContentHash();
+
+    city.setId("c20");
+
+    assertThat(person.getContentHash()).isNotEqualTo(personHash);
+  }
+
+  @Test
+  void shouldKeepOtherHashesWhenIdsChange() {
+    String personHash = person.getContentHash();
+    String placesHash = places.getContentHash();
+    Project other = createProject();
+
+    other.getClassById("c2").get().setId("c20");
+    agents.setId("pk20");
+
+    assertThat(person.getContentHash()).isSameInstanceAs(personHash);
+    assertThat(places.getContentHash()).isSameInstanceAs(placesHash);
+  }
+
+  @Test
+  void shouldForgetReferrersWhoseHashesAreDiscarded() {
+    project.getContentHash();
+    int referrerCount = project.getHashReferrerIndex().size();
+
+    hometown.setPropertyType(person);
+
+    assertThat(project.getHashReferrerIndex().size()).isEqualTo(referrerCount - 1);
+  }
+
+  @Test
+  void shouldForgetReferrersLeavingTheProject() {
+    String personHash = person.getContentHash();
+    project.getContentHash();
+
+    // The hometown leaves with the person, whose view and diagram can no longer keep their hashes
+    agents.removeContent(person);
+    city.setId("c20");
+
+    assertThat(project.getHashReferrerIndex().size()).isEqualTo(0);
+    assertThat(person.getContentHash()).isNotEqualTo(personHash);
+  }
+
+  @Test
+  void shouldChangeWhenShapesChange() {
+    Diagram diagram = project.getDiagrams().get(0);
+    String diagramHash = diagram.getContentHash();
+    String modelHash = model.getContentHash();
+
+    view.setX(100);
+
+    assertThat(diagram.getContentHash()).isNotEqualTo(diagramHash);
+    assertThat(model.getContentHash()).isSameInstanceAs(modelHash);
+  }
+
+  @Test
+  void shouldTellEqualSubtreesApart() {
+    Class other = places.createKind("c3", "Person");
+
+    assertThat(other.getContentHash()).isNotEqualTo(person.getContentHash());
+  }
+}
@@ -128,4 +128,69 @@ class PackageTest {
   void childPackageShouldNotBeRoot() {
     assertThat(pkg.isRoot()).isFalse();
   }
+
+  @Test
+  void getAllContentsByTypeShouldIncludeNestedContents() {
+    Class person = pkg.createKind("Person");
+    Property name = person.createAttribute("name", clazz);
+
+    assertThat(model.getAllClasses()).containsExactly(clazz, person);
+    assertThat(model.getAllPackages()).containsExactly(pkg);
+    assertThat(model.getAllProperties()).contains(name);
+    assertThat(pkg.getAllClasses()).containsExactly(person);
+    assertThat(pkg.getAllRelations()).isEmpty();
+  }
+
+  @Test
+  void getAllContentsByTypeShouldNotIncludeRemovedContents() {
+    Class person = pkg.createKind("Person");
+    model.removeContent(pkg);
+
+    assertThat(model.getAllClasses()).containsExactly(clazz);
+    assertThat(model.getAllPackages()).isEmpty();
+    assertThat(pkg.getAllClasses()).containsExactly(person);
+  }
+
+  @Test
+  void getAllContentsByTypeShouldIncludeSubtypes() {
+    assertThat(model.getAllModelElements())
+        .containsExactly(
+            pkg,
+            clazz,
+            relation,
+            relation.getSourceEnd(),
+            relation.getTargetEnd(),
+            generalization,
+            genSet);
+  }
+
+  @Test
+  void getClassesByStereotypeShouldNotIncludeRemovedContents() {
+    Class person = pkg.createKind("Person");
+
+    assertThat(model.getAllKinds()).containsExactly(person);
+
+    model.removeContent(pkg);
+
+    assertThat(model.getAllKinds()).isEmpty();
+    assertThat(pkg.getAllKinds()).containsExactly(person);
+  }
+
+  @Test
+  void queriesShouldFollowContentsMovedOutOfNestedPackages() {
+    Package nested = pkg.createPackage();
+    Class person = nested.createKind("Person");
+    Property name = person.createAttribute("name", clazz);
+
+    nested.removeContent(person);
+    model.addContent(person);
+    person.setOntoumlStereotype(ClassStereotype.ROLE);
+
+    assertThat(model.getAllClasses()).containsExactly(clazz, person);
+    assertThat(model.getAllProperties()).contains(name);
+    assertThat(model.getAllRoles()).containsExactly(person);
+    assertThat(project.getAllRoles()).containsExactly(person);
+    assertThat(pkg.getAllClasses()).isEmpty();
+    assertThat(pkg.getAllProperties()).isEmpty();
+  }
 }
@@ -0,0 +1,73 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.junit.jupiter.api.Test;
+
+public class ProjectCompressionTest {
+
+  @Test
+  void shouldSelectCompressionByExtension() {
+    assertThat(ProjectCompression.fromFileName("model.json.gz")).isEqualTo(ProjectCompression.GZIP);
+    assertThat(ProjectCompression.fromFileName("model.JSON.GZ")).isEqualTo(ProjectCompression.GZIP);
+    assertThat(ProjectCompression.fromFileName("model.json")).isEqualTo(ProjectCompression.NONE);
+    assertThat(ProjectCompression.removeExtension("model.smile.gz")).isEqualTo("model.smile");
+    assertThat(ProjectCompression.removeExtension("model.json")).isEqualTo("model.json");
+  }
+
+  @Test
+  void shouldSelectFormatOfCompressedFiles() {
+    assertThat(ProjectFormat.fromFileName("model.json.gz")).isEqualTo(ProjectFormat.JSON);
+    assertThat(ProjectFormat.fromFileName("model.smile.gz")).isEqualTo(ProjectFormat.SMILE);
+    assertThat(ProjectFormat.isSupported("model.json.gz")).isTrue();
+    assertThat(ProjectFormat.isSupported("model.gz")).isFalse();
+    assertThat(ProjectFormat.getExtensions()).contains(".json.gz");
+  }
+
+  @Test
+  void shouldRoundTripCompressedProject() throws IOException {
+    for (ProjectFormat format : ProjectFormat.values()) {
+      byte[] bytes = write(createProject(), format, ProjectCompression.GZIP);
+
+      try (InputStream in = ProjectCompression.GZIP.decompress(new ByteArrayInputStream(bytes))) {
+        Project project = format.read(in);
+        assertThat(project.getClassById("c9").isPresent()).isTrue();
+      }
+    }
+  }
+
+  @Test
+  void shouldWriteSmallerCompressedJson() throws IOException {
+    Project project = createProject();
+    int compressedSize = write(project, ProjectFormat.JSON, ProjectCompression.GZIP).length;
+    int size = write(project, ProjectFormat.JSON, ProjectCompression.NONE).length;
+
+    assertThat(compressedSize * 5).isLessThan(size);
+  }
+
+  private static Project createProject() {
+    Project project = new Project("pj1", "My Project");
+    Package model = project.createModel("pk1", "Model");
+
+    for (int i = 0; i < 10; i++) model.createKind("c" + i, "Class" + i);
+
+    return project;
+  }
+
+  private static byte[] write(Project project, ProjectFormat format, ProjectCompression compression)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    try (OutputStream out = compression.compress(bytes)) {
+      format.write(project, out);
+    }
+
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,156 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ProjectDeltaTest {
+
+  Project baseline = ProjectDiffTest.createProject();
+  Project current = ProjectDiffTest.createProject();
+
+  void changeCurrent() {
+    Package agents = current.getElementById("pk2", Package.class).get();
+    Package places = current.getElementById("pk3", Package.class).get();
+    Package states = places.createPackage("pk4", "States");
+
+    Class person = current.getClassById("c1").get();
+
+    states.createKind("c4", "State").createAttribute("p2", "governor", person);
+    Class country = current.getClassById("c3").get();
+    places.removeContent(country);
+    agents.addContent(country);
+    places.removeContent(current.getClassById("c2").get());
+    current.getPropertyById("p1").get().setPropertyType(country);
+    person.setName(new MultilingualText("Human"));
+    current.getElementById("v1", ClassView.class).get().setX(100);
+  }
+
+  static ProjectDelta writeAndRead(ProjectDelta delta) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    delta.write(out);
+    return ProjectDelta.read(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  @Test
+  void shouldOnlyHoldChangedElements() {
+    changeCurrent();
+
+    ProjectDelta delta = ProjectDelta.between(baseline, current);
+
+    assertThat(delta.getRemovedIds()).containsExactly("c2");
+    // The project, the new package, class and attribute, the moved class and 3 modified elements
+    assertThat(delta.getElementCount()).isEqualTo(8);
+  }
+
+  @Test
+  void shouldTurnBaselineIntoCurrentVersion() throws IOException {
+    changeCurrent();
+
+    Project result = ProjectDelta.between(baseline, current).applyTo(baseline);
+
+    assertThat(result.getContentHash()).isEqualTo(current.getContentHash());
+    assertThat(result.getClassById("c3").get().getContainer().get().getId()).isEqualTo("pk2");
+    assertThat(result.getClassById("c2").isPresent()).isFalse();
+  }
+
+  @Test
+  void shouldNotModifyBaseline() throws IOException {
+    String hash = baseline.getContentHash();
+    changeCurrent();
+
+    ProjectDelta.between(baseline, current).applyTo(baseline);
+
+    assertThat(ProjectDiffTest.createProject().getContentHash()).isEqualTo(hash);
+    assertThat(baseline.getClassById("c2").isPresent()).isTrue();
+  }
+
+  @Test
+  void shouldWriteAndReadDeltas() throws IOException {
+    changeCurrent();
+    ProjectDelta delta = ProjectDelta.between(baseline, current);
+
+    ProjectDelta read = writeAndRead(delta);
+
+    assertThat(read.getBaselineHash()).isEqualTo(baseline.getContentHash());
+    assertThat(read.getCurrentHash()).isEqualTo(current.getContentHash());
+    assertThat(read.getRemovedIds()).containsExactly("c2");
+    assertThat(read.applyTo(baseline).getContentHash()).isEqualTo(current.getContentHash());
+  }
+
+  @Test
+  void shouldKeepOrderOfContents() throws IOException {
+    Package places = current.getElementById("pk3", Package.class).get();
+    Class city = current.getClassById("c2").get();
+    places.removeContent(city);
+    places.addContent(city);
+
+    ProjectDelta delta = writeAndRead(ProjectDelta.between(baseline, current));
+    Project result = delta.applyTo(baseline);
+
+    assertThat(result.getElementById("pk3", Package.class).get().getContents().get(1).getId())
+        .isEqualTo("c2");
+    assertThat(result.getContentHash()).isEqualTo(current.getContentHash());
+  }
+
+  @Test
+  void shouldMatchDuplicateIdsAsTheFirstElement() {
+    for (Project project : List.of(baseline, current))
+      project.getElementById("pk3", Package.class).get().createKind("c1", "Clone");
+
+    Package places = current.getElementById("pk3", Package.class).get();
+    Class country = current.getClassById("c3").get();
+    places.removeContent(country);
+    places.addContent(country);
+
+    ProjectDelta delta = ProjectDelta.between(baseline, current);
+
+    assertThat(current.hasDuplicateIds()).isTrue();
+    assertThat(delta.getRemovedIds()).isEmpty();
+    // The project and the reordered package
+    assertThat(delta.getElementCount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldAddWholeProjectWithoutBaseline() throws IOException {
+    ProjectDelta delta = writeAndRead(ProjectDelta.between(null, current));
+
+    assertThat(delta.getBaselineHash()).isNull();
+    assertThat(delta.applyTo(new Project()).getContentHash()).isEqualTo(current.getContentHash());
+  }
+
+  @Test
+  void shouldBeEmptyWithoutChanges() throws IOException {
+    ProjectDelta delta = writeAndRead(ProjectDelta.between(baseline, current));
+
+    assertThat(delta.isEmpty()).isTrue();
+    assertThat(delta.getElementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldApplyToOtherVersionsById() throws IOException {
+    current.getClassById("c1").get().setName(new MultilingualText("Human"));
+    ProjectDelta delta = ProjectDelta.between(baseline, current);
+
+    Project other = ProjectDiffTest.createProject();
+    other.getElementById("pk3", Package.class).get().createKind("c5", "Region");
+    Project result = delta.applyTo(other);
+
+    assertThat(result.getClassById("c1").get().getNameIn("en").get()).isEqualTo("Human");
+    assertThat(result.getClassById("c5").isPresent()).isTrue();
+  }
+
+  @Test
+  void shouldMatchDeltaFileNames() {
+    assertThat(ProjectDelta.matches("model.delta.ndjson")).isTrue();
+    assertThat(ProjectDelta.matches("model.delta.ndjson.gz")).isTrue();
+    assertThat(ProjectDelta.matches("model.ndjson")).isFalse();
+  }
+}
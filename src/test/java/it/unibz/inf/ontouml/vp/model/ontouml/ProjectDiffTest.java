@@ -0,0 +1,135 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ProjectDiffTest {
+
+  static Project createProject() {
+    Project project = new Project("pj1", "My Project");
+    Package model = project.createModel("pk1", "Model");
+    Package agents = model.createPackage("pk2", "Agents");
+    Package places = model.createPackage("pk3", "Places");
+    Class person = agents.createKind("c1", "Person");
+    Class city = places.createKind("c2", "City");
+    places.createKind("c3", "Country");
+    person.createAttribute("p1", "hometown", city);
+
+    Diagram diagram = new Diagram("d1", "Agents");
+    ClassView view = new ClassView("v1", person);
+    view.getShape().setId("s1");
+    diagram.addElement(view);
+    diagram.setOwner(agents);
+    project.addDiagram(diagram);
+
+    return project;
+  }
+
+  Project previous = createProject();
+  Project current = createProject();
+
+  static String ids(java.util.List<? extends Object> elements) {
+    return elements.stream()
+        .map(e -> e instanceof ElementDiff ? ((ElementDiff) e).getId() : ((Element) e).getId())
+        .collect(Collectors.joining(","));
+  }
+
+  @Test
+  void shouldFindNoDifferencesBetweenEqualProjects() {
+    assertThat(ProjectDiff.compare(previous, current).isEmpty()).isTrue();
+  }
+
+  @Test
+  void shouldFindAddedElements() {
+    current.getElementById("pk3", Package.class).get().createKind("c4", "State");
+
+    ProjectDiff diff = ProjectDiff.compare(previous, current);
+
+    assertThat(ids(diff.getAddedElements())).isEqualTo("c4");
+    assertThat(diff.getRemovedElements()).isEmpty();
+    assertThat(diff.getChangedElements()).isEmpty();
+  }
+
+  @Test
+  void shouldFindRemovedElements() {
+    Package places = current.getElementById("pk3", Package.class).get();
+    places.removeContent(current.getClassById("c3").get());
+
+    ProjectDiff diff = ProjectDiff.compare(previous, current);
+
+    assertThat(ids(diff.getRemovedElements())).isEqualTo("c3");
+    assertThat(diff.getAddedElements()).isEmpty();
+  }
+
+  @Test
+  void shouldFindMovedElements() {
+    Package agents = current.getElementById("pk2", Package.class).get();
+    agents.addContent(current.getClassById("c3").get());
+
+    ProjectDiff diff = ProjectDiff.compare(previous, current);
+
+    assertThat(ids(diff.getMovedElements())).isEqualTo("c3");
+    assertThat(diff.getModifiedElements()).isEmpty();
+    assertThat(diff.getMovedElements().get(0).getCurrentContainer().get().getId())
+        .isEqualTo("pk2");
+  }
+
+  @Test
+  void shouldFindModifiedFields() {
+    Class person = current.getClassById("c1").get();
+    person.setAbstract(true);
+    person.setName(new MultilingualText("Human"));
+
+    ProjectDiff diff = ProjectDiff.compare(previous, current);
+    ElementDiff change = diff.getModifiedElements().get(0);
+
+    assertThat(ids(diff.getModifiedElements())).isEqualTo("c1");
+    assertThat(change.isMoved()).isFalse();
+    assertThat(
+            change.getFieldChanges().stream()
+                .map(FieldChange::getFieldName)
+                .collect(Collectors.toList()))
+        .containsExactly("name", "isAbstract");
+    assertThat(change.getFieldChanges().get(1).getCurrentValue().asBoolean()).isTrue();
+  }
+
+  @Test
+  void shouldFindChangedReferences() {
+    current.getPropertyById("p1").get().setPropertyType(current.getClassById("c3").get());
+
+    ProjectDiff diff = ProjectDiff.compare(previous, current);
+    FieldChange change = diff.getModifiedElements().get(0).getFieldChanges().get(0);
+
+    assertThat(ids(diff.getModifiedElements())).isEqualTo("p1");
+    assertThat(change.getFieldName()).isEqualTo("propertyType");
+    assertThat(change.getCurrentValue().get("id").asText()).isEqualTo("c3");
+  }
+
+  @Test
+  void shouldReportShapesAsFieldsOfViews() {
+    current.getElementById("v1", ClassView.class).get().setX(100);
+
+    ProjectDiff diff = ProjectDiff.compare(previous, current);
+
+    assertThat(ids(diff.getModifiedElements())).isEqualTo("v1");
+    assertThat(diff.getModifiedElements().get(0).getFieldChanges().get(0).getFieldName())
+        .isEqualTo("shape");
+  }
+
+  @Test
+  void shouldMatchRootsWhateverTheirIds() {
+    current.setId("pj2");
+
+    ProjectDiff diff = ProjectDiff.compare(previous, current);
+
+    assertThat(diff.getAddedElements()).isEmpty();
+    assertThat(diff.getMovedElements()).isEmpty();
+    assertThat(ids(diff.getModifiedElements())).isEqualTo("pj2");
+  }
+}
@@ -0,0 +1,75 @@
+package it.unibz.inf.ontouml.vp.model.ontouml;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+public class ProjectFormatTest {
+
+  @Test
+  void shouldSelectFormatByExtension() {
+    assertThat(ProjectFormat.fromFileName("model.json")).isEqualTo(ProjectFormat.JSON);
+    assertThat(ProjectFormat.fromFileName("model.SMILE")).isEqualTo(ProjectFormat.SMILE);
+    assertThat(ProjectFormat.fromFileName("model")).isEqualTo(ProjectFormat.JSON);
+    assertThat(ProjectFormat.isSupported("model.smile")).isTrue();
+    assertThat(ProjectFormat.isSupported("model.txt")).isFalse();
+  }
+
+  @Test
+  void shouldRoundTripProjectInEveryFormat() throws IOException {
+    for (ProjectFormat format : ProjectFormat.values()) {
+      Project project = roundTrip(createProject(), format);
+
+      Class person = project.getClassById("c1").orElse(null);
+      Class agent = project.getClassById("c2").orElse(null);
+      assertThat(person).isNotNull();
+      assertThat(agent).isNotNull();
+      assertThat(person.getFirstName()).hasValue("Person");
+
+      Property name = project.getPropertyById("p1").orElse(null);
+      assertThat(name).isNotNull();
+      assertThat(name.getPropertyType()).hasValue(agent);
+
+      Generalization generalization = project.getGeneralizationById("g1").orElse(null);
+      assertThat(generalization).isNotNull();
+      assertThat(generalization.getGeneral()).hasValue(agent);
+      assertThat(generalization.getSpecific()).hasValue(person);
+    }
+  }
+
+  @Test
+  void shouldWriteSmallerSmileThanJson() throws IOException {
+    Project project = createProject();
+
+    assertThat(write(project, ProjectFormat.SMILE).length)
+        .isLessThan(write(project, ProjectFormat.JSON).length);
+  }
+
+  private static Project createProject() {
+    Project project = new Project("pj1", "My Project");
+    Package model = project.createModel("pk1", "Model");
+    Class person = model.createKind("c1", "Person");
+    Class agent = model.createCategory("c2", "Agent");
+    person.createAttribute("p1", "agent", agent);
+    model.createGeneralization("g1", person, agent);
+    return project;
+  }
+
+  private static Project roundTrip(Project project, ProjectFormat format) throws IOException {
+    return format.read(new ByteArrayInputStream(write(project, format)));
+  }
+
+  private static byte[] write(Project project, ProjectFormat format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    format.write(project, out);
+    return out.toByteArray();
+  }
+}
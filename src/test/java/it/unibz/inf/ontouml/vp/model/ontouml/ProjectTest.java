@@ -2,10 +2,18 @@ package it.unibz.inf.ontouml.vp.model.ontouml;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import it.unibz.inf.ontouml.vp.model.ontouml.model.*;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
 import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -106,4 +114,222 @@ class ProjectTest {
 
     assertThat(project.getAllContents()).contains(name);
   }
+
+  @Test
+  void getElementByIdShouldFindElementsAddedAfterAttachment() {
+    Package pkg = model.createPackage("pk1", "Package");
+    Class person = pkg.createKind("c1", "Person");
+    Property name = person.createAttribute("p1", "name", null);
+
+    assertThat(project.getPackageById("pk1")).hasValue(pkg);
+    assertThat(project.getClassById("c1")).hasValue(person);
+    assertThat(project.getPropertyById("p1")).hasValue(name);
+  }
+
+  @Test
+  void getElementByIdShouldFindContentsOfAttachedSubtree() {
+    Package anotherModel = new Package();
+    Class person = anotherModel.createKind("c1", "Person");
+    Relation knows = anotherModel.createRelation("r1", "knows", null, person, person);
+
+    project.setModel(anotherModel);
+
+    assertThat(project.getClassById("c1")).hasValue(person);
+    assertThat(project.getRelationById("r1")).hasValue(knows);
+    assertThat(project.getElementMap()).containsKey(knows.getSourceEnd().getId());
+  }
+
+  @Test
+  void getElementByIdShouldNotFindRemovedElements() {
+    Class person = model.createKind("c1", "Person");
+    Class agent = model.createCategory("c2", "Agent");
+
+    model.removeContent(person);
+    model.setContents(List.of());
+
+    assertThat(project.getClassById("c1")).isEmpty();
+    assertThat(project.getClassById("c2")).isEmpty();
+    assertThat(agent.getContainer()).isEmpty();
+  }
+
+  @Test
+  void getElementByIdShouldFollowIdChanges() {
+    Class person = model.createKind("c1", "Person");
+    person.setId("c2");
+
+    assertThat(project.getClassById("c1")).isEmpty();
+    assertThat(project.getClassById("c2")).hasValue(person);
+  }
+
+  @Test
+  void getElementMapShouldDetectDuplicateIds() {
+    model.createKind("c1", "Person");
+    Class duplicate = model.createKind("c1", "Organization");
+
+    assertThat(project.getDuplicateIds()).containsExactly("c1");
+    assertThrows(IllegalStateException.class, () -> project.getElementMap());
+
+    model.removeContent(duplicate);
+
+    assertThat(project.hasDuplicateIds()).isFalse();
+    assertThat(project.getElementMap()).containsKey("c1");
+  }
+
+  @Test
+  void getAllContentsByTypeShouldReturnReadOnlyLists() {
+    model.createKind("Person");
+
+    assertThrows(UnsupportedOperationException.class, () -> project.getAllClasses().clear());
+  }
+
+  @Test
+  void getAllContentsByTypeShouldReflectLaterChanges() {
+    Class person = model.createKind("Person");
+    List<Class> classes = project.getAllClasses();
+    Class agent = model.createCategory("Agent");
+
+    assertThat(classes).containsExactly(person);
+    assertThat(project.getAllClasses()).containsExactly(person, agent);
+    assertThat(project.getAllModelElements()).containsExactly(model, person, agent);
+  }
+
+  @Test
+  void getAllContentsByTypeShouldOrderTypesByFirstInsertion() {
+    Class person = model.createKind("Person");
+    Class agent = model.createCategory("Agent");
+    Generalization generalization = model.createGeneralization(person, agent);
+    Package pkg = model.createPackage("Package");
+
+    model.removeContent(generalization);
+    model.addContent(generalization);
+
+    assertThat(project.getAllModelElements())
+        .containsExactly(model, pkg, person, agent, generalization)
+        .inOrder();
+  }
+
+  @Test
+  void getClassesByStereotypeShouldFollowStereotypeChanges() {
+    Class person = model.createKind("Person");
+    person.setOntoumlStereotype(ClassStereotype.ROLE);
+
+    assertThat(project.getAllKinds()).isEmpty();
+    assertThat(project.getAllRoles()).containsExactly(person);
+
+    person.setStereotype("custom");
+
+    assertThat(project.getAllRoles()).isEmpty();
+  }
+
+  @Test
+  void getAttributesByStereotypeShouldOnlyReturnAttributes() {
+    Class event = model.createClass(null, "Meeting", ClassStereotype.EVENT);
+    Property begin = event.createAttribute("begin", null);
+    begin.setOntoumlStereotype(PropertyStereotype.BEGIN);
+
+    assertThat(project.getAttributesByStereotype(PropertyStereotype.BEGIN)).containsExactly(begin);
+    assertThat(model.getAttributesByStereotype(PropertyStereotype.END)).isEmpty();
+  }
+
+  @Test
+  void visitAllContentsShouldVisitElementsBeforeTheirContents() {
+    Package pkg = model.createPackage("Package");
+    Class person = pkg.createKind("Person");
+    Property name = person.createAttribute("name", null);
+    List<OntoumlElement> visited = new ArrayList<>();
+
+    project.visitAllContents(visited::add);
+
+    assertThat(visited).containsExactly(model, pkg, person, name).inOrder();
+  }
+
+  @Test
+  void visitAllContentsShouldVisitDiagramViewsInOrder() {
+    Class person = model.createKind("Person");
+    Diagram diagram = new Diagram("d1", "Diagram");
+    ClassView first = new ClassView("v1", person);
+    ClassView second = new ClassView("v2", person);
+    ClassView third = new ClassView("v3", person);
+    diagram.addElements(List.of(first, second, first, third));
+    diagram.removeElement(second);
+    project.addDiagram(diagram);
+    List<ClassView> visited = new ArrayList<>();
+
+    diagram.visitAllContents(ClassView.class, visited::add);
+
+    assertThat(visited).containsExactly(first, third).inOrder();
+  }
+
+  @Test
+  void visitAllContentsShouldStopWhenVisitorReturnsFalse() {
+    model.createKind("Person");
+    model.createKind("Organization");
+    List<Class> visited = new ArrayList<>();
+
+    boolean completed =
+        project.visitAllContents(
+            Class.class,
+            c -> {
+              visited.add(c);
+              return false;
+            });
+
+    assertThat(completed).isFalse();
+    assertThat(visited).hasSize(1);
+  }
+
+  @Test
+  void streamAllContentsShouldFilterByType() {
+    Class person = model.createKind("Person");
+    person.createAttribute("name", null);
+
+    assertThat(project.streamAllContents(Class.class)).containsExactly(person);
+  }
+
+  @Test
+  void getProjectShouldFollowSubtreesMovedBetweenProjects() {
+    Package pkg = new Package("Package");
+    Class person = pkg.createKind("c1", "Person");
+    Property name = person.createAttribute("name", null);
+
+    assertThat(name.getProject()).isEmpty();
+
+    model.addContent(pkg);
+
+    assertThat(name.getProject()).hasValue(project);
+    assertThat(project.getClassById("c1")).hasValue(person);
+
+    Project anotherProject = new Project();
+    model.removeContent(pkg);
+    anotherProject.createModel().addContent(pkg);
+
+    assertThat(name.getProject()).hasValue(anotherProject);
+    assertThat(name.getRoot()).isEqualTo(anotherProject);
+    assertThat(project.getClassById("c1")).isEmpty();
+    assertThat(anotherProject.getClassById("c1")).hasValue(person);
+  }
+
+  @Test
+  void getRootShouldNotBeAffectedByMovesInOtherTrees() {
+    List<Property> attributes = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++)
+      attributes.add(model.createKind("Class " + i).createAttribute("name", null));
+
+    // Threads read the roots of the project while others build detached trees
+    List<OntoumlElement> roots =
+        IntStream.range(0, 2000)
+            .parallel()
+            .mapToObj(
+                i -> {
+                  if (i % 2 == 0) return attributes.get(i % attributes.size()).getRoot();
+
+                  Package pkg = new Package("Package " + i);
+                  pkg.createKind("Class").createAttribute("name", null);
+                  return project;
+                })
+            .collect(Collectors.toList());
+
+    assertThat(roots).containsExactlyElementsIn(Collections.nCopies(2000, project));
+  }
 }
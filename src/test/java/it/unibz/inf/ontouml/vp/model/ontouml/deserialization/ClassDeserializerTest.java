@@ -143,6 +143,15 @@ class ClassDeserializerTest {
     assertThat(clazz.getOrder()).hasValue(1);
   }
 
+  @Test
+  void shouldDeserializeOrdersWrittenAsStrings() throws IOException {
+    String json = "{ \"id\": \"c1\", \"type\": \"Class\", \"order\": \"*\" }";
+    Class clazz = mapper.readValue(json, Class.class);
+
+    assertThat(clazz.getOrder()).hasValue(Class.ORDERLESS);
+    assertThat(clazz.getOrderAsString()).hasValue(Class.ORDERLESS_STRING);
+  }
+
   @Test
   void shouldDeserializeRestrictedTo() {
     assertThat(clazz.getRestrictedTo())
@@ -0,0 +1,178 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Generalization;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.GeneralizationView;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class DeserializationOptionsTest {
+
+  static byte[] bytes;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    Project project = new Project("pj1", "My Project");
+    Package model = project.createModel("pk1", "Model");
+    Package agents = model.createPackage("pk2", "Agents");
+    Package people = model.createPackage("pk3", "People");
+    Package places = model.createPackage("pk4", "Places");
+
+    Class agent = agents.createCategory("c1", "Agent");
+    Class organization = agents.createKind("c2", "Organization");
+    Class person = people.createKind("c3", "Person");
+    Class city = places.createKind("c4", "City");
+    people.createKind("c5", "Unrelated");
+    person.createAttribute("p1", "hometown", city);
+    Generalization generalization = people.createGeneralization("g1", person, agent);
+
+    Diagram agentsDiagram = new Diagram("d1", "Agents");
+    ClassView agentView = new ClassView("v1", agent);
+    ClassView personView = new ClassView("v2", person);
+    GeneralizationView generalizationView = new GeneralizationView("v3", generalization);
+    generalizationView.setSource(personView);
+    generalizationView.setTarget(agentView);
+    agentsDiagram.addElement(agentView);
+    agentsDiagram.addElement(personView);
+    agentsDiagram.addElement(generalizationView);
+    agentsDiagram.addElement(new ClassView("v4", organization));
+    agentsDiagram.setOwner(model);
+
+    Diagram placesDiagram = new Diagram("d2", "Places");
+    placesDiagram.addElement(new ClassView("v5", city));
+    placesDiagram.setOwner(places);
+
+    project.addDiagram(agentsDiagram);
+    project.addDiagram(placesDiagram);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ProjectFormat.JSON.write(project, out);
+    bytes = out.toByteArray();
+  }
+
+  static Project read(DeserializationOptions options) throws IOException {
+    return ProjectFormat.JSON.read(new ByteArrayInputStream(bytes), options);
+  }
+
+  @Test
+  void shouldDeserializeEverythingByDefault() throws IOException {
+    Project project = read(new DeserializationOptions());
+
+    assertThat(project.getAllClasses()).hasSize(5);
+    assertThat(project.getDiagrams()).hasSize(2);
+  }
+
+  @Test
+  void shouldSkipDiagrams() throws IOException {
+    DeserializationOptions options = new DeserializationOptions();
+    options.setSkipDiagrams(true);
+    Project project = read(options);
+
+    assertThat(project.getAllClasses()).hasSize(5);
+    assertThat(project.getDiagrams()).isEmpty();
+  }
+
+  @Test
+  void shouldDeserializeSelectedDiagrams() throws IOException {
+    DeserializationOptions options = new DeserializationOptions();
+    options.setDiagramIds(Set.of("d2"));
+    Project project = read(options);
+
+    assertThat(project.getDiagrams()).hasSize(1);
+    assertThat(project.getDiagrams().get(0).getId()).isEqualTo("d2");
+    assertThat(project.getDiagrams().get(0).getOwner())
+        .isEqualTo(project.getElementById("pk4", Package.class).orElse(null));
+  }
+
+  @Test
+  void shouldIgnoreReferencesOfSkippedDiagramsWithTrailingIds() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    ObjectNode json = (ObjectNode) mapper.readTree(bytes);
+    ObjectNode placesDiagram = (ObjectNode) json.get("diagrams").get(1);
+    ObjectNode view = (ObjectNode) placesDiagram.get("contents").get(0);
+    ((ObjectNode) view.get("modelElement")).put("id", "c404");
+    placesDiagram.set("id", placesDiagram.remove("id"));
+
+    DeserializationOptions options = new DeserializationOptions();
+    options.setDiagramIds(Set.of("d1"));
+    byte[] reordered = mapper.writeValueAsBytes(json);
+    Project project = ProjectFormat.JSON.read(new ByteArrayInputStream(reordered), options);
+
+    assertThat(project.getDiagrams()).hasSize(1);
+    assertThat(project.getDiagrams().get(0).getId()).isEqualTo("d1");
+  }
+
+  @Test
+  void shouldKeepSelectedDiagramsWithTrailingIds() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    ObjectNode json = (ObjectNode) mapper.readTree(bytes);
+    ObjectNode placesDiagram = (ObjectNode) json.get("diagrams").get(1);
+    placesDiagram.set("id", placesDiagram.remove("id"));
+
+    DeserializationOptions options = new DeserializationOptions();
+    options.setDiagramIds(Set.of("d2"));
+    byte[] reordered = mapper.writeValueAsBytes(json);
+    Project project = ProjectFormat.JSON.read(new ByteArrayInputStream(reordered), options);
+    Class city = project.getClassById("c4").get();
+
+    assertThat(project.getDiagrams()).hasSize(1);
+    assertThat(project.getElementById("v5", ClassView.class).get().getModelElement())
+        .isSameInstanceAs(city);
+  }
+
+  @Test
+  void shouldKeepSelectedPackagesAndTheirReferences() throws IOException {
+    DeserializationOptions options = new DeserializationOptions();
+    options.setPackageIds(Set.of("pk3"));
+    Project project = read(options);
+
+    assertThat(project.getClassById("c3")).isPresent();
+    assertThat(project.getClassById("c5")).isPresent();
+    assertThat(project.getClassById("c4")).isPresent();
+    assertThat(project.getClassById("c1")).isPresent();
+    assertThat(project.getClassById("c2")).isEmpty();
+    assertThat(project.getGeneralizationById("g1")).isPresent();
+
+    Class city = project.getClassById("c4").get();
+    assertThat(city.getContainer().map(c -> c.getId())).hasValue("pk4");
+    assertThat(project.getPropertyById("p1").get().getPropertyType()).hasValue(city);
+  }
+
+  @Test
+  void shouldKeepViewsOfSelectedPackages() throws IOException {
+    DeserializationOptions options = new DeserializationOptions();
+    options.setPackageIds(Set.of("pk3"));
+    Project project = read(options);
+
+    assertThat(project.getDiagrams()).hasSize(2);
+
+    Diagram agentsDiagram = project.getDiagrams().get(0);
+    assertThat(agentsDiagram.getDiagramElements()).hasSize(3);
+    assertThat(project.getElementById("v4", ClassView.class)).isEmpty();
+  }
+
+  @Test
+  void shouldRemoveDiagramsWithoutKeptViews() throws IOException {
+    DeserializationOptions options = new DeserializationOptions();
+    options.setPackageIds(Set.of("pk2"));
+    Project project = read(options);
+
+    assertThat(project.getClassById("c3")).isEmpty();
+    assertThat(project.getDiagrams()).hasSize(1);
+    assertThat(project.getDiagrams().get(0).getDiagramElements()).hasSize(2);
+  }
+}
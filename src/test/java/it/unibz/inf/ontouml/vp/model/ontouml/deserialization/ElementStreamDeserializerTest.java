@@ -0,0 +1,99 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Property;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class ElementStreamDeserializerTest {
+
+  static String stream =
+      "{\"container\":null,\"id\":\"pj1\",\"name\":\"My Project\",\"type\":\"Project\"}\n"
+          + "{\"container\":{\"id\":\"pj1\",\"type\":\"Project\"},"
+          + "\"id\":\"pk1\",\"type\":\"Package\"}\n"
+          + "{\"container\":{\"id\":\"pk1\",\"type\":\"Package\"},"
+          + "\"id\":\"pk2\",\"type\":\"Package\"}\n"
+          + "{\"container\":{\"id\":\"pk2\",\"type\":\"Package\"},\"id\":\"c1\",\"type\":\"Class\","
+          + "\"name\":\"Person\",\"stereotype\":\"kind\"}\n"
+          + "{\"container\":{\"id\":\"c1\",\"type\":\"Class\"},\"id\":\"p1\",\"type\":\"Property\","
+          + "\"propertyType\":{\"id\":\"c2\",\"type\":\"Class\"}}\n"
+          + "{\"container\":{\"id\":\"pk1\",\"type\":\"Package\"},\"id\":\"c2\",\"type\":\"Class\","
+          + "\"name\":\"City\"}\n"
+          + "{\"container\":{\"id\":\"pj1\",\"type\":\"Project\"},"
+          + "\"id\":\"d1\",\"type\":\"Diagram\",\"owner\":{\"id\":\"pk1\",\"type\":\"Package\"}}\n"
+          + "{\"container\":{\"id\":\"d1\",\"type\":\"Diagram\"},"
+          + "\"id\":\"v1\",\"type\":\"ClassView\","
+          + "\"modelElement\":{\"id\":\"c1\",\"type\":\"Class\"}}\n";
+
+  static Project read(String stream, DeserializationOptions options) throws IOException {
+    byte[] bytes = stream.getBytes(StandardCharsets.UTF_8);
+    return ProjectFormat.NDJSON.read(new ByteArrayInputStream(bytes), options);
+  }
+
+  @Test
+  void shouldRebuildContainment() throws IOException {
+    Project project = read(stream, new DeserializationOptions());
+
+    assertThat(project.getId()).isEqualTo("pj1");
+    assertThat(project.getModel().map(Package::getId)).hasValue("pk1");
+
+    Class person = project.getClassById("c1").orElse(null);
+    assertThat(person).isNotNull();
+    assertThat(person.getContainer().map(c -> c.getId())).hasValue("pk2");
+    assertThat(person.getProperties()).hasSize(1);
+
+    assertThat(project.getDiagrams()).hasSize(1);
+    assertThat(project.getDiagrams().get(0).getDiagramElements()).hasSize(1);
+  }
+
+  @Test
+  void shouldResolveReferences() throws IOException {
+    Project project = read(stream, new DeserializationOptions());
+
+    Property property = project.getPropertyById("p1").orElse(null);
+    assertThat(property).isNotNull();
+    assertThat(property.getPropertyType()).hasValue(project.getClassById("c2").get());
+
+    ClassView view = project.getElementById("v1", ClassView.class).orElse(null);
+    assertThat(view).isNotNull();
+    assertThat(view.getModelElement()).isEqualTo(project.getClassById("c1").get());
+  }
+
+  @Test
+  void shouldSkipDiagrams() throws IOException {
+    DeserializationOptions options = new DeserializationOptions();
+    options.setSkipDiagrams(true);
+    Project project = read(stream, options);
+
+    assertThat(project.getDiagrams()).isEmpty();
+    assertThat(project.getAllClasses()).hasSize(2);
+  }
+
+  @Test
+  void shouldLeaveOutElementsWithoutContainer() throws IOException {
+    String orphan =
+        "{\"container\":{\"id\":\"x1\",\"type\":\"Package\"},\"id\":\"c3\",\"type\":\"Class\"}\n";
+    Project project = read(stream + orphan, new DeserializationOptions());
+
+    assertThat(project.getClassById("c3")).isEmpty();
+  }
+
+  @Test
+  void shouldFailOnElementsWithoutLeadingContainer() {
+    String element = "{\"id\":\"c3\",\"type\":\"Class\"}\n";
+
+    assertThrows(
+        JsonParseException.class, () -> read(stream + element, new DeserializationOptions()));
+  }
+}
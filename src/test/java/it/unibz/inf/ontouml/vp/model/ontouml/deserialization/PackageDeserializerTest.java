@@ -132,4 +132,23 @@ class PackageDeserializerTest {
     OntoumlElement element = pkg.getContents().get(0);
     assertThat(element.getContainer()).hasValue(pkg);
   }
+
+  @Test
+  void shouldSkipContentsOfUnsupportedTypes() throws IOException {
+    String contentsJson =
+        "{\n"
+            + "  \"id\": \"pk3\",\n"
+            + "  \"contents\": [\n"
+            + "    { \"id\": \"l1\", \"name\": { \"en\": \"A\" }, \"type\": \"Literal\" },\n"
+            + "    { \"name\": \"B\", \"properties\": [], \"id\": \"c3\", \"type\": \"Class\" }\n"
+            + "  ],\n"
+            + "  \"type\": \"Package\"\n"
+            + "}";
+
+    Package other = mapper.readValue(contentsJson, Package.class);
+
+    assertThat(other.getContents()).hasSize(1);
+    assertThat(other.getContents().get(0).getId()).isEqualTo("c3");
+    assertThat(other.getContents().get(0).getFirstName()).hasValue("B");
+  }
 }
@@ -0,0 +1,120 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ParallelDeserializerTest {
+
+  static byte[] bytes;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    Project project = new Project("pj1", "My Project");
+    Package model = project.createModel("pk0", "Model");
+    Class previous = null;
+
+    for (int i = 1; i <= 20; i++) {
+      Package pkg = model.createPackage("pk" + i, "Package " + i);
+      Class kind = pkg.createKind("c" + i, "Kind " + i);
+
+      if (previous != null) kind.createAttribute("p" + i, "previous", previous);
+
+      Diagram diagram = new Diagram("d" + i, "Diagram " + i);
+      diagram.addElement(new ClassView("v" + i, kind));
+      diagram.setOwner(pkg);
+      project.addDiagram(diagram);
+
+      previous = kind;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ProjectFormat.JSON.write(project, out);
+    bytes = out.toByteArray();
+  }
+
+  static Project read(byte[] bytes, DeserializationOptions options) throws IOException {
+    return ProjectFormat.JSON.read(new ByteArrayInputStream(bytes), options);
+  }
+
+  static DeserializationOptions parallel() {
+    DeserializationOptions options = new DeserializationOptions();
+    options.setParallel(true);
+    return options;
+  }
+
+  static String write(Project project) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ProjectFormat.JSON.write(project, out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  void shouldDeserializeTheSameProjectAsSequentialDeserialization() throws IOException {
+    Project sequential = read(bytes, new DeserializationOptions());
+    Project parallel = read(bytes, parallel());
+
+    assertThat(write(parallel)).isEqualTo(write(sequential));
+  }
+
+  @Test
+  void shouldKeepTheOrderOfDiagramsAndContents() throws IOException {
+    Project project = read(bytes, parallel());
+
+    assertThat(project.getDiagrams()).hasSize(20);
+    assertThat(project.getDiagrams().get(0).getId()).isEqualTo("d1");
+    assertThat(project.getDiagrams().get(19).getId()).isEqualTo("d20");
+    assertThat(project.getModel().get().getContents().get(0).getId()).isEqualTo("pk1");
+  }
+
+  @Test
+  void shouldResolveReferencesAcrossSubtrees() throws IOException {
+    Project project = read(bytes, parallel());
+
+    Class first = project.getClassById("c1").get();
+    Class second = project.getClassById("c2").get();
+    ClassView view = project.getElementById("v1", ClassView.class).get();
+
+    assertThat(project.getPropertyById("p2").get().getPropertyType()).hasValue(first);
+    assertThat(view.getModelElement()).isEqualTo(first);
+    assertThat(project.getDiagrams().get(1).getOwner()).isEqualTo(second.getContainer().get());
+  }
+
+  @Test
+  void shouldApplyOtherOptions() throws IOException {
+    DeserializationOptions options = parallel();
+    options.setDiagramIds(Set.of("d3"));
+    Project project = read(bytes, options);
+
+    assertThat(project.getDiagrams()).hasSize(1);
+    assertThat(project.getDiagrams().get(0).getId()).isEqualTo("d3");
+  }
+
+  @Test
+  void shouldFailOnUnresolvedReferences() {
+    String json =
+        "{\"id\":\"pj1\",\"type\":\"Project\","
+            + "\"model\":{\"id\":\"pk0\",\"type\":\"Package\",\"contents\":["
+            + "{\"id\":\"pk1\",\"type\":\"Package\"}]},"
+            + "\"diagrams\":[{\"id\":\"d1\",\"type\":\"Diagram\","
+            + "\"owner\":{\"id\":\"pk2\",\"type\":\"Package\"}}]}";
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+    assertThrows(JsonParseException.class, () -> read(bytes, parallel()));
+  }
+}
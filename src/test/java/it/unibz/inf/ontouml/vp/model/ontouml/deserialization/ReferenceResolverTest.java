@@ -2,7 +2,9 @@ package it.unibz.inf.ontouml.vp.model.ontouml.deserialization;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.truth.Truth8;
 import it.unibz.inf.ontouml.vp.model.ontouml.Project;
@@ -373,4 +375,93 @@ public class ReferenceResolverTest {
     assertThat(g1).isNotNull();
     assertThat(gv.getModelElement()).isEqualTo(g1);
   }
+
+  @Test
+  void shouldFailOnMissingReferencedElement() {
+    String json =
+        "{\n"
+            + "  \"type\": \"Project\",\n"
+            + "  \"id\": \"pj1\",\n"
+            + "  \"model\": {\n"
+            + "    \"id\": \"pk1\",\n"
+            + "    \"type\": \"Package\",\n"
+            + "    \"contents\": [\n"
+            + "      { \"id\": \"c1\", \"type\": \"Class\" },\n"
+            + "      { \"id\": \"g1\", \"type\": \"Generalization\",\n"
+            + "        \"general\": { \"id\": \"c1\", \"type\": \"Class\" },\n"
+            + "        \"specific\": { \"id\": \"c2\", \"type\": \"Class\" } }\n"
+            + "    ]\n"
+            + "  }\n"
+            + "}";
+
+    assertThrows(JsonParseException.class, () -> mapper.readValue(json, Project.class));
+  }
+
+  @Test
+  void shouldKeepReferenceStubsOutsideProjects() throws IOException {
+    String json =
+        "{\n"
+            + "  \"id\": \"g1\",\n"
+            + "  \"type\": \"Generalization\",\n"
+            + "  \"general\": { \"id\": \"c1\", \"type\": \"Class\" },\n"
+            + "  \"specific\": { \"id\": \"c2\", \"type\": \"Class\" }\n"
+            + "}";
+
+    Generalization g1 = mapper.readValue(json, Generalization.class);
+
+    assertThat(g1.getGeneral().map(Classifier::getId)).hasValue("c1");
+    assertThat(g1.getSpecific().map(Classifier::getId)).hasValue("c2");
+  }
+
+  @Test
+  void shouldReportEveryUnresolvedReferenceInTolerantMode() throws IOException {
+    String json =
+        "{\n"
+            + "  \"type\": \"Project\",\n"
+            + "  \"id\": \"pj1\",\n"
+            + "  \"model\": {\n"
+            + "    \"id\": \"pk1\",\n"
+            + "    \"type\": \"Package\",\n"
+            + "    \"contents\": [\n"
+            + "      { \"id\": \"c1\", \"type\": \"Class\" },\n"
+            + "      { \"id\": \"g1\", \"type\": \"Generalization\",\n"
+            + "        \"general\": { \"id\": \"c1\", \"type\": \"Class\" },\n"
+            + "        \"specific\": { \"id\": \"c2\", \"type\": \"Class\" } },\n"
+            + "      { \"id\": \"gs1\", \"type\": \"GeneralizationSet\",\n"
+            + "        \"categorizer\": { \"id\": \"pk1\", \"type\": \"Class\" } }\n"
+            + "    ]\n"
+            + "  }\n"
+            + "}";
+
+    DeserializationReport report = new DeserializationReport();
+    DeserializationOptions options = new DeserializationOptions();
+    options.setReport(report);
+
+    Project project = options.applyTo(mapper.readerFor(Project.class)).readValue(json);
+
+    assertThat(report.getUnresolvedReferences()).hasSize(2);
+
+    UnresolvedReference missing = report.getUnresolvedReferences().get(0);
+    assertThat(missing.getReferrerId()).isEqualTo("g1");
+    assertThat(missing.getReferenceId()).isEqualTo("c2");
+    assertThat(missing.getExpectedType()).isEqualTo("Classifier");
+    assertThat(missing.isMissing()).isTrue();
+    assertThat(missing.getLine()).isEqualTo(9);
+    assertThat(missing.getColumn()).isEqualTo(7);
+
+    UnresolvedReference mistyped = report.getUnresolvedReferences().get(1);
+    assertThat(mistyped.getReferrerId()).isEqualTo("gs1");
+    assertThat(mistyped.getExpectedType()).isEqualTo("Class");
+    assertThat(mistyped.getActualType()).isEqualTo("Package");
+    assertThat(mistyped.getLine()).isEqualTo(12);
+    assertThat(mistyped.toString())
+        .isEqualTo(
+            "Line 12, column 7: GeneralizationSet gs1 references pk1 as a Class, which is a"
+                + " Package instead.");
+
+    Generalization g1 = project.getGeneralizationById("g1").orElse(null);
+    assertThat(g1).isNotNull();
+    assertThat(g1.getGeneral()).hasValue(project.getClassById("c1").get());
+    assertThat(g1.getSpecific().map(Classifier::getId)).hasValue("c2");
+  }
 }
@@ -0,0 +1,72 @@
+package it.unibz.inf.ontouml.vp.model.ontouml.serialization;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.ProjectFormat;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ElementStreamSerializerTest {
+
+  static List<String> lines;
+
+  @BeforeAll
+  static void setUp() throws IOException {
+    Project project = new Project("pj1", "My Project");
+    Package model = project.createModel("pk1", "Model");
+    Class person = model.createKind("c1", "Person");
+    person.createAttribute("p1", "name", person);
+
+    Diagram diagram = new Diagram("d1", "Diagram");
+    diagram.addElement(new ClassView("v1", person));
+    project.addDiagram(diagram);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ProjectFormat.NDJSON.write(project, out);
+    lines = List.of(out.toString(StandardCharsets.UTF_8).split("\n"));
+  }
+
+  @Test
+  void shouldWriteOneElementPerLine() {
+    assertThat(lines).hasSize(6);
+    assertThat(lines.get(0)).contains("\"id\":\"pj1\"");
+    assertThat(lines.get(1)).contains("\"id\":\"pk1\"");
+    assertThat(lines.get(2)).contains("\"id\":\"c1\"");
+    assertThat(lines.get(3)).contains("\"id\":\"p1\"");
+    assertThat(lines.get(4)).contains("\"id\":\"d1\"");
+    assertThat(lines.get(5)).contains("\"id\":\"v1\"");
+  }
+
+  @Test
+  void shouldStartElementsWithTheirContainer() {
+    assertThat(lines.get(0)).startsWith("{\"container\":null,");
+    assertThat(lines.get(1)).startsWith("{\"container\":{\"id\":\"pj1\",\"type\":\"Project\"},");
+    assertThat(lines.get(3)).startsWith("{\"container\":{\"id\":\"c1\",\"type\":\"Class\"},");
+    assertThat(lines.get(5)).startsWith("{\"container\":{\"id\":\"d1\",\"type\":\"Diagram\"},");
+  }
+
+  @Test
+  void shouldLeaveOutContents() {
+    assertThat(lines.get(0)).doesNotContain("\"model\"");
+    assertThat(lines.get(0)).doesNotContain("\"diagrams\"");
+    assertThat(lines.get(1)).doesNotContain("\"contents\"");
+    assertThat(lines.get(2)).doesNotContain("\"properties\"");
+    assertThat(lines.get(2)).doesNotContain("\"literals\"");
+    assertThat(lines.get(4)).doesNotContain("\"contents\"");
+  }
+
+  @Test
+  void shouldKeepShapesInsideViews() {
+    assertThat(lines.get(5)).contains("\"shape\":{");
+    assertThat(lines.get(5)).contains("\"type\":\"Rectangle\"");
+  }
+}
@@ -0,0 +1,149 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.vp.plugin.diagram.IClassDiagramUIModel;
+import com.vp.plugin.diagram.IDiagramElement;
+import com.vp.plugin.diagram.connector.IAssociationUIModel;
+import com.vp.plugin.diagram.shape.IClassUIModel;
+import com.vp.plugin.model.IAssociation;
+import com.vp.plugin.model.IAssociationEnd;
+import com.vp.plugin.model.IClass;
+import com.vp.plugin.model.IModelElement;
+import com.vp.plugin.model.IPackage;
+import com.vp.plugin.model.IProject;
+import it.unibz.inf.ontouml.vp.model.ontouml.Project;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Class;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Package;
+import it.unibz.inf.ontouml.vp.model.ontouml.model.Relation;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.ClassView;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.Diagram;
+import it.unibz.inf.ontouml.vp.model.ontouml.view.RelationView;
+import java.awt.Point;
+import org.junit.jupiter.api.Test;
+
+class IncrementalProjectTransformerTest {
+
+  private final VisualParadigmMocks vp = new VisualParadigmMocks();
+
+  private final IncrementalProjectTransformer transformer =
+      IncrementalProjectTransformer.getInstance();
+  private final IProject source = createProject();
+
+  private IProject createProject() {
+    IProject project = vp.mock(IProject.class, "getId", "pj1", "getName", "My Project");
+
+    IPackage agents = vp.mock(IPackage.class, "getId", "pk1", "getName", "Agents");
+    IClass person = vp.mock(IClass.class, "getId", "c1", "getName", "Person", "getParent", agents);
+    IClass city = vp.mock(IClass.class, "getId", "c2", "getName", "City", "getParent", agents);
+    vp.setStereotype(person, "kind");
+    vp.setStereotype(city, "kind");
+
+    IAssociationEnd personEnd = vp.createEnd("e1", person);
+    IAssociationEnd cityEnd = vp.createEnd("e2", city);
+    vp.mock(
+        IAssociation.class,
+        "getId", "r1",
+        "getName", "livesIn",
+        "getParent", agents,
+        "getFrom", person,
+        "getTo", city,
+        "getFromEnd", personEnd,
+        "getToEnd", cityEnd);
+
+    IClassUIModel personView =
+        vp.mock(IClassUIModel.class, "getId", "v1", "getModelElement", person);
+    IClassUIModel cityView =
+        vp.mock(IClassUIModel.class, "getId", "v2", "getModelElement", city);
+    IAssociationUIModel associationView =
+        vp.mock(
+            IAssociationUIModel.class,
+            "getId", "v3",
+            "getModelElement", vp.get(project, "r1"),
+            "getFromShape", personView,
+            "getToShape", cityView,
+            "getPoints", new Point[] {new Point(0, 0), new Point(10, 0)});
+    vp.mock(
+        IClassDiagramUIModel.class,
+        "getId", "d1",
+        "getName", "Agents",
+        "getParentModel", agents,
+        "toDiagramElementArray",
+        new IDiagramElement[] {personView, cityView, associationView});
+
+    return project;
+  }
+
+  @Test
+  void shouldLinkCachedDiagramsToTheElementsTransformedAgain() {
+    transformer.rebuild(source);
+
+    IModelElement person = vp.get(source, "c1");
+    vp.set(person, "getName", "Human");
+    transformer.markDirty(person);
+
+    Project project = transformer.transform(source, false);
+    Class human = project.getClassById("c1").get();
+    ClassView view = project.getElementById("v1", ClassView.class).get();
+
+    assertThat(human.getFirstName().get()).isEqualTo("Human");
+    assertThat(view.getModelElement()).isSameInstanceAs(human);
+  }
+
+  @Test
+  void shouldReturnProjectsTheCallerOwns() {
+    Project previous = transformer.rebuild(source);
+
+    IModelElement person = vp.get(source, "c1");
+    vp.set(person, "getName", "Human");
+    transformer.markDirty(person);
+    transformer.markDirty(vp.get(source, "pk1"));
+    transformer.transform(source, false);
+
+    Class previousPerson = previous.getClassById("c1").get();
+
+    assertThat(previousPerson.getFirstName().get()).isEqualTo("Person");
+    assertThat(previousPerson.getContainer().get())
+        .isSameInstanceAs(previous.getElementById("pk1", Package.class).get());
+    assertThat(previous.getElementById("v1", ClassView.class).get().getModelElement())
+        .isSameInstanceAs(previousPerson);
+  }
+
+  @Test
+  void shouldMoveContentsIntoPackagesTransformedAgain() {
+    transformer.rebuild(source);
+
+    IModelElement agents = vp.get(source, "pk1");
+    vp.set(agents, "getName", "People");
+    transformer.markDirty(agents);
+
+    Project project = transformer.transform(source, false);
+    Package people = project.getElementById("pk1", Package.class).get();
+
+    assertThat(people.getFirstName().get()).isEqualTo("People");
+    assertThat(project.getClassById("c1").get().getContainer().get()).isSameInstanceAs(people);
+    assertThat(project.getElementById("r1", Relation.class).get().getContainer().get())
+        .isSameInstanceAs(people);
+  }
+
+  @Test
+  void shouldLinkCachedDiagramsToTheirOwnersAndViews() {
+    transformer.rebuild(source);
+
+    transformer.markDirty(vp.get(source, "pk1"));
+    transformer.markDirty(vp.get(source, "r1"));
+
+    Project project = transformer.transform(source, false);
+    Diagram diagram = project.getDiagrams().get(0);
+    RelationView view = project.getElementById("v3", RelationView.class).get();
+
+    assertThat(diagram.getOwner())
+        .isSameInstanceAs(project.getElementById("pk1", Package.class).get());
+    assertThat(view.getModelElement())
+        .isSameInstanceAs(project.getElementById("r1", Relation.class).get());
+    assertThat(view.getSource())
+        .isSameInstanceAs(project.getElementById("v1", ClassView.class).get());
+    assertThat(view.getTarget())
+        .isSameInstanceAs(project.getElementById("v2", ClassView.class).get());
+  }
+}
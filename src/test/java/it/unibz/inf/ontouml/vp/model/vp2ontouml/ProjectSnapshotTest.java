@@ -0,0 +1,113 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.vp.plugin.diagram.IClassDiagramUIModel;
+import com.vp.plugin.diagram.IDiagramElement;
+import com.vp.plugin.diagram.shape.IClassUIModel;
+import com.vp.plugin.model.IAssociation;
+import com.vp.plugin.model.IAssociationEnd;
+import com.vp.plugin.model.IClass;
+import com.vp.plugin.model.IGeneralization;
+import com.vp.plugin.model.IPackage;
+import com.vp.plugin.model.IProject;
+import com.vp.plugin.model.IRelationshipEnd;
+import com.vp.plugin.model.ISimpleRelationship;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class ProjectSnapshotTest {
+
+  private final VisualParadigmMocks vp = new VisualParadigmMocks();
+
+  private final IProject source = vp.mock(IProject.class, "getId", "pj1", "getName", "Project");
+  private final IPackage agents = vp.mock(IPackage.class, "getId", "pk1", "getName", "Agents");
+
+  private final IClass agent = createClass("c1", "Agent", "category");
+  private final IClass person = createClass("c2", "Person", "kind");
+  private final IClass man = createClass("c3", "Man", "subkind");
+  private final IClass marriage = createClass("c4", "Marriage", "relator");
+
+  @Test
+  void shouldCaptureTheAncestorsOfShownClassifiers() {
+    createGeneralization("g1", agent, person);
+    createGeneralization("g2", person, man);
+
+    ProjectSnapshot snapshot = ProjectSnapshot.captureDiagram(source, createDiagram(man));
+
+    assertThat(getElementIds(snapshot)).containsExactly("pk1", "c3", "g2", "c2", "g1", "c1");
+  }
+
+  @Test
+  void shouldCaptureTheRelationsOfShownClassifiers() {
+    createGeneralization("g1", agent, person);
+    createMediation("r1", marriage, person);
+
+    ProjectSnapshot snapshot = ProjectSnapshot.captureDiagram(source, createDiagram(marriage));
+
+    assertThat(getElementIds(snapshot)).containsExactly("pk1", "c4", "r1", "c2", "g1", "c1");
+  }
+
+  @Test
+  void shouldNotCaptureTheRelationsOfHiddenClassifiers() {
+    createGeneralization("g2", person, man);
+    createMediation("r1", marriage, person);
+
+    ProjectSnapshot snapshot = ProjectSnapshot.captureDiagram(source, createDiagram(man));
+
+    assertThat(getElementIds(snapshot)).containsExactly("pk1", "c3", "g2", "c2");
+  }
+
+  private IClass createClass(String id, String name, String stereotype) {
+    IClass clazz = vp.mock(IClass.class, "getId", id, "getName", name, "getParent", agents);
+    vp.setStereotype(clazz, stereotype);
+    return clazz;
+  }
+
+  private void createGeneralization(String id, IClass general, IClass specific) {
+    IGeneralization generalization =
+        vp.mock(
+            IGeneralization.class,
+            "getId", id,
+            "getParent", agents,
+            "getFrom", general,
+            "getTo", specific);
+    vp.set(specific, "toToRelationshipArray", new ISimpleRelationship[] {generalization});
+  }
+
+  private void createMediation(String id, IClass relator, IClass mediated) {
+    IAssociationEnd relatorEnd = vp.createEnd(id + "e1", relator);
+    IAssociationEnd mediatedEnd = vp.createEnd(id + "e2", mediated);
+    IAssociation mediation =
+        vp.mock(
+            IAssociation.class,
+            "getId", id,
+            "getParent", agents,
+            "getFrom", relator,
+            "getTo", mediated,
+            "getFromEnd", relatorEnd,
+            "getToEnd", mediatedEnd);
+    vp.set(relatorEnd, "getEndRelationship", mediation);
+    vp.set(mediatedEnd, "getEndRelationship", mediation);
+    vp.set(relator, "toFromRelationshipEndArray", new IRelationshipEnd[] {relatorEnd});
+    vp.set(mediated, "toToRelationshipEndArray", new IRelationshipEnd[] {mediatedEnd});
+    vp.setStereotype(mediation, "mediation");
+  }
+
+  private IClassDiagramUIModel createDiagram(IClass shown) {
+    IClassUIModel view = vp.mock(IClassUIModel.class, "getId", "v1", "getModelElement", shown);
+    return vp.mock(
+        IClassDiagramUIModel.class,
+        "getId", "d1",
+        "getName", "Agents",
+        "getParentModel", agents,
+        "toDiagramElementArray", new IDiagramElement[] {view});
+  }
+
+  private List<String> getElementIds(ProjectSnapshot snapshot) {
+    return snapshot.getElements().stream()
+        .map(ElementSnapshot::getId)
+        .collect(Collectors.toList());
+  }
+}
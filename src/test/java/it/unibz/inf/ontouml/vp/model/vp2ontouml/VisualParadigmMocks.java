@@ -0,0 +1,120 @@
+package it.unibz.inf.ontouml.vp.model.vp2ontouml;
+
+import com.vp.plugin.diagram.IDiagramUIModel;
+import com.vp.plugin.model.IAssociationEnd;
+import com.vp.plugin.model.IClass;
+import com.vp.plugin.model.IModelElement;
+import com.vp.plugin.model.IProject;
+import com.vp.plugin.model.IStereotype;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Mocks of Visual Paradigm objects for the tests of the transformation of projects. */
+class VisualParadigmMocks {
+
+  /** Visual Paradigm objects mocked so far, and the values returned by their getters. */
+  private final Map<Object, Map<String, Object>> mocks = new LinkedHashMap<>();
+
+  IAssociationEnd createEnd(String id, IClass type) {
+    return mock(
+        IAssociationEnd.class,
+        "getId", id,
+        "getTypeAsElement", type,
+        "getMultiplicity", "1",
+        "getAggregationKind", "None");
+  }
+
+  void setStereotype(IModelElement element, String name) {
+    IStereotype stereotype = mock(IStereotype.class, "getName", name);
+    set(element, "toStereotypeModelArray", new IStereotype[] {stereotype});
+  }
+
+  IModelElement get(IProject project, String id) {
+    return project.getModelElementById(id);
+  }
+
+  void set(Object mock, String getter, Object value) {
+    mocks.get(mock).put(getter, value);
+  }
+
+  /**
+   * Creates an object of a Visual Paradigm interface that returns the given values from the given
+   * getters and default values from any other method. Model elements report the name of their
+   * interface as their type, and projects return the model elements and diagrams mocked so far.
+   */
+  <T> T mock(java.lang.Class<T> type, Object... gettersAndValues) {
+    Map<String, Object> values = new HashMap<>();
+
+    for (int i = 0; i < gettersAndValues.length; i += 2)
+      values.put((String) gettersAndValues[i], gettersAndValues[i + 1]);
+
+    values.putIfAbsent("getModelType", type.getSimpleName().substring(1));
+
+    Object mock =
+        Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new java.lang.Class<?>[] {type},
+            (self, method, args) -> {
+              switch (method.getName()) {
+                case "equals":
+                  return self == args[0];
+                case "hashCode":
+                  return System.identityHashCode(self);
+                case "toAllLevelModelElementArray":
+                  return getModelElements(args);
+                case "toDiagramArray":
+                  return getMocks(IDiagramUIModel.class).toArray(new IDiagramUIModel[0]);
+                case "getModelElementById":
+                  return getMock(IModelElement.class, (String) args[0]);
+                case "getDiagramById":
+                  return getMock(IDiagramUIModel.class, (String) args[0]);
+              }
+
+              Object value = values.get(method.getName());
+              java.lang.Class<?> returnType = method.getReturnType();
+
+              if (value != null) return value;
+              if (returnType == boolean.class) return false;
+              if (returnType == int.class) return 0;
+              if (returnType.isArray()) return Array.newInstance(returnType.getComponentType(), 0);
+              if (method.getName().endsWith("Iterator")) return List.of().iterator();
+
+              return null;
+            });
+
+    mocks.put(mock, values);
+    return type.cast(mock);
+  }
+
+  private IModelElement[] getModelElements(Object[] types) {
+    List<Object> modelTypes = new ArrayList<>();
+
+    for (Object type : types != null ? types : new Object[0]) {
+      if (type instanceof String[]) modelTypes.addAll(List.of((String[]) type));
+      else modelTypes.add(type);
+    }
+
+    return getMocks(IModelElement.class).stream()
+        .filter(element -> modelTypes.isEmpty() || modelTypes.contains(element.getModelType()))
+        .toArray(IModelElement[]::new);
+  }
+
+  private <T> List<T> getMocks(java.lang.Class<T> type) {
+    List<T> result = new ArrayList<>();
+
+    for (Object mock : mocks.keySet()) if (type.isInstance(mock)) result.add(type.cast(mock));
+
+    return result;
+  }
+
+  private <T> T getMock(java.lang.Class<T> type, String id) {
+    for (T mock : getMocks(type)) if (id.equals(mocks.get(mock).get("getId"))) return mock;
+
+    return null;
+  }
+}